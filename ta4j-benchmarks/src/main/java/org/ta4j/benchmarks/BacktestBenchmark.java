@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ta4j.core.BacktestExecutor;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Rule;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.tradereport.TradingStatement;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.trading.rules.OverIndicatorRule;
+import org.ta4j.core.trading.rules.UnderIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Backtest of many strategies with {@link BacktestExecutor}, sequentially and
+ * on the common {@link ForkJoinPool}.
+ *
+ * The strategies (and their indicators) are built on every invocation, so each
+ * run starts with empty indicator caches as in a parameter sweep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BacktestBenchmark {
+
+    @Param({ "20000" })
+    private int barCount;
+
+    @Param({ "200" })
+    private int strategyCount;
+
+    @Param({ "DoubleNum", "PrecisionNum" })
+    private String numType;
+
+    private BarSeries series;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.series(barCount, BenchmarkSeries.numFunction(numType));
+    }
+
+    @Benchmark
+    public List<TradingStatement> execute() {
+        BacktestExecutor executor = new BacktestExecutor(series);
+        return executor.execute(buildStrategies(), series.numOf(50));
+    }
+
+    @Benchmark
+    public List<TradingStatement> executeParallel() {
+        BacktestExecutor executor = new BacktestExecutor(series);
+        return executor.execute(buildStrategies(), series.numOf(50), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Builds moving average crossover strategies filtered by the RSI, with
+     * different parameters.
+     *
+     * @return the strategies
+     */
+    private List<Strategy> buildStrategies() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<Strategy> strategies = new ArrayList<>(strategyCount);
+        for (int i = 0; i < strategyCount; i++) {
+            int shortBarCount = 5 + i % 20;
+            int longBarCount = 30 + (i / 20) * 10;
+            SMAIndicator shortSma = new SMAIndicator(closePrice, shortBarCount);
+            SMAIndicator longSma = new SMAIndicator(closePrice, longBarCount);
+            RSIIndicator rsi = new RSIIndicator(closePrice, 14);
+            Rule entryRule = new CrossedUpIndicatorRule(shortSma, longSma).and(new UnderIndicatorRule(rsi, 70));
+            Rule exitRule = new CrossedDownIndicatorRule(shortSma, longSma).or(new OverIndicatorRule(rsi, 80));
+            strategies.add(
+                    new BaseStrategy("SMA(" + shortBarCount + "/" + longBarCount + ")", entryRule, exitRule, null));
+        }
+        return strategies;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.PrecisionNum;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Generates the bar series used by the benchmarks.
+ *
+ * The series are random walks built from a fixed seed, so every run (and every
+ * version of ta4j) works on the same data.
+ */
+public final class BenchmarkSeries {
+
+    /**
+     * Seed of the random walks
+     */
+    private static final long SEED = 20191105L;
+
+    /**
+     * Start time of the series
+     */
+    private static final ZonedDateTime START_TIME = ZonedDateTime.of(2010, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private BenchmarkSeries() {
+    }
+
+    /**
+     * @param numType the name of a {@link Num} implementation ("DoubleNum" or
+     *                "PrecisionNum")
+     * @return the function converting a Number into the Num implementation
+     */
+    public static Function<Number, Num> numFunction(String numType) {
+        switch (numType) {
+        case "DoubleNum":
+            return DoubleNum::valueOf;
+        case "PrecisionNum":
+            return PrecisionNum::valueOf;
+        default:
+            throw new IllegalArgumentException("Unknown num type: " + numType);
+        }
+    }
+
+    /**
+     * Builds a series of one-minute bars.
+     *
+     * @param barCount    the number of bars
+     * @param numFunction the Num implementation of the series
+     * @return the bar series
+     */
+    public static BarSeries series(int barCount, Function<Number, Num> numFunction) {
+        BarSeries series = new BaseBarSeriesBuilder().withName("benchmark").withNumTypeOf(numFunction).build();
+        for (Bar bar : bars(barCount, numFunction)) {
+            series.addBar(bar);
+        }
+        return series;
+    }
+
+    /**
+     * Builds one-minute bars.
+     *
+     * @param barCount    the number of bars
+     * @param numFunction the Num implementation of the bars
+     * @return the bars
+     */
+    public static List<Bar> bars(int barCount, Function<Number, Num> numFunction) {
+        Random random = new Random(SEED);
+        Duration period = Duration.ofMinutes(1);
+        List<Bar> bars = new ArrayList<>(barCount);
+        double close = 100;
+        for (int i = 0; i < barCount; i++) {
+            double open = close;
+            close = Math.max(1, open + random.nextGaussian() * 0.2);
+            double high = Math.max(open, close) + random.nextDouble() * 0.1;
+            double low = Math.min(open, close) - random.nextDouble() * 0.1;
+            double volume = 1 + random.nextInt(1000);
+            bars.add(new BaseBar(period, START_TIME.plusMinutes(i + 1), open, high, low, close, volume, volume * close,
+                    1 + random.nextInt(50), numFunction));
+        }
+        return bars;
+    }
+}
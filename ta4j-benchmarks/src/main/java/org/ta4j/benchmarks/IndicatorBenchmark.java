@@ -0,0 +1,167 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.ATRIndicator;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.MACDIndicator;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.StochasticOscillatorKIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.indicators.statistics.PearsonCorrelationIndicator;
+import org.ta4j.core.indicators.statistics.SimpleLinearRegressionIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.num.Num;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluation of indicators over a long series.
+ *
+ * <ul>
+ * <li><b>cold</b>: a new indicator is built and evaluated on every bar (all the
+ * values are calculated)</li>
+ * <li><b>warm</b>: an already evaluated indicator is read again on every bar
+ * (all the values come from the cache)</li>
+ * <li><b>coldDouble</b>: same as cold, reading the values with
+ * {@link Indicator#getDoubleValue(int)}</li>
+ * <li><b>coldFill</b>: same as cold, calculating all the values at once with
+ * {@link Indicator#getDoubleValues(int, int)}</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    @Param({ "1000000" })
+    private int barCount;
+
+    @Param({ "DoubleNum", "PrecisionNum" })
+    private String numType;
+
+    @Param({ "SMA", "EMA", "RSI", "MACD", "BollingerUpper", "ATR", "StochasticK", "PearsonCorrelation",
+            "LinearRegression" })
+    private String indicator;
+
+    private BarSeries series;
+
+    private Indicator<Num> warmIndicator;
+
+    @Setup
+    public void setUp() {
+        series = BenchmarkSeries.series(barCount, BenchmarkSeries.numFunction(numType));
+        warmIndicator = buildIndicator();
+        evaluate(warmIndicator, null);
+    }
+
+    @Benchmark
+    public void cold(Blackhole blackhole) {
+        evaluate(buildIndicator(), blackhole);
+    }
+
+    @Benchmark
+    public void warm(Blackhole blackhole) {
+        evaluate(warmIndicator, blackhole);
+    }
+
+    @Benchmark
+    public void coldDouble(Blackhole blackhole) {
+        Indicator<Num> coldIndicator = buildIndicator();
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            blackhole.consume(coldIndicator.getDoubleValue(i));
+        }
+    }
+
+    @Benchmark
+    public void coldFill(Blackhole blackhole) {
+        blackhole.consume(buildIndicator().getDoubleValues(series.getBeginIndex(), series.getEndIndex()));
+    }
+
+    /**
+     * @return a new indicator of the benchmarked type
+     */
+    private Indicator<Num> buildIndicator() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        switch (indicator) {
+        case "SMA":
+            return new SMAIndicator(closePrice, 50);
+        case "EMA":
+            return new EMAIndicator(closePrice, 50);
+        case "RSI":
+            return new RSIIndicator(closePrice, 14);
+        case "MACD":
+            return new MACDIndicator(closePrice, 12, 26);
+        case "BollingerUpper":
+            BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(new SMAIndicator(closePrice, 20));
+            return new BollingerBandsUpperIndicator(middle, new StandardDeviationIndicator(closePrice, 20));
+        case "ATR":
+            return new ATRIndicator(series, 14);
+        case "StochasticK":
+            return new StochasticOscillatorKIndicator(series, 14);
+        case "PearsonCorrelation":
+            return new PearsonCorrelationIndicator(closePrice, new VolumeIndicator(series), 20);
+        case "LinearRegression":
+            return new SimpleLinearRegressionIndicator(closePrice, 20);
+        default:
+            throw new IllegalArgumentException("Unknown indicator: " + indicator);
+        }
+    }
+
+    /**
+     * Evaluates an indicator on every bar of the series.
+     *
+     * @param indicator the indicator
+     * @param blackhole the blackhole consuming the values (may be null)
+     */
+    private void evaluate(Indicator<Num> indicator, Blackhole blackhole) {
+        for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
+            Num value = indicator.getValue(i);
+            if (blackhole != null) {
+                blackhole.consume(value);
+            }
+        }
+    }
+}
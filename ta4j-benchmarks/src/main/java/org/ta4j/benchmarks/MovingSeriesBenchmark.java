@@ -0,0 +1,137 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.IndicatorEngine;
+import org.ta4j.core.indicators.RSIIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Live usage on a moving series (see
+ * {@link BarSeries#setMaximumBarCount(int)}): bars are added one by one and the
+ * indicators are evaluated on the last bar after each addition (pulled from the
+ * indicators, or pushed by an {@link IndicatorEngine}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MovingSeriesBenchmark {
+
+    @Param({ "200000" })
+    private int barCount;
+
+    @Param({ "5000" })
+    private int maximumBarCount;
+
+    @Param({ "DoubleNum", "PrecisionNum" })
+    private String numType;
+
+    private List<Bar> bars;
+
+    private BarSeries series;
+
+    private SMAIndicator sma;
+
+    private EMAIndicator ema;
+
+    private RSIIndicator rsi;
+
+    private CrossedUpIndicatorRule crossUp;
+
+    private IndicatorEngine engine;
+
+    @Setup
+    public void generateBars() {
+        bars = BenchmarkSeries.bars(barCount, BenchmarkSeries.numFunction(numType));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Function<Number, Num> numFunction = BenchmarkSeries.numFunction(numType);
+        series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).withMaxBarCount(maximumBarCount).build();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        sma = new SMAIndicator(closePrice, 50);
+        ema = new EMAIndicator(closePrice, 20);
+        rsi = new RSIIndicator(closePrice, 14);
+        crossUp = new CrossedUpIndicatorRule(ema, sma);
+        engine = new IndicatorEngine(series).register(closePrice).register(sma).register(ema).register(rsi);
+    }
+
+    /**
+     * @param bar a bar
+     * @return a copy of the bar (a bar cannot belong to two series)
+     */
+    private static Bar copy(Bar bar) {
+        return new BaseBar(bar.getTimePeriod(), bar.getEndTime(), bar.getOpenPrice(), bar.getHighPrice(),
+                bar.getLowPrice(), bar.getClosePrice(), bar.getVolume(), bar.getAmount());
+    }
+
+    @Benchmark
+    public void addBarAndEvaluate(Blackhole blackhole) {
+        for (Bar bar : bars) {
+            series.addBar(copy(bar));
+            int endIndex = series.getEndIndex();
+            blackhole.consume(sma.getValue(endIndex));
+            blackhole.consume(rsi.getValue(endIndex));
+            blackhole.consume(crossUp.isSatisfied(endIndex));
+        }
+    }
+
+    @Benchmark
+    public void addBarThroughEngine(Blackhole blackhole) {
+        for (Bar bar : bars) {
+            engine.addBar(copy(bar));
+            blackhole.consume(engine.getValue(sma));
+            blackhole.consume(engine.getValue(rsi));
+        }
+    }
+}
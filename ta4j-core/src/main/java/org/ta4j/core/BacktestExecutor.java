@@ -23,12 +23,29 @@
  */
 package org.ta4j.core;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.tradereport.TradingStatement;
 import org.ta4j.core.tradereport.TradingStatementGenerator;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * This class enables backtesting of multiple strategies and comparing them to
@@ -36,6 +53,9 @@ import java.util.List;
  */
 public class BacktestExecutor {
 
+    /** The logger */
+    private static final Logger log = LoggerFactory.getLogger(BacktestExecutor.class);
+
     private final TradingStatementGenerator tradingStatementGenerator;
     private final BarSeriesManager seriesManager;
 
@@ -67,11 +87,226 @@ public class BacktestExecutor {
     public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Order.OrderType orderType) {
         final List<TradingStatement> tradingStatements = new ArrayList<>(strategies.size());
         for (Strategy strategy : strategies) {
-            final TradingRecord tradingRecord = seriesManager.run(strategy, orderType, amount);
-            final TradingStatement tradingStatement = tradingStatementGenerator.generate(strategy, tradingRecord,
-                    seriesManager.getBarSeries());
-            tradingStatements.add(tradingStatement);
+            tradingStatements.add(execute(strategy, amount, orderType));
         }
         return tradingStatements;
     }
+
+    /**
+     * Execute a single strategy with specified order type to open trades and return
+     * its trading statement. May be called concurrently from several threads.
+     *
+     * @param amount    - The amount used to open/close the trades
+     * @param orderType the {@link Order.OrderType} used to open the trades
+     */
+    public TradingStatement execute(Strategy strategy, Num amount, Order.OrderType orderType) {
+        final TradingRecord tradingRecord = seriesManager.run(strategy, orderType, amount);
+        return tradingStatementGenerator.generate(strategy, tradingRecord, seriesManager.getBarSeries());
+    }
+
+    /**
+     * Execute given strategies in parallel and return trading statements
+     *
+     * @param amount          - The amount used to open/close the trades
+     * @param executorService the executor service running the strategies (e.g. a
+     *                        {@link java.util.concurrent.ForkJoinPool
+     *                        ForkJoinPool})
+     * @see #execute(List, Num, Order.OrderType, ExecutorService)
+     */
+    public List<TradingStatement> execute(List<Strategy> strategies, Num amount, ExecutorService executorService) {
+        return execute(strategies, amount, Order.OrderType.BUY, executorService);
+    }
+
+    /**
+     * Execute given strategies in parallel with specified order type to open trades
+     * and return trading statements.
+     *
+     * Each strategy is run on a single thread of the executor service, the trading
+     * statements are returned in the order of the strategies. The indicators (i.e.
+     * {@link org.ta4j.core.indicators.CachedIndicator CachedIndicator}) may be
+     * shared by the strategies if the series uses the
+     * {@link org.ta4j.core.indicators.cache.CacheMode#CONCURRENT CONCURRENT} cache
+     * mode, but the rules keeping a state (e.g.
+     * {@link org.ta4j.core.trading.rules.StopTrailingRule StopTrailingRule}) must
+     * not.
+     *
+     * @param amount          - The amount used to open/close the trades
+     * @param orderType       the {@link Order.OrderType} used to open the trades
+     * @param executorService the executor service running the strategies (e.g. a
+     *                        {@link java.util.concurrent.ForkJoinPool
+     *                        ForkJoinPool})
+     * @throws IllegalStateException if the execution has been interrupted or
+     *                               cancelled, or if a strategy has thrown a
+     *                               checked exception
+     */
+    public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Order.OrderType orderType,
+            ExecutorService executorService) {
+        final List<Callable<TradingStatement>> tasks = new ArrayList<>(strategies.size());
+        for (Strategy strategy : strategies) {
+            tasks.add(() -> execute(strategy, amount, orderType));
+        }
+        final List<Future<TradingStatement>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<TradingStatement> task : tasks) {
+                futures.add(executorService.submit(task));
+            }
+            final List<TradingStatement> tradingStatements = new ArrayList<>(strategies.size());
+            for (Future<TradingStatement> future : futures) {
+                tradingStatements.add(future.get());
+            }
+            return tradingStatements;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backtest interrupted", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Backtest cancelled", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Backtest failed", cause);
+        } finally {
+            for (Future<TradingStatement> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Execute given strategies in parallel, each one on its own virtual thread
+     * (Java 21+) or on a platform thread otherwise, and return the trading
+     * statements, with a <tt>null</tt> statement for each strategy which did not
+     * complete in time.
+     *
+     * @param amount    - The amount used to open/close the trades
+     * @param orderType the {@link Order.OrderType} used to open the trades
+     * @param timeout   the maximum time to run each strategy
+     * @param unit      the time unit of the timeout
+     * @see #execute(List, Num, Order.OrderType, ExecutorService, long, TimeUnit)
+     * @see #newStrategyExecutorService()
+     */
+    public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Order.OrderType orderType,
+            long timeout, TimeUnit unit) {
+        final ExecutorService executorService = newStrategyExecutorService();
+        try {
+            return execute(strategies, amount, orderType, executorService, timeout, unit);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Execute given strategies in parallel with specified order type to open trades
+     * and return the trading statements.
+     *
+     * Each strategy is given <tt>timeout</tt> from the time it starts running: a
+     * strategy running longer is cancelled (its run stops at the next bar and its
+     * thread is interrupted) so that one slow strategy does not stall the others.
+     * The trading statements are returned in the order of the strategies, the
+     * statement of a cancelled strategy being <tt>null</tt>. If a strategy fails or
+     * if the execution is interrupted, the other strategies are cancelled.
+     *
+     * @param amount          - The amount used to open/close the trades
+     * @param orderType       the {@link Order.OrderType} used to open the trades
+     * @param executorService the executor service running the strategies
+     * @param timeout         the maximum time to run each strategy
+     * @param unit            the time unit of the timeout
+     * @throws IllegalArgumentException if the timeout is not strictly positive
+     * @throws IllegalStateException    if the execution has been interrupted, or if
+     *                                  a strategy has thrown a checked exception
+     */
+    public List<TradingStatement> execute(List<Strategy> strategies, Num amount, Order.OrderType orderType,
+            ExecutorService executorService, long timeout, TimeUnit unit) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("Timeout must be strictly positive");
+        }
+        final ScheduledExecutorService watchdog = Executors
+                .newSingleThreadScheduledExecutor(daemonThreadFactory("ta4j-backtest-watchdog"));
+        final List<FutureTask<TradingStatement>> futures = new ArrayList<>(strategies.size());
+        final AtomicBoolean aborted = new AtomicBoolean();
+        final BarSeries series = seriesManager.getBarSeries();
+        try {
+            for (Strategy strategy : strategies) {
+                final AtomicReference<Future<?>> self = new AtomicReference<>();
+                final AtomicBoolean timedOut = new AtomicBoolean();
+                final FutureTask<TradingStatement> future = new FutureTask<>(() -> {
+                    final ScheduledFuture<?> timer = watchdog.schedule(() -> {
+                        timedOut.set(true);
+                        self.get().cancel(true);
+                    }, timeout, unit);
+                    try {
+                        final TradingRecord tradingRecord = seriesManager.run(strategy, orderType, amount,
+                                series.getBeginIndex(), series.getEndIndex(), () -> timedOut.get() || aborted.get());
+                        return tradingStatementGenerator.generate(strategy, tradingRecord,
+                                seriesManager.getBarSeries());
+                    } finally {
+                        timer.cancel(false);
+                    }
+                });
+                self.set(future);
+                futures.add(future);
+                executorService.execute(future);
+            }
+            final List<TradingStatement> tradingStatements = new ArrayList<>(strategies.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    tradingStatements.add(futures.get(i).get());
+                } catch (CancellationException e) {
+                    log.warn("Strategy {} cancelled after {} {}", strategies.get(i).getName(), timeout, unit);
+                    tradingStatements.add(null);
+                }
+            }
+            return tradingStatements;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Backtest interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Backtest failed", cause);
+        } finally {
+            aborted.set(true);
+            for (Future<TradingStatement> future : futures) {
+                future.cancel(true);
+            }
+            watchdog.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns an executor service running each task on a new virtual thread when
+     * the JDK supports them (Java 21+), or on a pool of daemon platform threads
+     * (one per processor) otherwise. The executor service must be shut down by the
+     * caller.
+     *
+     * @return the executor service for the strategies
+     */
+    public static ExecutorService newStrategyExecutorService() {
+        try {
+            final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads not supported, using platform threads");
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    daemonThreadFactory("ta4j-backtest-worker"));
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 }
@@ -171,4 +171,14 @@ public interface Bar extends Serializable {
     }
 
     void addPrice(Num price);
+
+    /**
+     * Returns the version of the bar, changed each time a trade or a price is added
+     * to the bar.
+     *
+     * @return the version of the bar, -1 if the changes of the bar are not tracked
+     */
+    default long getVersion() {
+        return -1;
+    }
 }
@@ -23,6 +23,7 @@
  */
 package org.ta4j.core;
 
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.num.Num;
 
 import java.io.Serializable;
@@ -142,6 +143,31 @@ public interface BarSeries extends Serializable {
      */
     int getRemovedBarsCount();
 
+    /**
+     * Returns the mode used by the {@link org.ta4j.core.indicators.CachedIndicator
+     * cached indicators} of this series to store their results.
+     *
+     * @return the cache mode, or null to use the
+     *         {@link org.ta4j.core.indicators.CachedIndicator#getDefaultCacheMode()
+     *         default one}
+     */
+    default CacheMode getCacheMode() {
+        return null;
+    }
+
+    /**
+     * Returns the version of the last bar of the series. The version changes each
+     * time the last bar is added, replaced or updated (by a trade or a price), so
+     * the {@link org.ta4j.core.indicators.CachedIndicator cached indicators} keep
+     * their results on the last bar until it changes.
+     *
+     * @return the version of the last bar, -1 if the changes of the last bar are
+     *         not tracked (then the results on the last bar are never cached)
+     */
+    default long getLastBarVersion() {
+        return -1;
+    }
+
     /**
      * Adds a bar at the end of the series.
      *
@@ -339,6 +365,23 @@ public interface BarSeries extends Serializable {
      */
     BarSeries getSubSeries(int startIndex, int endIndex);
 
+    /**
+     * Returns a read-only view over the bars between <tt>startIndex</tt>
+     * (inclusive) and <tt>endIndex</tt> (exclusive) of this series. Unlike
+     * {@link #getSubSeries(int, int)}, the bars are not copied and the view keeps
+     * the indexes of this series, so the indicators built on this series can be
+     * used on the view.
+     *
+     * @param startIndex the startIndex (inclusive)
+     * @param endIndex   the endIndex (exclusive)
+     * @return a view with Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     * @see BarSeriesView
+     */
+    default BarSeries getSubSeriesView(int startIndex, int endIndex) {
+        return new BarSeriesView(this, startIndex, endIndex);
+    }
+
     /**
      * Transforms a {@link Number} into the {@link Num implementation} used by this
      * bar series
@@ -30,6 +30,9 @@ import org.ta4j.core.cost.CostModel;
 import org.ta4j.core.cost.ZeroCostModel;
 import org.ta4j.core.num.Num;
 
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
 /**
  * A manager for {@link BarSeries} objects.
  *
@@ -170,6 +173,24 @@ public class BarSeriesManager {
      * @return the trading record coming from the run
      */
     public TradingRecord run(Strategy strategy, OrderType orderType, Num amount, int startIndex, int finishIndex) {
+        return run(strategy, orderType, amount, startIndex, finishIndex, () -> false);
+    }
+
+    /**
+     * Runs the provided strategy over the managed series (from startIndex to
+     * finishIndex), checking the cancellation token before each bar.
+     *
+     * @param strategy    the trading strategy
+     * @param orderType   the {@link OrderType} used to open the trades
+     * @param amount      the amount used to open/close the trades
+     * @param startIndex  the start index for the run (included)
+     * @param finishIndex the finish index for the run (included)
+     * @param cancelled   the cancellation token, true when the run must stop
+     * @return the trading record coming from the run
+     * @throws CancellationException if the run has been cancelled
+     */
+    TradingRecord run(Strategy strategy, OrderType orderType, Num amount, int startIndex, int finishIndex,
+            BooleanSupplier cancelled) {
 
         int runBeginIndex = Math.max(startIndex, barSeries.getBeginIndex());
         int runEndIndex = Math.min(finishIndex, barSeries.getEndIndex());
@@ -178,6 +199,9 @@ public class BarSeriesManager {
                 orderType);
         TradingRecord tradingRecord = new BaseTradingRecord(orderType, transactionCostModel, holdingCostModel);
         for (int i = runBeginIndex; i <= runEndIndex; i++) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Run of " + strategy.getName() + " cancelled at index " + i);
+            }
             // For each bar between both indexes...
             if (strategy.shouldOperate(i, tradingRecord)) {
                 tradingRecord.operate(i, barSeries.getBar(i).getClosePrice(), amount);
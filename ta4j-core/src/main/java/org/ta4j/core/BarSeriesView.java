@@ -0,0 +1,270 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Read-only view over a range of the bars of another {@link BarSeries}.
+ *
+ * Unlike {@link BarSeries#getSubSeries(int, int)}, no bar is copied and the
+ * view keeps the indexes of its parent series: its begin and end indexes are
+ * the bounds of the range. Thus the indicators and strategies built on the
+ * parent series can be run on the view (e.g. by a {@link BarSeriesManager}),
+ * and the values cached by the indicators are shared by all the views. As for
+ * the bars removed from a series with a maximum bar count, the bars before the
+ * range are replaced by the first bar of the range for the indicators built on
+ * the view itself.
+ *
+ * The view reads the bars of the parent series: it must not be used once its
+ * range has been removed from the parent series.
+ */
+public class BarSeriesView implements BarSeries {
+
+    private static final long serialVersionUID = -3620728436125319460L;
+
+    /**
+     * The parent series
+     */
+    private final BarSeries series;
+    /**
+     * Index of the first bar of the view
+     */
+    private final int beginIndex;
+    /**
+     * Index of the last bar of the view
+     */
+    private final int endIndex;
+
+    /**
+     * Constructor. As for {@link BarSeries#getSubSeries(int, int)}, the range is
+     * restricted to the bars of the parent series.
+     *
+     * @param series     the parent series
+     * @param startIndex the index of the first bar of the view (inclusive)
+     * @param endIndex   the index of the last bar of the view (exclusive)
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     */
+    public BarSeriesView(BarSeries series, int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        this.series = series;
+        int begin = Math.max(startIndex, Math.max(series.getBeginIndex(), series.getRemovedBarsCount()));
+        int end = Math.min(endIndex - 1, series.getEndIndex());
+        if (series.isEmpty() || begin > end) {
+            begin = -1;
+            end = -1;
+        }
+        this.beginIndex = begin;
+        this.endIndex = end;
+    }
+
+    /**
+     * @return the parent series
+     */
+    public BarSeries getParent() {
+        return series;
+    }
+
+    @Override
+    public String getName() {
+        return series.getName();
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        if (i < 0 || i > endIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("View of bars %s to %s, index = %s", beginIndex, endIndex, i));
+        }
+        return series.getBar(Math.max(i, beginIndex));
+    }
+
+    @Override
+    public int getBarCount() {
+        return endIndex < 0 ? 0 : endIndex - beginIndex + 1;
+    }
+
+    /**
+     * Returns a read-only list of the bars of the view.
+     *
+     * @return the bars of the view
+     */
+    @Override
+    public List<Bar> getBarData() {
+        if (endIndex < 0) {
+            return Collections.emptyList();
+        }
+        final int offset = series.getRemovedBarsCount();
+        return Collections.unmodifiableList(series.getBarData().subList(beginIndex - offset, endIndex + 1 - offset));
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return beginIndex;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return endIndex;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return series.getMaximumBarCount();
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw readOnly();
+    }
+
+    /**
+     * {@inheritDoc} The bars before the view are handled as removed bars.
+     */
+    @Override
+    public int getRemovedBarsCount() {
+        return Math.max(beginIndex, 0);
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return series.getCacheMode();
+    }
+
+    /**
+     * {@inheritDoc} Only the last bar of the parent series may change: once another
+     * bar has been added to the parent series, the last bar of the view is closed
+     * and its version is {@link Long#MAX_VALUE}, which is never a version of the
+     * parent series.
+     */
+    @Override
+    public long getLastBarVersion() {
+        if (endIndex < 0) {
+            return -1;
+        }
+        return endIndex == series.getEndIndex() ? series.getLastBarVersion() : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw readOnly();
+    }
+
+    /**
+     * Returns a new series holding a copy of the bars between <tt>startIndex</tt>
+     * (inclusive) and <tt>endIndex</tt> (exclusive) of the view, as the
+     * {@link BarSeries#getSubSeries(int, int) sub-series} of the parent series.
+     *
+     * @param startIndex the startIndex (inclusive)
+     * @param endIndex   the endIndex (exclusive)
+     * @return a new BarSeries with Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     */
+    @Override
+    public BarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        final int start = Math.max(startIndex, beginIndex);
+        final int end = Math.min(endIndex, this.endIndex + 1);
+        return start < end ? series.getSubSeries(start, end) : new BaseBarSeries(getName(), function());
+    }
+
+    /**
+     * Returns a view over the bars between <tt>startIndex</tt> (inclusive) and
+     * <tt>endIndex</tt> (exclusive) of the view, with the indexes of the parent
+     * series.
+     */
+    @Override
+    public BarSeriesView getSubSeriesView(int startIndex, int endIndex) {
+        if (this.endIndex < 0) {
+            return new BarSeriesView(series, startIndex, endIndex);
+        }
+        return new BarSeriesView(series, Math.max(startIndex, beginIndex), Math.min(endIndex, this.endIndex + 1));
+    }
+
+    @Override
+    public Num numOf(Number number) {
+        return series.numOf(number);
+    }
+
+    @Override
+    public Function<Number, Num> function() {
+        return series.function();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A view of a bar series is read-only");
+    }
+}
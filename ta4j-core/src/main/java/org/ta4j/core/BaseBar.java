@@ -60,6 +60,8 @@ public class BaseBar implements Bar {
     private Num volume;
     /** Trade count */
     private int trades = 0;
+    /** Number of changes of the bar (see {@link #getVersion()}) */
+    private long version = 0;
 
     /**
      * Constructor.
@@ -401,6 +403,12 @@ public class BaseBar implements Bar {
         if (lowPrice == null || lowPrice.isGreaterThan(price)) {
             lowPrice = price;
         }
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
     }
 
     @Override
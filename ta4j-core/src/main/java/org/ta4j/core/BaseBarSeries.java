@@ -25,15 +25,18 @@ package org.ta4j.core;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.PrecisionNum;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -85,6 +88,15 @@ public class BaseBarSeries implements BarSeries {
      * false otherwise
      */
     private boolean constrained;
+    /**
+     * Cache mode of the indicators built on the series (null for the default one)
+     */
+    private CacheMode cacheMode;
+    /**
+     * Last bar of the series when {@link #getLastBarVersion()} was called (null if
+     * none)
+     */
+    private final AtomicReference<VersionedBar> versionedBar = new AtomicReference<>();
 
     /**
      * Constructor of an unnamed series.
@@ -378,6 +390,51 @@ public class BaseBarSeries implements BarSeries {
         return removedBarsCount;
     }
 
+    @Override
+    public CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * {@inheritDoc} The version follows the {@link Bar#getVersion() version of the
+     * last bar}, and is moved after all the previous versions each time another bar
+     * becomes the last one.
+     */
+    @Override
+    public long getLastBarVersion() {
+        if (seriesEndIndex < 0) {
+            return -1;
+        }
+        final Bar lastBar = getLastBar();
+        final long barVersion = lastBar.getVersion();
+        if (barVersion < 0) {
+            return -1;
+        }
+        // Lock-free: the series has a single writer, the readers agree on the first
+        // version of a new last bar by compare and set
+        while (true) {
+            final VersionedBar versioned = versionedBar.get();
+            if (versioned != null && versioned.bar == lastBar) {
+                return versioned.offset + barVersion - versioned.initialVersion;
+            }
+            // Bar added or replaced
+            final long offset = versioned != null ? versioned.getVersion() + 1 : 0;
+            if (versionedBar.compareAndSet(versioned, new VersionedBar(lastBar, offset, barVersion))) {
+                return offset;
+            }
+        }
+    }
+
+    /**
+     * Sets the mode used by the cached indicators of this series to store their
+     * results. Should be called before building indicators on the series.
+     *
+     * @param cacheMode the cache mode, or null to use the default one
+     */
+    public void setCacheMode(CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+    }
+
     /**
      * @param bar the <code>Bar</code> to be added
      * @apiNote to add bar data directly use #addBar(Duration, ZonedDateTime, Num,
@@ -480,4 +537,33 @@ public class BaseBarSeries implements BarSeries {
         }
     }
 
+    /**
+     * Last bar of the series with its first version and the matching version of the
+     * series.
+     */
+    private static final class VersionedBar implements Serializable {
+
+        private static final long serialVersionUID = 4212584361726113468L;
+
+        private final Bar bar;
+
+        /** Version of the series for the first version of the bar */
+        private final long offset;
+
+        /** First version of the bar */
+        private final long initialVersion;
+
+        private VersionedBar(Bar bar, long offset, long initialVersion) {
+            this.bar = bar;
+            this.offset = offset;
+            this.initialVersion = initialVersion;
+        }
+
+        /**
+         * @return the current version of the series for this bar
+         */
+        private long getVersion() {
+            return offset + bar.getVersion() - initialVersion;
+        }
+    }
 }
@@ -23,6 +23,7 @@
  */
 package org.ta4j.core;
 
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.num.DoubleNum;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.num.PrecisionNum;
@@ -43,6 +44,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
     private Function<Number, Num> numFunction;
     private boolean constrained;
     private int maxBarCount;
+    private CacheMode cacheMode;
 
     public BaseBarSeriesBuilder() {
         initValues();
@@ -58,6 +60,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         this.numFunction = BaseBarSeriesBuilder.defaultFunction;
         this.constrained = false;
         this.maxBarCount = Integer.MAX_VALUE;
+        this.cacheMode = null;
     }
 
     @Override
@@ -70,6 +73,7 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         }
         BaseBarSeries series = new BaseBarSeries(name, bars, beginIndex, endIndex, constrained, numFunction);
         series.setMaximumBarCount(maxBarCount);
+        series.setCacheMode(cacheMode);
         initValues(); // reinitialize values for next series
         return series;
     }
@@ -94,6 +98,11 @@ public class BaseBarSeriesBuilder implements BarSeriesBuilder {
         return this;
     }
 
+    public BaseBarSeriesBuilder withCacheMode(CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+        return this;
+    }
+
     public BaseBarSeriesBuilder withNumTypeOf(Num type) {
         numFunction = type.function();
         return this;
@@ -0,0 +1,747 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+/**
+ * Column oriented implementation of a {@link BarSeries}.
+ *
+ * The bar data is not stored as a list of {@link BaseBar} objects but in
+ * primitive arrays (one per field): prices, volume and amount as
+ * <code>double</code>, begin and end times as epoch milliseconds. The
+ * {@link Bar bars} returned by {@link #getBar(int)} are lightweight views over
+ * the columns, their {@link Num} values are created on access with the
+ * {@link #function() num function} of the series.
+ *
+ * This saves most of the memory used by a {@link BaseBarSeries} for long
+ * series, but the values are kept with <code>double</code> precision (and the
+ * times with millisecond precision) whatever the num type of the series. Unset
+ * prices (e.g. of a bar added by {@link #addBar(Duration, ZonedDateTime)}) are
+ * stored as <code>Double.NaN</code> and read as {@link org.ta4j.core.num.NaN
+ * NaN}.
+ */
+public class ColumnarBarSeries implements PrimitiveBarSeries {
+
+    private static final long serialVersionUID = 4582390517744631587L;
+    /**
+     * The logger
+     */
+    private static final Logger log = LoggerFactory.getLogger(ColumnarBarSeries.class);
+    /**
+     * Name for unnamed series
+     */
+    private static final String UNNAMED_SERIES_NAME = "unnamed_series";
+    /**
+     * Initial length of the columns
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Num type function
+     **/
+    protected final Function<Number, Num> numFunction;
+    /**
+     * Name of the series
+     */
+    private final String name;
+    /**
+     * Time zone of the bar times (taken from the first added bar)
+     */
+    private ZoneId zoneId;
+    /**
+     * Columns of the bar data
+     */
+    private long[] beginTimes;
+    private long[] endTimes;
+    private double[] openPrices;
+    private double[] highPrices;
+    private double[] lowPrices;
+    private double[] closePrices;
+    private double[] volumes;
+    private double[] amounts;
+    private int[] trades;
+    /**
+     * Column index of the first bar
+     */
+    private int offset;
+    /**
+     * Number of bars in the columns
+     */
+    private int size;
+    /**
+     * Maximum number of bars for the bar series
+     */
+    private int maximumBarCount = Integer.MAX_VALUE;
+    /**
+     * Number of removed bars
+     */
+    private int removedBarsCount = 0;
+    /**
+     * Cache mode of the indicators built on the series (null for the default one)
+     */
+    private CacheMode cacheMode;
+    /**
+     * Number of changes of the bars (see {@link #getLastBarVersion()})
+     */
+    private long version = 0;
+    /**
+     * View of the bars as a list
+     */
+    private final List<Bar> barData = new BarList();
+
+    /**
+     * Constructor of an unnamed series using {@link DoubleNum}.
+     */
+    public ColumnarBarSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor of a series using {@link DoubleNum}.
+     *
+     * @param name the name of the series
+     */
+    public ColumnarBarSeries(String name) {
+        this(name, DoubleNum::valueOf);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name        the name of the series
+     * @param numFunction a {@link Function} to convert a {@link Number} to a
+     *                    {@link Num Num implementation}
+     */
+    public ColumnarBarSeries(String name, Function<Number, Num> numFunction) {
+        this(name, numFunction, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name            the name of the series
+     * @param numFunction     a {@link Function} to convert a {@link Number} to a
+     *                        {@link Num Num implementation}
+     * @param initialCapacity the initial number of bars the columns can hold
+     */
+    public ColumnarBarSeries(String name, Function<Number, Num> numFunction, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        this.name = name;
+        this.numFunction = numFunction;
+        allocate(initialCapacity);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name        the name of the series
+     * @param bars        the bars to copy into the series
+     * @param numFunction a {@link Function} to convert a {@link Number} to a
+     *                    {@link Num Num implementation}
+     */
+    public ColumnarBarSeries(String name, List<Bar> bars, Function<Number, Num> numFunction) {
+        this(name, numFunction, Math.max(bars.size(), DEFAULT_CAPACITY));
+        for (Bar bar : bars) {
+            addBar(bar);
+        }
+    }
+
+    /**
+     * @param series a bar series
+     * @param index  an out of bounds bar index
+     * @return a message for an OutOfBoundsException
+     */
+    private static String buildOutOfBoundsMessage(ColumnarBarSeries series, int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", series.size,
+                series.removedBarsCount, index);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return new ColumnarBar(removedBarsCount + position(i) - offset);
+    }
+
+    @Override
+    public double getOpenPrice(int i) {
+        return openPrices[position(i)];
+    }
+
+    @Override
+    public double getHighPrice(int i) {
+        return highPrices[position(i)];
+    }
+
+    @Override
+    public double getLowPrice(int i) {
+        return lowPrices[position(i)];
+    }
+
+    @Override
+    public double getClosePrice(int i) {
+        return closePrices[position(i)];
+    }
+
+    @Override
+    public double getVolume(int i) {
+        return volumes[position(i)];
+    }
+
+    /**
+     * @param i an index
+     * @return the amount of the i-th bar, without creating a {@link Num}
+     */
+    public double getAmount(int i) {
+        return amounts[position(i)];
+    }
+
+    /**
+     * @param i an index
+     * @return the begin time of the i-th bar in epoch milliseconds
+     */
+    public long getBeginTimeMillis(int i) {
+        return beginTimes[position(i)];
+    }
+
+    /**
+     * @param i an index
+     * @return the end time of the i-th bar in epoch milliseconds
+     */
+    public long getEndTimeMillis(int i) {
+        return endTimes[position(i)];
+    }
+
+    /**
+     * Returns the column index of a bar. As in {@link BaseBarSeries}, the first
+     * remaining bar is used for the removed bars.
+     *
+     * @param i an index
+     * @return the column index of the i-th bar
+     */
+    private int position(int i) {
+        int innerIndex = i - removedBarsCount;
+        if (innerIndex < 0) {
+            if (i < 0) {
+                // Cannot return the i-th bar if i < 0
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, i));
+            }
+            log.trace("Bar series `{}` ({} bars): bar {} already removed, use {}-th instead", name, size, i,
+                    removedBarsCount);
+            if (size == 0) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, removedBarsCount));
+            }
+            innerIndex = 0;
+        } else if (innerIndex >= size) {
+            // Cannot return the n-th bar if n >= bars count
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(this, i));
+        }
+        return offset + innerIndex;
+    }
+
+    @Override
+    public int getBarCount() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only list view of the bars of the series.
+     *
+     * @return the bars of the series
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return barData;
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size + removedBarsCount > 0 ? 0 : -1;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size + removedBarsCount - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        removeExceedingBars();
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return removedBarsCount;
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * {@inheritDoc} The version is changed by any change of the bars of the series.
+     */
+    @Override
+    public long getLastBarVersion() {
+        return size > 0 ? version : -1;
+    }
+
+    /**
+     * Sets the mode used by the cached indicators of this series to store their
+     * results. Should be called before building indicators on the series.
+     *
+     * @param cacheMode the cache mode, or null to use the default one
+     */
+    public void setCacheMode(CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+    }
+
+    /**
+     * The values of the bar are copied into the columns of the series.
+     *
+     * @param bar the <code>Bar</code> to be added
+     */
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        Objects.requireNonNull(bar);
+        long beginTime = bar.getBeginTime().toInstant().toEpochMilli();
+        long endTime = bar.getEndTime().toInstant().toEpochMilli();
+        if (replace && size > 0) {
+            set(offset + size - 1, beginTime, endTime, toDouble(bar.getOpenPrice()), toDouble(bar.getHighPrice()),
+                    toDouble(bar.getLowPrice()), toDouble(bar.getClosePrice()), toDouble(bar.getVolume()),
+                    toDouble(bar.getAmount()), bar.getTrades());
+            return;
+        }
+        if (zoneId == null) {
+            zoneId = bar.getEndTime().getZone();
+        }
+        addBar(beginTime, endTime, toDouble(bar.getOpenPrice()), toDouble(bar.getHighPrice()),
+                toDouble(bar.getLowPrice()), toDouble(bar.getClosePrice()), toDouble(bar.getVolume()),
+                toDouble(bar.getAmount()), bar.getTrades());
+    }
+
+    /**
+     * Adds a bar at the end of the series, without creating any object.
+     *
+     * @param beginTime  the begin time of the bar in epoch milliseconds
+     * @param endTime    the end time of the bar in epoch milliseconds
+     * @param openPrice  the open price
+     * @param highPrice  the high/max price
+     * @param lowPrice   the low/min price
+     * @param closePrice the last/close price
+     * @param volume     the volume
+     * @param amount     the amount
+     * @param tradeCount the number of trades
+     */
+    public void addBar(long beginTime, long endTime, double openPrice, double highPrice, double lowPrice,
+            double closePrice, double volume, double amount, int tradeCount) {
+        if (size > 0) {
+            long seriesEndTime = endTimes[offset + size - 1];
+            if (endTime <= seriesEndTime) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot add a bar with end time:%s that is <= to series end time: %s",
+                                Instant.ofEpochMilli(endTime), Instant.ofEpochMilli(seriesEndTime)));
+            }
+        }
+        if (zoneId == null) {
+            zoneId = ZoneId.systemDefault();
+        }
+        ensureCapacity();
+        set(offset + size, beginTime, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount, tradeCount);
+        size++;
+        removeExceedingBars();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        this.addBar(new BaseBar(timePeriod, endTime, function()));
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume) {
+        this.addBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, numOf(0));
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        this.addBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount);
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        this.addBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, numOf(0));
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        if (zoneId == null) {
+            zoneId = endTime.getZone();
+        }
+        long endMillis = endTime.toInstant().toEpochMilli();
+        addBar(endMillis - timePeriod.toMillis(), endMillis, toDouble(openPrice), toDouble(highPrice),
+                toDouble(lowPrice), toDouble(closePrice), toDouble(volume), toDouble(amount), 0);
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        addTrade(position(getEndIndex()), tradeVolume.doubleValue(), tradePrice.doubleValue());
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        addPrice(position(getEndIndex()), price.doubleValue());
+    }
+
+    /**
+     * Returns a new {@link ColumnarBarSeries} holding a copy of the bars between
+     * <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive) of this
+     * series.
+     *
+     * @param startIndex the startIndex (inclusive)
+     * @param endIndex   the endIndex (exclusive)
+     * @return a new BarSeries with Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     */
+    @Override
+    public ColumnarBarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        int start = Math.max(startIndex - removedBarsCount, 0);
+        int end = Math.min(endIndex - removedBarsCount, size);
+        ColumnarBarSeries subSeries = new ColumnarBarSeries(name, numFunction, Math.max(end - start, 0));
+        subSeries.zoneId = zoneId;
+        subSeries.cacheMode = cacheMode;
+        if (start < end) {
+            int from = offset + start;
+            int length = end - start;
+            System.arraycopy(beginTimes, from, subSeries.beginTimes, 0, length);
+            System.arraycopy(endTimes, from, subSeries.endTimes, 0, length);
+            System.arraycopy(openPrices, from, subSeries.openPrices, 0, length);
+            System.arraycopy(highPrices, from, subSeries.highPrices, 0, length);
+            System.arraycopy(lowPrices, from, subSeries.lowPrices, 0, length);
+            System.arraycopy(closePrices, from, subSeries.closePrices, 0, length);
+            System.arraycopy(volumes, from, subSeries.volumes, 0, length);
+            System.arraycopy(amounts, from, subSeries.amounts, 0, length);
+            System.arraycopy(trades, from, subSeries.trades, 0, length);
+            subSeries.size = length;
+        }
+        return subSeries;
+    }
+
+    @Override
+    public Num numOf(Number number) {
+        return this.numFunction.apply(number);
+    }
+
+    @Override
+    public Function<Number, Num> function() {
+        return numFunction;
+    }
+
+    /**
+     * Creates the columns.
+     *
+     * @param capacity the length of the columns
+     */
+    private void allocate(int capacity) {
+        beginTimes = new long[capacity];
+        endTimes = new long[capacity];
+        openPrices = new double[capacity];
+        highPrices = new double[capacity];
+        lowPrices = new double[capacity];
+        closePrices = new double[capacity];
+        volumes = new double[capacity];
+        amounts = new double[capacity];
+        trades = new int[capacity];
+    }
+
+    /**
+     * Makes room for a new bar at the end of the columns. The bars are moved to the
+     * beginning of the columns once at least half of the columns is taken by
+     * removed bars, otherwise the columns are grown.
+     */
+    private void ensureCapacity() {
+        int capacity = closePrices.length;
+        if (offset + size < capacity) {
+            return;
+        }
+        int newCapacity = offset >= capacity / 2 && size < capacity ? capacity
+                : Math.max(DEFAULT_CAPACITY, capacity * 2);
+        beginTimes = Arrays.copyOfRange(beginTimes, offset, offset + newCapacity);
+        endTimes = Arrays.copyOfRange(endTimes, offset, offset + newCapacity);
+        openPrices = Arrays.copyOfRange(openPrices, offset, offset + newCapacity);
+        highPrices = Arrays.copyOfRange(highPrices, offset, offset + newCapacity);
+        lowPrices = Arrays.copyOfRange(lowPrices, offset, offset + newCapacity);
+        closePrices = Arrays.copyOfRange(closePrices, offset, offset + newCapacity);
+        volumes = Arrays.copyOfRange(volumes, offset, offset + newCapacity);
+        amounts = Arrays.copyOfRange(amounts, offset, offset + newCapacity);
+        trades = Arrays.copyOfRange(trades, offset, offset + newCapacity);
+        offset = 0;
+    }
+
+    /**
+     * Writes the values of a bar into the columns.
+     */
+    private void set(int position, long beginTime, long endTime, double openPrice, double highPrice, double lowPrice,
+            double closePrice, double volume, double amount, int tradeCount) {
+        beginTimes[position] = beginTime;
+        endTimes[position] = endTime;
+        version++;
+        openPrices[position] = openPrice;
+        highPrices[position] = highPrice;
+        lowPrices[position] = lowPrice;
+        closePrices[position] = closePrice;
+        volumes[position] = volume;
+        amounts[position] = amount;
+        trades[position] = tradeCount;
+    }
+
+    /**
+     * Adds a trade to a bar.
+     *
+     * @param position    the column index of the bar
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     */
+    private void addTrade(int position, double tradeVolume, double tradePrice) {
+        addPrice(position, tradePrice);
+        volumes[position] += tradeVolume;
+        amounts[position] += tradeVolume * tradePrice;
+        trades[position]++;
+    }
+
+    /**
+     * Adds a price to a bar.
+     *
+     * @param position the column index of the bar
+     * @param price    the price
+     */
+    private void addPrice(int position, double price) {
+        version++;
+        if (Double.isNaN(openPrices[position])) {
+            openPrices[position] = price;
+        }
+        closePrices[position] = price;
+        if (Double.isNaN(highPrices[position]) || highPrices[position] < price) {
+            highPrices[position] = price;
+        }
+        if (Double.isNaN(lowPrices[position]) || lowPrices[position] > price) {
+            lowPrices[position] = price;
+        }
+    }
+
+    /**
+     * Removes the N first bars which exceed the maximum bar count.
+     */
+    private void removeExceedingBars() {
+        if (size > maximumBarCount) {
+            int nbBarsToRemove = size - maximumBarCount;
+            offset += nbBarsToRemove;
+            size -= nbBarsToRemove;
+            removedBarsCount += nbBarsToRemove;
+        }
+    }
+
+    /**
+     * @param value a value (may be null)
+     * @return the double value, <code>Double.NaN</code> for null or NaN
+     */
+    private static double toDouble(Num value) {
+        return value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * @param value a column value
+     * @return the corresponding Num, {@link org.ta4j.core.num.NaN NaN} for
+     *         <code>Double.NaN</code>
+     */
+    private Num toNum(double value) {
+        return Double.isNaN(value) ? NaN : numFunction.apply(value);
+    }
+
+    /**
+     * @param epochMillis a column time
+     * @return the corresponding time in the zone of the series
+     */
+    private ZonedDateTime toTime(long epochMillis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId);
+    }
+
+    /**
+     * Read-only list view of the bars.
+     */
+    private class BarList extends AbstractList<Bar> {
+
+        @Override
+        public Bar get(int innerIndex) {
+            if (innerIndex < 0 || innerIndex >= size) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(ColumnarBarSeries.this, innerIndex));
+            }
+            return new ColumnarBar(removedBarsCount + innerIndex);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * {@link Bar} view over a row of the columns. Reads and writes go to the
+     * columns of the series. The view becomes invalid once its bar is removed from
+     * the series (see {@link #setMaximumBarCount(int)}).
+     */
+    private class ColumnarBar implements Bar {
+
+        private static final long serialVersionUID = -6719346263508717315L;
+
+        /**
+         * Index of the bar in the series
+         */
+        private final int index;
+
+        private ColumnarBar(int index) {
+            this.index = index;
+        }
+
+        /**
+         * @return the column index of the bar
+         */
+        private int position() {
+            int innerIndex = index - removedBarsCount;
+            if (innerIndex < 0) {
+                throw new IllegalStateException(String.format("Bar %s has been removed from the series", index));
+            }
+            return offset + innerIndex;
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(openPrices[position()]);
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(lowPrices[position()]);
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(highPrices[position()]);
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(closePrices[position()]);
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(volumes[position()]);
+        }
+
+        @Override
+        public int getTrades() {
+            return trades[position()];
+        }
+
+        @Override
+        public Num getAmount() {
+            return toNum(amounts[position()]);
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            int position = position();
+            return Duration.ofMillis(endTimes[position] - beginTimes[position]);
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return toTime(beginTimes[position()]);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return toTime(endTimes[position()]);
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            ColumnarBarSeries.this.addTrade(position(), tradeVolume.doubleValue(), tradePrice.doubleValue());
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            ColumnarBarSeries.this.addPrice(position(), price.doubleValue());
+        }
+
+        @Override
+        public String toString() {
+            int position = position();
+            return String.format("{end time: %1s, close: %2$f, open: %3$f, low: %4$f, high: %5$f, volume: %6$f}",
+                    getEndTime(), closePrices[position], openPrices[position], lowPrices[position],
+                    highPrices[position], volumes[position]);
+        }
+    }
+}
@@ -0,0 +1,554 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.PrecisionNum;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+/**
+ * {@link BarSeries} written by one thread and read by many threads without
+ * lock.
+ *
+ * Each change of the series (added or replaced bar, trade, price, removed bars)
+ * publishes a new immutable {@link #getSnapshot() snapshot} of the series with
+ * a single volatile write. The reading methods of the series read the current
+ * snapshot, and a reader which needs a consistent view over several calls (e.g.
+ * the begin and end indexes and the bars between them) works on a snapshot: the
+ * snapshot never changes while the series keeps growing, and the readers never
+ * block the writer.
+ *
+ * The bars are never changed once published: {@link #addTrade(Num, Num)} and
+ * {@link #addPrice(Num)} replace the last bar by an updated copy. The bars must
+ * not be changed directly. The changes of the series are serialized, but the
+ * series is meant to be written by a single thread.
+ *
+ * As its indicators are read by several threads, the series uses the
+ * {@link CacheMode#CONCURRENT} cache mode unless another one is set.
+ */
+public class ConcurrentBarSeries implements BarSeries {
+
+    private static final long serialVersionUID = 2716587143937316834L;
+
+    /**
+     * Name for unnamed series
+     */
+    private static final String UNNAMED_SERIES_NAME = "unnamed_series";
+
+    /**
+     * Initial capacity of the bar array
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Name of the series
+     */
+    private final String name;
+
+    /**
+     * Num function of the series
+     */
+    private final Function<Number, Num> numFunction;
+
+    /**
+     * Maximum number of bars for the bar series
+     */
+    private int maximumBarCount = Integer.MAX_VALUE;
+
+    /**
+     * Cache mode of the indicators built on the series (null for CONCURRENT)
+     */
+    private volatile CacheMode cacheMode;
+
+    /**
+     * Current state of the series
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor of an unnamed series.
+     */
+    public ConcurrentBarSeries() {
+        this(UNNAMED_SERIES_NAME);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the series
+     */
+    public ConcurrentBarSeries(String name) {
+        this(name, PrecisionNum::valueOf);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name        the name of the series
+     * @param numFunction a {@link Function} to convert a {@link Number} to a
+     *                    {@link Num Num implementation}
+     */
+    public ConcurrentBarSeries(String name, Function<Number, Num> numFunction) {
+        this.name = name;
+        this.numFunction = numFunction;
+        this.snapshot = new Snapshot(this, new Bar[DEFAULT_CAPACITY], 0, 0, 0, null, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name        the name of the series
+     * @param bars        the bars of the series
+     * @param numFunction a {@link Function} to convert a {@link Number} to a
+     *                    {@link Num Num implementation}
+     */
+    public ConcurrentBarSeries(String name, List<Bar> bars, Function<Number, Num> numFunction) {
+        this(name, numFunction);
+        for (Bar bar : bars) {
+            addBar(bar);
+        }
+    }
+
+    /**
+     * Returns the current state of the series. The snapshot is a read-only
+     * {@link BarSeries} which does not change when the series changes.
+     *
+     * @return the snapshot of the series
+     */
+    public BarSeries getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return snapshot.getBar(i);
+    }
+
+    @Override
+    public int getBarCount() {
+        return snapshot.getBarCount();
+    }
+
+    /**
+     * Returns a read-only list view of the bars of the current snapshot.
+     *
+     * @return the bars of the series
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return snapshot.getBarData();
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return snapshot.getBeginIndex();
+    }
+
+    @Override
+    public int getEndIndex() {
+        return snapshot.getEndIndex();
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return maximumBarCount;
+    }
+
+    @Override
+    public synchronized void setMaximumBarCount(int maximumBarCount) {
+        if (maximumBarCount <= 0) {
+            throw new IllegalArgumentException("Maximum bar count must be strictly positive");
+        }
+        this.maximumBarCount = maximumBarCount;
+        Snapshot current = snapshot;
+        publish(current.bars, current.offset, current.size, current.removedBarsCount, current.lastBar);
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return snapshot.getRemovedBarsCount();
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        final CacheMode mode = cacheMode;
+        return mode != null ? mode : CacheMode.CONCURRENT;
+    }
+
+    /**
+     * Sets the mode used by the cached indicators of this series to store their
+     * results. To be called before building the indicators.
+     *
+     * @param cacheMode the cache mode, or null for {@link CacheMode#CONCURRENT}
+     */
+    public void setCacheMode(CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+    }
+
+    @Override
+    public long getLastBarVersion() {
+        return snapshot.getLastBarVersion();
+    }
+
+    @Override
+    public synchronized void addBar(Bar bar, boolean replace) {
+        Objects.requireNonNull(bar);
+        if (bar.getClosePrice() != null && bar.getClosePrice().getClass() != numOf(1).getClass()
+                && !bar.getClosePrice().equals(NaN)) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot add Bar with data type: %s to series with data" + "type: %s",
+                            bar.getClosePrice().getClass(), numOf(1).getClass()));
+        }
+        Snapshot current = snapshot;
+        Bar[] bars = current.bars;
+        int offset = current.offset;
+        int size = current.size;
+        if (size > 0) {
+            if (replace) {
+                publish(bars, offset, size, current.removedBarsCount, bar);
+                return;
+            }
+            ZonedDateTime seriesEndTime = current.lastBar.getEndTime();
+            if (!bar.getEndTime().isAfter(seriesEndTime)) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot add a bar with end time:%s that is <= to series end time: %s",
+                                bar.getEndTime(), seriesEndTime));
+            }
+            // The previous last bar is moved into the array, at a position the
+            // published snapshots do not read
+            int position = offset + size - 1;
+            if (position >= bars.length) {
+                int capacity = bars.length;
+                int newCapacity = offset >= capacity / 2 ? capacity : capacity * 2;
+                bars = Arrays.copyOfRange(bars, offset, offset + newCapacity);
+                offset = 0;
+                position = size - 1;
+            }
+            bars[position] = current.lastBar;
+        }
+        publish(bars, offset, size + 1, current.removedBarsCount, bar);
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        addBar(new BaseBar(timePeriod, endTime, function()));
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume) {
+        addBar(new BaseBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, numOf(0)));
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        addBar(new BaseBar(Duration.ofDays(1), endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount));
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        addBar(new BaseBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, numOf(0)));
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        addBar(new BaseBar(timePeriod, endTime, openPrice, highPrice, lowPrice, closePrice, volume, amount));
+    }
+
+    @Override
+    public synchronized void addTrade(Num tradeVolume, Num tradePrice) {
+        Bar bar = copyOfLastBar();
+        bar.addTrade(tradeVolume, tradePrice);
+        addBar(bar, true);
+    }
+
+    @Override
+    public synchronized void addPrice(Num price) {
+        Bar bar = copyOfLastBar();
+        bar.addPrice(price);
+        addBar(bar, true);
+    }
+
+    /**
+     * @return a copy of the last bar, to be updated then published
+     */
+    private Bar copyOfLastBar() {
+        Bar bar = getLastBar();
+        return new BaseBar(bar.getTimePeriod(), bar.getEndTime(), bar.getOpenPrice(), bar.getHighPrice(),
+                bar.getLowPrice(), bar.getClosePrice(), bar.getVolume(), bar.getAmount(), bar.getTrades());
+    }
+
+    /**
+     * Publishes a new snapshot, removing the bars exceeding the maximum bar count.
+     */
+    private void publish(Bar[] bars, int offset, int size, int removedBarsCount, Bar lastBar) {
+        if (size > maximumBarCount) {
+            int nbBarsToRemove = size - maximumBarCount;
+            offset += nbBarsToRemove;
+            size -= nbBarsToRemove;
+            removedBarsCount += nbBarsToRemove;
+        }
+        snapshot = new Snapshot(this, bars, offset, size, removedBarsCount, lastBar, snapshot.version + 1);
+    }
+
+    /**
+     * Returns a new {@link BaseBarSeries} holding the bars between
+     * <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive) of the
+     * current snapshot.
+     *
+     * @param startIndex the startIndex (inclusive)
+     * @param endIndex   the endIndex (exclusive)
+     * @return a new BarSeries with Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     */
+    @Override
+    public BarSeries getSubSeries(int startIndex, int endIndex) {
+        return snapshot.getSubSeries(startIndex, endIndex);
+    }
+
+    @Override
+    public Num numOf(Number number) {
+        return numFunction.apply(number);
+    }
+
+    @Override
+    public Function<Number, Num> function() {
+        return numFunction;
+    }
+
+    /**
+     * Immutable state of a {@link ConcurrentBarSeries}.
+     *
+     * The bars before the last one are read from an array shared with the other
+     * snapshots: the series only writes the array beyond the bars of the published
+     * snapshots (and copies it to compact or grow it).
+     */
+    private static final class Snapshot implements BarSeries {
+
+        private static final long serialVersionUID = -4301658233496781465L;
+
+        private final ConcurrentBarSeries series;
+
+        private final Bar[] bars;
+
+        /** Position of the first kept bar in the array */
+        private final int offset;
+
+        /** Number of kept bars (the last one included) */
+        private final int size;
+
+        private final int removedBarsCount;
+
+        private final Bar lastBar;
+
+        /** Number of changes of the series */
+        private final long version;
+
+        private Snapshot(ConcurrentBarSeries series, Bar[] bars, int offset, int size, int removedBarsCount,
+                Bar lastBar, long version) {
+            this.series = series;
+            this.bars = bars;
+            this.offset = offset;
+            this.size = size;
+            this.removedBarsCount = removedBarsCount;
+            this.lastBar = lastBar;
+            this.version = version;
+        }
+
+        @Override
+        public String getName() {
+            return series.getName();
+        }
+
+        @Override
+        public Bar getBar(int i) {
+            int innerIndex = i - removedBarsCount;
+            if (innerIndex < 0) {
+                if (i < 0 || size == 0) {
+                    throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+                }
+                // As in BaseBarSeries, the first remaining bar is used for the removed bars
+                innerIndex = 0;
+            } else if (innerIndex >= size) {
+                throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+            }
+            return get(innerIndex);
+        }
+
+        private Bar get(int innerIndex) {
+            return innerIndex == size - 1 ? lastBar : bars[offset + innerIndex];
+        }
+
+        private String buildOutOfBoundsMessage(int index) {
+            return String.format("Size of series: %s bars, %s bars removed, index = %s", size, removedBarsCount, index);
+        }
+
+        @Override
+        public int getBarCount() {
+            return size;
+        }
+
+        @Override
+        public List<Bar> getBarData() {
+            return new AbstractList<Bar>() {
+                @Override
+                public Bar get(int innerIndex) {
+                    if (innerIndex < 0 || innerIndex >= size) {
+                        throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(innerIndex));
+                    }
+                    return Snapshot.this.get(innerIndex);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public int getBeginIndex() {
+            return size + removedBarsCount > 0 ? 0 : -1;
+        }
+
+        @Override
+        public int getEndIndex() {
+            return size + removedBarsCount - 1;
+        }
+
+        @Override
+        public int getMaximumBarCount() {
+            return series.getMaximumBarCount();
+        }
+
+        @Override
+        public int getRemovedBarsCount() {
+            return removedBarsCount;
+        }
+
+        @Override
+        public CacheMode getCacheMode() {
+            return series.getCacheMode();
+        }
+
+        @Override
+        public long getLastBarVersion() {
+            return size > 0 ? version : -1;
+        }
+
+        @Override
+        public BarSeries getSubSeries(int startIndex, int endIndex) {
+            if (startIndex < 0) {
+                throw new IllegalArgumentException(
+                        String.format("the startIndex: %s must not be negative", startIndex));
+            }
+            if (startIndex >= endIndex) {
+                throw new IllegalArgumentException(
+                        String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+            }
+            int start = Math.max(startIndex - removedBarsCount, 0);
+            int end = Math.min(endIndex - removedBarsCount, size);
+            List<Bar> subBars = new ArrayList<>();
+            for (int i = start; i < end; i++) {
+                subBars.add(get(i));
+            }
+            return new BaseBarSeries(getName(), subBars, series.function());
+        }
+
+        @Override
+        public Num numOf(Number number) {
+            return series.numOf(number);
+        }
+
+        @Override
+        public Function<Number, Num> function() {
+            return series.function();
+        }
+
+        @Override
+        public void setMaximumBarCount(int maximumBarCount) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBar(Bar bar, boolean replace) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice,
+                Num volume, Num amount) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+                Num closePrice, Num volume) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+                Num closePrice, Num volume, Num amount) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("A snapshot of a bar series is read-only");
+        }
+    }
+}
@@ -26,6 +26,7 @@ package org.ta4j.core;
 import org.ta4j.core.num.Num;
 
 import java.io.Serializable;
+import java.util.List;
 
 /**
  * Indicator over a {@link BarSeries bar series}. <p/p> For each index of the
@@ -41,6 +42,75 @@ public interface Indicator<T> extends Serializable {
      */
     T getValue(int index);
 
+    /**
+     * Returns the value of an indicator of {@link Num} as a primitive
+     * <code>double</code>. The built-in indicators calculate it without creating
+     * {@link Num} objects when their values are {@link org.ta4j.core.num.DoubleNum
+     * DoubleNum}.
+     *
+     * @param index the bar index
+     * @return the value of the indicator (<code>Double.NaN</code> for
+     *         {@link org.ta4j.core.num.NaN NaN})
+     * @throws ClassCastException if the values of the indicator are not {@link Num}
+     */
+    default double getDoubleValue(int index) {
+        return ((Num) getValue(index)).doubleValue();
+    }
+
+    /**
+     * Fills an array with the values of an indicator of {@link Num} as primitive
+     * <code>double</code>s: <code>values[i - beginIndex]</code> receives the value
+     * at index <code>i</code>, for each index from <code>beginIndex</code> to
+     * <code>endIndex</code> (both included).
+     *
+     * By default the values are read one by one with {@link #getDoubleValue(int)}.
+     * When the values are {@link org.ta4j.core.num.DoubleNum DoubleNum}, the
+     * built-in moving averages, oscillators and bands calculate the whole range at
+     * once, with loops over the arrays of their input values (filled the same way)
+     * instead of a call and a cache lookup per index and per indicator. Those
+     * values are not cached, and may differ from the ones of
+     * {@link #getDoubleValue(int)} by rounding errors.
+     *
+     * @param values     the array to fill (from its first element)
+     * @param beginIndex the first bar index
+     * @param endIndex   the last bar index
+     * @throws ClassCastException if the values of the indicator are not {@link Num}
+     */
+    default void fill(double[] values, int beginIndex, int endIndex) {
+        for (int i = beginIndex; i <= endIndex; i++) {
+            values[i - beginIndex] = getDoubleValue(i);
+        }
+    }
+
+    /**
+     * Returns the values of an indicator of {@link Num} as primitive
+     * <code>double</code>s (see {@link #fill(double[], int, int)}), e.g.
+     * <code>getDoubleValues(series.getBeginIndex(), series.getEndIndex())</code>
+     * for the whole series.
+     *
+     * @param beginIndex the first bar index
+     * @param endIndex   the last bar index
+     * @return the values from beginIndex to endIndex (both included)
+     * @throws ClassCastException if the values of the indicator are not {@link Num}
+     */
+    default double[] getDoubleValues(int beginIndex, int endIndex) {
+        final double[] values = new double[Math.max(0, endIndex - beginIndex + 1)];
+        fill(values, beginIndex, endIndex);
+        return values;
+    }
+
+    /**
+     * Returns the input indicators of the indicator, i.e. the indicators its values
+     * are calculated from (the ones it was built with, and the ones it built
+     * itself), for the tools walking the graph of the indicators (e.g.
+     * {@link org.ta4j.core.indicators.IndicatorEngine IndicatorEngine}).
+     *
+     * @return all the input indicators, or null (default) if they are not declared
+     */
+    default List<Indicator<?>> getInputs() {
+        return null;
+    }
+
     /**
      * @return the related bar series
      */
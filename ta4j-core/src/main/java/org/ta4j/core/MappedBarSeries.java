@@ -0,0 +1,587 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.ta4j.core.num.NaN.NaN;
+
+/**
+ * Read-only {@link BarSeries} view over a binary bar file mapped in memory.
+ *
+ * The file is written by {@link #write(BarSeries, Path)} and holds fixed-width
+ * records (end time in epoch milliseconds, then open, high, low, close prices
+ * and volume as <code>double</code>) after a small header (format version, time
+ * period and number of bars), in little-endian byte order. Opening the file
+ * only maps it: the bars are read from the mapped buffer on access, so only the
+ * pages of the accessed bars are loaded from the disk.
+ *
+ * As for the {@link ColumnarBarSeries}, the {@link Bar bars} returned by
+ * {@link #getBar(int)} are lightweight views and the values are kept with
+ * <code>double</code> precision (and the times with millisecond precision)
+ * whatever the num type of the series. The amount and the number of trades are
+ * not stored (read as zero), and all the bars share the time period of the
+ * file. The series cannot be changed: the methods adding bars, trades or prices
+ * throw an {@link UnsupportedOperationException}. A file is limited to
+ * {@value #MAXIMUM_BAR_COUNT} bars (2 GB).
+ */
+public class MappedBarSeries implements PrimitiveBarSeries {
+
+    private static final long serialVersionUID = -2650935613948532172L;
+    /**
+     * Magic number of the bar files ("TA4B")
+     */
+    private static final int MAGIC = 0x54413442;
+    /**
+     * Version of the file format
+     */
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Size of the header in bytes: magic number, format version, time period in
+     * milliseconds, number of bars and reserved bytes
+     */
+    private static final int HEADER_SIZE = 32;
+    /**
+     * Size of a bar record in bytes: end time, open, high, low, close, volume
+     */
+    private static final int RECORD_SIZE = 48;
+    /**
+     * Maximum number of bars of a file
+     */
+    public static final int MAXIMUM_BAR_COUNT = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+    /**
+     * Number of records written at once
+     */
+    private static final int WRITE_BATCH_SIZE = 1024;
+    /**
+     * Num type function
+     **/
+    protected final Function<Number, Num> numFunction;
+    /**
+     * Name of the series
+     */
+    private final String name;
+    /**
+     * Path of the mapped file (kept to map the file again on deserialization)
+     */
+    private final String path;
+    /**
+     * Time zone of the bar times
+     */
+    private final ZoneId zoneId;
+    /**
+     * Time period of the bars
+     */
+    private final Duration timePeriod;
+    /**
+     * Index of the first bar of the series in the file
+     */
+    private final int offset;
+    /**
+     * Number of bars of the series
+     */
+    private final int size;
+    /**
+     * Mapped content of the file
+     */
+    private transient ByteBuffer buffer;
+    /**
+     * Cache mode of the indicators built on the series (null for the default one)
+     */
+    private CacheMode cacheMode;
+
+    private MappedBarSeries(String name, String path, Function<Number, Num> numFunction, ZoneId zoneId,
+            Duration timePeriod, ByteBuffer buffer, int offset, int size) {
+        this.name = name;
+        this.path = path;
+        this.numFunction = numFunction;
+        this.zoneId = zoneId;
+        this.timePeriod = timePeriod;
+        this.buffer = buffer;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    /**
+     * Opens a bar file as a series using {@link DoubleNum}, named after the file
+     * and with the bar times in the default time zone.
+     *
+     * @param path the path of the bar file
+     * @return the series
+     * @throws IOException if the file cannot be read or is not a bar file
+     */
+    public static MappedBarSeries open(Path path) throws IOException {
+        return open(path, path.getFileName().toString(), DoubleNum::valueOf, ZoneId.systemDefault());
+    }
+
+    /**
+     * Opens a bar file as a series.
+     *
+     * @param path        the path of the bar file
+     * @param name        the name of the series
+     * @param numFunction a {@link Function} to convert a {@link Number} to a
+     *                    {@link Num Num implementation}
+     * @param zoneId      the time zone of the bar times
+     * @return the series
+     * @throws IOException if the file cannot be read or is not a bar file
+     */
+    public static MappedBarSeries open(Path path, String name, Function<Number, Num> numFunction, ZoneId zoneId)
+            throws IOException {
+        final ByteBuffer buffer = map(path);
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(String.format("%s is not a bar file", path));
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException(String.format("Unsupported format version %s of %s", buffer.getInt(4), path));
+        }
+        final long barCount = buffer.getLong(16);
+        if (barCount < 0 || HEADER_SIZE + barCount * RECORD_SIZE > buffer.capacity()) {
+            throw new IOException(String.format("Bar file %s is truncated", path));
+        }
+        return new MappedBarSeries(name, path.toString(), numFunction, zoneId, Duration.ofMillis(buffer.getLong(8)),
+                buffer, 0, (int) barCount);
+    }
+
+    /**
+     * Maps a file in memory.
+     *
+     * @param path the path of the file
+     * @return the mapped content of the file, in little-endian byte order
+     */
+    private static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(String.format("Bar file %s is too large", path));
+            }
+            // The mapping stays valid once the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    /**
+     * Writes the bars of a series to a bar file, to be opened with
+     * {@link #open(Path)}. The file is replaced if it exists: the bars are written
+     * to a temporary file of the same directory, then moved to the path, so an
+     * existing file is left unchanged if the bars cannot be written.
+     *
+     * @param series the series to write (all its bars must have the same time
+     *               period)
+     * @param path   the path of the bar file
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if the bars have different time periods or
+     *                                  if there are too many bars
+     */
+    public static void write(BarSeries series, Path path) throws IOException {
+        final List<Bar> bars = series.getBarData();
+        if (bars.size() > MAXIMUM_BAR_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format("Cannot write more than %s bars to a bar file", MAXIMUM_BAR_COUNT));
+        }
+        final Duration timePeriod = bars.isEmpty() ? Duration.ZERO : bars.get(0).getTimePeriod();
+        for (Bar bar : bars) {
+            if (!timePeriod.equals(bar.getTimePeriod())) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot write a bar with time period %s to a bar file of time period %s",
+                                bar.getTimePeriod(), timePeriod));
+            }
+        }
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(timePeriod.toMillis()).putLong(bars.size());
+        header.position(HEADER_SIZE).flip();
+        final ByteBuffer records = ByteBuffer.allocate(WRITE_BATCH_SIZE * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        final Path temporaryPath = Files.createTempFile(path.toAbsolutePath().getParent(),
+                path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(channel, header);
+                for (Bar bar : bars) {
+                    if (!records.hasRemaining()) {
+                        records.flip();
+                        writeFully(channel, records);
+                        records.clear();
+                    }
+                    records.putLong(bar.getEndTime().toInstant().toEpochMilli());
+                    records.putDouble(toDouble(bar.getOpenPrice()));
+                    records.putDouble(toDouble(bar.getHighPrice()));
+                    records.putDouble(toDouble(bar.getLowPrice()));
+                    records.putDouble(toDouble(bar.getClosePrice()));
+                    records.putDouble(toDouble(bar.getVolume()));
+                }
+                records.flip();
+                writeFully(channel, records);
+            }
+            try {
+                Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Bar getBar(int i) {
+        return new MappedBar(position(i));
+    }
+
+    /**
+     * @param i an index
+     * @return the end time of the i-th bar in epoch milliseconds
+     */
+    public long getEndTimeMillis(int i) {
+        return buffer.getLong(position(i));
+    }
+
+    @Override
+    public double getOpenPrice(int i) {
+        return buffer.getDouble(position(i) + 8);
+    }
+
+    @Override
+    public double getHighPrice(int i) {
+        return buffer.getDouble(position(i) + 16);
+    }
+
+    @Override
+    public double getLowPrice(int i) {
+        return buffer.getDouble(position(i) + 24);
+    }
+
+    @Override
+    public double getClosePrice(int i) {
+        return buffer.getDouble(position(i) + 32);
+    }
+
+    @Override
+    public double getVolume(int i) {
+        return buffer.getDouble(position(i) + 40);
+    }
+
+    /**
+     * @param i an index
+     * @return the position of the record of the i-th bar in the buffer
+     */
+    private int position(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(buildOutOfBoundsMessage(i));
+        }
+        return HEADER_SIZE + (offset + i) * RECORD_SIZE;
+    }
+
+    private String buildOutOfBoundsMessage(int index) {
+        return String.format("Size of series: %s bars, %s bars removed, index = %s", size, 0, index);
+    }
+
+    @Override
+    public int getBarCount() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only list view of the bars of the series.
+     *
+     * @return the bars of the series
+     */
+    @Override
+    public List<Bar> getBarData() {
+        return new AbstractList<Bar>() {
+            @Override
+            public Bar get(int index) {
+                return getBar(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public int getBeginIndex() {
+        return size > 0 ? 0 : -1;
+    }
+
+    @Override
+    public int getEndIndex() {
+        return size - 1;
+    }
+
+    @Override
+    public int getMaximumBarCount() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void setMaximumBarCount(int maximumBarCount) {
+        throw readOnly();
+    }
+
+    @Override
+    public int getRemovedBarsCount() {
+        return 0;
+    }
+
+    @Override
+    public CacheMode getCacheMode() {
+        return cacheMode;
+    }
+
+    /**
+     * Sets the mode used by the cached indicators of this series to store their
+     * results. Should be called before building indicators on the series.
+     *
+     * @param cacheMode the cache mode, or null to use the default one
+     */
+    public void setCacheMode(CacheMode cacheMode) {
+        this.cacheMode = cacheMode;
+    }
+
+    /**
+     * {@inheritDoc} The bars of the series never change.
+     */
+    @Override
+    public long getLastBarVersion() {
+        return size > 0 ? 0 : -1;
+    }
+
+    @Override
+    public void addBar(Bar bar, boolean replace) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice, Num closePrice, Num volume,
+            Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addBar(Duration timePeriod, ZonedDateTime endTime, Num openPrice, Num highPrice, Num lowPrice,
+            Num closePrice, Num volume, Num amount) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        throw readOnly();
+    }
+
+    @Override
+    public void addPrice(Num price) {
+        throw readOnly();
+    }
+
+    /**
+     * Returns a new {@link MappedBarSeries} viewing the bars between
+     * <tt>startIndex</tt> (inclusive) and <tt>endIndex</tt> (exclusive) of this
+     * series, over the same mapped file.
+     *
+     * @param startIndex the startIndex (inclusive)
+     * @param endIndex   the endIndex (exclusive)
+     * @return a new BarSeries with Bars from startIndex to endIndex-1
+     * @throws IllegalArgumentException if endIndex <= startIndex or startIndex < 0
+     */
+    @Override
+    public MappedBarSeries getSubSeries(int startIndex, int endIndex) {
+        if (startIndex < 0) {
+            throw new IllegalArgumentException(String.format("the startIndex: %s must not be negative", startIndex));
+        }
+        if (startIndex >= endIndex) {
+            throw new IllegalArgumentException(
+                    String.format("the endIndex: %s must be greater than startIndex: %s", endIndex, startIndex));
+        }
+        int start = Math.min(startIndex, size);
+        int end = Math.min(endIndex, size);
+        MappedBarSeries subSeries = new MappedBarSeries(name, path, numFunction, zoneId, timePeriod, buffer,
+                offset + start, end - start);
+        subSeries.cacheMode = cacheMode;
+        return subSeries;
+    }
+
+    @Override
+    public Num numOf(Number number) {
+        return this.numFunction.apply(number);
+    }
+
+    @Override
+    public Function<Number, Num> function() {
+        return numFunction;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        buffer = map(Paths.get(path));
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("A mapped bar series is read-only");
+    }
+
+    /**
+     * @param value a value (may be null)
+     * @return the double value, <code>Double.NaN</code> for null or NaN
+     */
+    private static double toDouble(Num value) {
+        return value == null || value.isNaN() ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * @param value a stored value
+     * @return the corresponding Num, {@link org.ta4j.core.num.NaN NaN} for
+     *         <code>Double.NaN</code>
+     */
+    private Num toNum(double value) {
+        return Double.isNaN(value) ? NaN : numFunction.apply(value);
+    }
+
+    /**
+     * Read-only {@link Bar} view over a record of the mapped file.
+     */
+    private class MappedBar implements Bar {
+
+        private static final long serialVersionUID = 5019741260314584622L;
+
+        /**
+         * Position of the record in the buffer
+         */
+        private final int position;
+
+        private MappedBar(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public Num getOpenPrice() {
+            return toNum(buffer.getDouble(position + 8));
+        }
+
+        @Override
+        public Num getHighPrice() {
+            return toNum(buffer.getDouble(position + 16));
+        }
+
+        @Override
+        public Num getLowPrice() {
+            return toNum(buffer.getDouble(position + 24));
+        }
+
+        @Override
+        public Num getClosePrice() {
+            return toNum(buffer.getDouble(position + 32));
+        }
+
+        @Override
+        public Num getVolume() {
+            return toNum(buffer.getDouble(position + 40));
+        }
+
+        @Override
+        public int getTrades() {
+            return 0;
+        }
+
+        @Override
+        public Num getAmount() {
+            return numOf(0);
+        }
+
+        @Override
+        public Duration getTimePeriod() {
+            return timePeriod;
+        }
+
+        @Override
+        public ZonedDateTime getBeginTime() {
+            return getEndTime().minus(timePeriod);
+        }
+
+        @Override
+        public ZonedDateTime getEndTime() {
+            return ZonedDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(position)), zoneId);
+        }
+
+        @Override
+        public void addTrade(Num tradeVolume, Num tradePrice) {
+            throw readOnly();
+        }
+
+        @Override
+        public void addPrice(Num price) {
+            throw readOnly();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{end time: %1s, close: %2$f, open: %3$f, low: %4$f, high: %5$f, volume: %6$f}",
+                    getEndTime(), buffer.getDouble(position + 32), buffer.getDouble(position + 8),
+                    buffer.getDouble(position + 24), buffer.getDouble(position + 16), buffer.getDouble(position + 40));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+/**
+ * {@link BarSeries} storing its prices and volumes as primitive
+ * <code>double</code> values, which can be read without creating any bar or
+ * {@link org.ta4j.core.num.Num Num} (e.g. by the price indicators).
+ */
+public interface PrimitiveBarSeries extends BarSeries {
+
+    /**
+     * @param i an index
+     * @return the open price of the i-th bar, without creating a
+     *         {@link org.ta4j.core.num.Num Num}
+     */
+    double getOpenPrice(int i);
+
+    /**
+     * @param i an index
+     * @return the high price of the i-th bar, without creating a
+     *         {@link org.ta4j.core.num.Num Num}
+     */
+    double getHighPrice(int i);
+
+    /**
+     * @param i an index
+     * @return the low price of the i-th bar, without creating a
+     *         {@link org.ta4j.core.num.Num Num}
+     */
+    double getLowPrice(int i);
+
+    /**
+     * @param i an index
+     * @return the close price of the i-th bar, without creating a
+     *         {@link org.ta4j.core.num.Num Num}
+     */
+    double getClosePrice(int i);
+
+    /**
+     * @param i an index
+     * @return the volume of the i-th bar, without creating a
+     *         {@link org.ta4j.core.num.Num Num}
+     */
+    double getVolume(int i);
+}
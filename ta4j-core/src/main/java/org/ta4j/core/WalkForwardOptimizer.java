@@ -0,0 +1,406 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.cost.CostModel;
+import org.ta4j.core.cost.ZeroCostModel;
+import org.ta4j.core.num.Num;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Walk-forward optimizer.
+ *
+ * The bar series is split into windows made of an in-sample range followed by
+ * an out-of-sample range. For each window, the strategies are run on the
+ * in-sample range, the best one according to the {@link AnalysisCriterion
+ * analysis criterion} is selected and then run on the out-of-sample range. The
+ * out-of-sample results of all the windows are chained into a single equity
+ * curve (see {@link WalkForwardResult}).
+ *
+ * The out-of-sample ranges follow each other without overlapping. In
+ * {@link Mode#ROLLING rolling} mode the in-sample ranges have a fixed length
+ * and move with the out-of-sample ranges, in {@link Mode#ANCHORED anchored}
+ * mode they all start at the begin index of the series and grow with each
+ * window.
+ *
+ * The ranges are {@link BarSeries#getSubSeriesView(int, int) views} of the
+ * series: the strategies must be built on the series, so that their indicators
+ * (and the values cached by the indicators) are shared by all the windows
+ * instead of being recomputed on each of them. It also means that the
+ * indicators use the bars preceding a range, so the unstable bars of the
+ * strategies are only lost at the beginning of the series.
+ *
+ * @see <a href="http://en.wikipedia.org/wiki/Walk_forward_optimization">
+ *      http://en.wikipedia.org/wiki/Walk_forward_optimization</a>
+ */
+public class WalkForwardOptimizer {
+
+    /**
+     * The way the in-sample ranges are built.
+     */
+    public enum Mode {
+        /** The in-sample ranges all start at the begin index of the series */
+        ANCHORED,
+        /** The in-sample ranges have a fixed number of bars */
+        ROLLING
+    }
+
+    /** The logger */
+    private static final Logger log = LoggerFactory.getLogger(WalkForwardOptimizer.class);
+
+    private final BarSeries series;
+    private final AnalysisCriterion criterion;
+    private final List<Window> windows;
+    private final CostModel transactionCostModel;
+    private final CostModel holdingCostModel;
+
+    /**
+     * Constructor.
+     *
+     * @param series              the bar series
+     * @param criterion           the criterion used to select the best strategy of
+     *                            each window
+     * @param inSampleBarCount    the number of bars of the in-sample ranges (of the
+     *                            first one in anchored mode)
+     * @param outOfSampleBarCount the number of bars of the out-of-sample ranges
+     *                            (the last one may be shorter)
+     * @param mode                the way the in-sample ranges are built
+     */
+    public WalkForwardOptimizer(BarSeries series, AnalysisCriterion criterion, int inSampleBarCount,
+            int outOfSampleBarCount, Mode mode) {
+        this(series, criterion, inSampleBarCount, outOfSampleBarCount, mode, new ZeroCostModel(), new ZeroCostModel());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series               the bar series
+     * @param criterion            the criterion used to select the best strategy of
+     *                             each window
+     * @param inSampleBarCount     the number of bars of the in-sample ranges (of
+     *                             the first one in anchored mode)
+     * @param outOfSampleBarCount  the number of bars of the out-of-sample ranges
+     *                             (the last one may be shorter)
+     * @param mode                 the way the in-sample ranges are built
+     * @param transactionCostModel the cost model for transactions of the asset
+     * @param holdingCostModel     the cost model for holding asset (e.g. borrowing)
+     * @throws IllegalArgumentException if a bar count is not strictly positive
+     */
+    public WalkForwardOptimizer(BarSeries series, AnalysisCriterion criterion, int inSampleBarCount,
+            int outOfSampleBarCount, Mode mode, CostModel transactionCostModel, CostModel holdingCostModel) {
+        if (inSampleBarCount <= 0 || outOfSampleBarCount <= 0) {
+            throw new IllegalArgumentException("Bar counts must be strictly positive");
+        }
+        this.series = series;
+        this.criterion = criterion;
+        this.transactionCostModel = transactionCostModel;
+        this.holdingCostModel = holdingCostModel;
+        this.windows = Collections.unmodifiableList(buildWindows(series, inSampleBarCount, outOfSampleBarCount, mode));
+    }
+
+    private static List<Window> buildWindows(BarSeries series, int inSampleBarCount, int outOfSampleBarCount,
+            Mode mode) {
+        final List<Window> windows = new ArrayList<>();
+        final int beginIndex = series.getBeginIndex();
+        final int endIndex = series.getEndIndex();
+        if (beginIndex < 0) {
+            return windows;
+        }
+        for (int outOfSampleBegin = beginIndex
+                + inSampleBarCount; outOfSampleBegin <= endIndex; outOfSampleBegin += outOfSampleBarCount) {
+            final int inSampleBegin = mode == Mode.ANCHORED ? beginIndex : outOfSampleBegin - inSampleBarCount;
+            final int outOfSampleEnd = (int) Math.min((long) outOfSampleBegin + outOfSampleBarCount - 1, endIndex);
+            windows.add(new Window(inSampleBegin, outOfSampleBegin - 1, outOfSampleBegin, outOfSampleEnd));
+        }
+        return windows;
+    }
+
+    /**
+     * @return the bar series
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * @return the windows of the walk-forward, in chronological order
+     */
+    public List<Window> getWindows() {
+        return windows;
+    }
+
+    /**
+     * Runs the walk-forward, opening the trades with {@link OrderType} BUY order.
+     *
+     * @param strategies the strategies (built on the bar series) to choose from
+     * @return the result of the walk-forward
+     */
+    public WalkForwardResult run(List<Strategy> strategies) {
+        return run(strategies, OrderType.BUY, series.numOf(1));
+    }
+
+    /**
+     * Runs the walk-forward.
+     *
+     * @param strategies the strategies (built on the bar series) to choose from
+     * @param orderType  the {@link OrderType} used to open the trades
+     * @param amount     the amount used to open/close the trades
+     * @return the result of the walk-forward
+     */
+    public WalkForwardResult run(List<Strategy> strategies, OrderType orderType, Num amount) {
+        return run(strategies, orderType, amount, (Executor) Runnable::run);
+    }
+
+    /**
+     * Runs the walk-forward in parallel, opening the trades with {@link OrderType}
+     * BUY order.
+     *
+     * @param strategies      the strategies (built on the bar series) to choose
+     *                        from
+     * @param executorService the executor service running the strategies
+     * @return the result of the walk-forward
+     * @see #run(List, OrderType, Num, ExecutorService)
+     */
+    public WalkForwardResult run(List<Strategy> strategies, ExecutorService executorService) {
+        return run(strategies, OrderType.BUY, series.numOf(1), executorService);
+    }
+
+    /**
+     * Runs the walk-forward in parallel.
+     *
+     * The strategies are run on different threads of the executor service, but each
+     * strategy runs on its in-sample ranges, then on the out-of-sample ranges it
+     * has been selected for, one after another: the rules keeping a state (e.g.
+     * {@link org.ta4j.core.trading.rules.TrailingStopLossRule}) are never used by
+     * two threads at the same time. As with {@link BacktestExecutor}, the
+     * indicators may be shared by the strategies if the series uses the
+     * {@link org.ta4j.core.indicators.cache.CacheMode#CONCURRENT CONCURRENT} cache
+     * mode, but the rules keeping a state must not.
+     *
+     * @param strategies      the strategies (built on the bar series) to choose
+     *                        from
+     * @param orderType       the {@link OrderType} used to open the trades
+     * @param amount          the amount used to open/close the trades
+     * @param executorService the executor service running the strategies (e.g.
+     *                        {@link BacktestExecutor#newStrategyExecutorService()})
+     * @return the result of the walk-forward
+     * @throws IllegalStateException if the execution has been interrupted or
+     *                               cancelled, or if a strategy has thrown a
+     *                               checked exception
+     */
+    public WalkForwardResult run(List<Strategy> strategies, OrderType orderType, Num amount,
+            ExecutorService executorService) {
+        return run(strategies, orderType, amount, (Executor) executorService);
+    }
+
+    private WalkForwardResult run(List<Strategy> strategies, OrderType orderType, Num amount, Executor executor) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("No strategy to choose from");
+        }
+        final List<BarSeriesManager> inSampleManagers = new ArrayList<>(windows.size());
+        for (Window window : windows) {
+            inSampleManagers.add(newManager(window.getInSampleBeginIndex(), window.getInSampleEndIndex()));
+        }
+        // In-sample runs: one task per strategy (instance), running all the windows
+        final Map<Strategy, Integer> taskIndexes = new IdentityHashMap<>();
+        final List<Callable<List<Num>>> inSampleTasks = new ArrayList<>(strategies.size());
+        for (Strategy strategy : strategies) {
+            if (!taskIndexes.containsKey(strategy)) {
+                taskIndexes.put(strategy, inSampleTasks.size());
+                inSampleTasks.add(() -> {
+                    final List<Num> values = new ArrayList<>(windows.size());
+                    for (BarSeriesManager manager : inSampleManagers) {
+                        values.add(
+                                criterion.calculate(manager.getBarSeries(), manager.run(strategy, orderType, amount)));
+                    }
+                    return values;
+                });
+            }
+        }
+        final List<List<Num>> inSampleValues = invokeAll(inSampleTasks, executor);
+
+        // Out-of-sample runs: one task per selected strategy, running its windows
+        final List<Strategy> bestStrategies = new ArrayList<>(windows.size());
+        final List<Num> bestValues = new ArrayList<>(windows.size());
+        final Map<Strategy, List<Integer>> windowsByStrategy = new IdentityHashMap<>();
+        final List<Strategy> selectedStrategies = new ArrayList<>();
+        for (int w = 0; w < windows.size(); w++) {
+            Strategy bestStrategy = strategies.get(0);
+            Num bestValue = inSampleValues.get(taskIndexes.get(bestStrategy)).get(w);
+            for (Strategy strategy : strategies) {
+                final Num value = inSampleValues.get(taskIndexes.get(strategy)).get(w);
+                if (criterion.betterThan(value, bestValue)) {
+                    bestStrategy = strategy;
+                    bestValue = value;
+                }
+            }
+            bestStrategies.add(bestStrategy);
+            bestValues.add(bestValue);
+            if (!windowsByStrategy.containsKey(bestStrategy)) {
+                windowsByStrategy.put(bestStrategy, new ArrayList<>());
+                selectedStrategies.add(bestStrategy);
+            }
+            windowsByStrategy.get(bestStrategy).add(w);
+            log.debug("Window {}: best in-sample strategy {}", windows.get(w), bestStrategy.getName());
+        }
+        final List<Callable<List<TradingRecord>>> outOfSampleTasks = new ArrayList<>(selectedStrategies.size());
+        for (Strategy strategy : selectedStrategies) {
+            final List<Integer> strategyWindows = windowsByStrategy.get(strategy);
+            outOfSampleTasks.add(() -> {
+                final List<TradingRecord> records = new ArrayList<>(strategyWindows.size());
+                for (int w : strategyWindows) {
+                    final Window window = windows.get(w);
+                    records.add(newManager(window.getOutOfSampleBeginIndex(), window.getOutOfSampleEndIndex())
+                            .run(strategy, orderType, amount));
+                }
+                return records;
+            });
+        }
+        final List<List<TradingRecord>> strategyRecords = invokeAll(outOfSampleTasks, executor);
+        final List<TradingRecord> outOfSampleRecords = new ArrayList<>(Collections.nCopies(windows.size(), null));
+        for (int s = 0; s < selectedStrategies.size(); s++) {
+            final List<Integer> strategyWindows = windowsByStrategy.get(selectedStrategies.get(s));
+            for (int i = 0; i < strategyWindows.size(); i++) {
+                outOfSampleRecords.set(strategyWindows.get(i), strategyRecords.get(s).get(i));
+            }
+        }
+
+        final List<WalkForwardResult.WindowResult> results = new ArrayList<>(windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            final Window window = windows.get(w);
+            final BarSeries outOfSample = series.getSubSeriesView(window.getOutOfSampleBeginIndex(),
+                    window.getOutOfSampleEndIndex() + 1);
+            final TradingRecord tradingRecord = outOfSampleRecords.get(w);
+            results.add(new WalkForwardResult.WindowResult(window, bestStrategies.get(w), bestValues.get(w),
+                    outOfSample, tradingRecord, criterion.calculate(outOfSample, tradingRecord)));
+        }
+        return new WalkForwardResult(series, results);
+    }
+
+    private BarSeriesManager newManager(int beginIndex, int endIndex) {
+        return new BarSeriesManager(series.getSubSeriesView(beginIndex, endIndex + 1), transactionCostModel,
+                holdingCostModel);
+    }
+
+    private static <T> List<T> invokeAll(List<Callable<T>> tasks, Executor executor) {
+        final List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                final FutureTask<T> future = new FutureTask<>(task);
+                futures.add(future);
+                executor.execute(future);
+            }
+            final List<T> results = new ArrayList<>(tasks.size());
+            for (FutureTask<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Walk-forward interrupted", e);
+        } catch (CancellationException e) {
+            throw new IllegalStateException("Walk-forward cancelled", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Walk-forward failed", cause);
+        } finally {
+            for (FutureTask<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * A window of the walk-forward: an in-sample range immediately followed by an
+     * out-of-sample range. The indexes are the ones of the bar series.
+     */
+    public static final class Window {
+
+        private final int inSampleBeginIndex;
+        private final int inSampleEndIndex;
+        private final int outOfSampleBeginIndex;
+        private final int outOfSampleEndIndex;
+
+        Window(int inSampleBeginIndex, int inSampleEndIndex, int outOfSampleBeginIndex, int outOfSampleEndIndex) {
+            this.inSampleBeginIndex = inSampleBeginIndex;
+            this.inSampleEndIndex = inSampleEndIndex;
+            this.outOfSampleBeginIndex = outOfSampleBeginIndex;
+            this.outOfSampleEndIndex = outOfSampleEndIndex;
+        }
+
+        /**
+         * @return the first index of the in-sample range
+         */
+        public int getInSampleBeginIndex() {
+            return inSampleBeginIndex;
+        }
+
+        /**
+         * @return the last index of the in-sample range
+         */
+        public int getInSampleEndIndex() {
+            return inSampleEndIndex;
+        }
+
+        /**
+         * @return the first index of the out-of-sample range
+         */
+        public int getOutOfSampleBeginIndex() {
+            return outOfSampleBeginIndex;
+        }
+
+        /**
+         * @return the last index of the out-of-sample range
+         */
+        public int getOutOfSampleEndIndex() {
+            return outOfSampleEndIndex;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + inSampleBeginIndex + "-" + inSampleEndIndex + "] -> [" + outOfSampleBeginIndex + "-"
+                    + outOfSampleEndIndex + "]";
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.ta4j.core.analysis.CashFlow;
+import org.ta4j.core.num.Num;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a {@link WalkForwardOptimizer walk-forward}.
+ *
+ * Holds the best strategy of each window and its out-of-sample trading record,
+ * and the out-of-sample equity curve: the {@link CashFlow cash flows} of the
+ * out-of-sample ranges chained one after the other, starting at 1. A trade
+ * still opened at the end of an out-of-sample range is valued at the close
+ * price of its last bar, and the next window starts without any opened trade.
+ */
+public class WalkForwardResult {
+
+    private final List<WindowResult> windowResults;
+    private final int beginIndex;
+    private final List<Num> equityCurve;
+
+    WalkForwardResult(BarSeries series, List<WindowResult> windowResults) {
+        this.windowResults = Collections.unmodifiableList(windowResults);
+        final List<Num> equity = new ArrayList<>();
+        Num base = series.numOf(1);
+        for (WindowResult windowResult : windowResults) {
+            final WalkForwardOptimizer.Window window = windowResult.getWindow();
+            final CashFlow cashFlow = cashFlow(windowResult.getOutOfSampleSeries(),
+                    windowResult.getOutOfSampleTradingRecord(), window.getOutOfSampleEndIndex());
+            for (int i = window.getOutOfSampleBeginIndex(); i <= window.getOutOfSampleEndIndex(); i++) {
+                equity.add(base.multipliedBy(cashFlow.getValue(i)));
+            }
+            base = equity.get(equity.size() - 1);
+        }
+        this.beginIndex = windowResults.isEmpty() ? -1 : windowResults.get(0).getWindow().getOutOfSampleBeginIndex();
+        this.equityCurve = Collections.unmodifiableList(equity);
+    }
+
+    private static CashFlow cashFlow(BarSeries series, TradingRecord tradingRecord, int endIndex) {
+        final Trade currentTrade = tradingRecord.getCurrentTrade();
+        if (currentTrade.isOpened() && currentTrade.getEntry().getIndex() < endIndex) {
+            return new CashFlow(series, tradingRecord, endIndex);
+        }
+        // A trade opened on the last bar has no accrued cash flow
+        return new CashFlow(series, tradingRecord);
+    }
+
+    /**
+     * @return the results of the windows, in chronological order
+     */
+    public List<WindowResult> getWindowResults() {
+        return windowResults;
+    }
+
+    /**
+     * @return the index of the first bar of the equity curve (i.e. the first
+     *         out-of-sample index), -1 if there is no window
+     */
+    public int getBeginIndex() {
+        return beginIndex;
+    }
+
+    /**
+     * @return the index of the last bar of the equity curve (i.e. the last
+     *         out-of-sample index), -1 if there is no window
+     */
+    public int getEndIndex() {
+        return beginIndex < 0 ? -1 : beginIndex + equityCurve.size() - 1;
+    }
+
+    /**
+     * @return the out-of-sample equity curve, from {@link #getBeginIndex()} to
+     *         {@link #getEndIndex()}
+     */
+    public List<Num> getEquityCurve() {
+        return equityCurve;
+    }
+
+    /**
+     * @param index the bar index, between {@link #getBeginIndex()} and
+     *              {@link #getEndIndex()}
+     * @return the value of the out-of-sample equity curve at the index
+     */
+    public Num getEquity(int index) {
+        if (index < beginIndex || index > getEndIndex()) {
+            throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of the equity curve [" + beginIndex + "-" + getEndIndex() + "]");
+        }
+        return equityCurve.get(index - beginIndex);
+    }
+
+    /**
+     * The result of a window of the walk-forward.
+     */
+    public static final class WindowResult {
+
+        private final WalkForwardOptimizer.Window window;
+        private final Strategy strategy;
+        private final Num inSampleValue;
+        private final BarSeries outOfSampleSeries;
+        private final TradingRecord outOfSampleTradingRecord;
+        private final Num outOfSampleValue;
+
+        WindowResult(WalkForwardOptimizer.Window window, Strategy strategy, Num inSampleValue,
+                BarSeries outOfSampleSeries, TradingRecord outOfSampleTradingRecord, Num outOfSampleValue) {
+            this.window = window;
+            this.strategy = strategy;
+            this.inSampleValue = inSampleValue;
+            this.outOfSampleSeries = outOfSampleSeries;
+            this.outOfSampleTradingRecord = outOfSampleTradingRecord;
+            this.outOfSampleValue = outOfSampleValue;
+        }
+
+        /**
+         * @return the window
+         */
+        public WalkForwardOptimizer.Window getWindow() {
+            return window;
+        }
+
+        /**
+         * @return the best strategy of the in-sample range
+         */
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        /**
+         * @return the criterion value of the strategy on the in-sample range
+         */
+        public Num getInSampleValue() {
+            return inSampleValue;
+        }
+
+        /**
+         * @return the out-of-sample range (a view of the bar series)
+         */
+        public BarSeries getOutOfSampleSeries() {
+            return outOfSampleSeries;
+        }
+
+        /**
+         * @return the trading record of the strategy on the out-of-sample range
+         */
+        public TradingRecord getOutOfSampleTradingRecord() {
+            return outOfSampleTradingRecord;
+        }
+
+        /**
+         * @return the criterion value of the strategy on the out-of-sample range
+         */
+        public Num getOutOfSampleValue() {
+            return outOfSampleValue;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * Imbalance bar aggregator: a bar is closed once the imbalance between its buys
+ * and sells reaches a threshold (in absolute value).
+ *
+ * The side of each trade is given by the tick rule (see
+ * {@link ThresholdBarAggregator}). The imbalance is the sum of the signs of the
+ * trades (tick imbalance), or of their signed volumes (volume imbalance).
+ */
+public class ImbalanceBarAggregator extends ThresholdBarAggregator {
+
+    /**
+     * True for the volume imbalance, false for the tick imbalance
+     */
+    private final boolean volumeImbalance;
+
+    /**
+     * Constructor of a batch aggregator.
+     *
+     * @param imbalance       the imbalance closing a bar
+     * @param volumeImbalance true to sum the signed volumes, false to sum the signs
+     */
+    public ImbalanceBarAggregator(Number imbalance, boolean volumeImbalance) {
+        super(imbalance);
+        this.volumeImbalance = volumeImbalance;
+    }
+
+    /**
+     * Constructor of a streaming aggregator.
+     *
+     * @param imbalance       the imbalance closing a bar
+     * @param volumeImbalance true to sum the signed volumes, false to sum the signs
+     * @param series          the series receiving the complete bars
+     */
+    public ImbalanceBarAggregator(Number imbalance, boolean volumeImbalance, BarSeries series) {
+        super(imbalance, series);
+        this.volumeImbalance = volumeImbalance;
+    }
+
+    @Override
+    protected Num contribution(Num price, Num volume, Num amount, int trades, int tickSign) {
+        if (tickSign == 0) {
+            return price.zero();
+        }
+        final Num value = volumeImbalance ? volume : price.one();
+        return tickSign > 0 ? value : price.zero().minus(value);
+    }
+}
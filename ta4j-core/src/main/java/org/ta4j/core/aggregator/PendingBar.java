@@ -0,0 +1,121 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * Pending (incomplete) bar of a streaming aggregator, updated in O(1) by each
+ * input. The values are computed with the {@link Num} type of the inputs.
+ */
+class PendingBar {
+
+    /**
+     * Number of inputs of the pending bar (0 if there is no pending bar)
+     */
+    private int count;
+    private Num open;
+    private Num high;
+    private Num low;
+    private Num close;
+    private Num volume;
+    private Num amount;
+    private int trades;
+
+    /**
+     * Adds an input (a trade or a bar) to the pending bar, starting a new one if
+     * there is none.
+     *
+     * @param open   the open price of the input
+     * @param high   the high price of the input
+     * @param low    the low price of the input
+     * @param close  the close price of the input
+     * @param volume the volume of the input
+     * @param amount the amount of the input
+     * @param trades the number of trades of the input
+     */
+    void add(Num open, Num high, Num low, Num close, Num volume, Num amount, int trades) {
+        if (count == 0) {
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.volume = volume;
+            this.amount = amount;
+            this.trades = trades;
+        } else {
+            if (high.isGreaterThan(this.high)) {
+                this.high = high;
+            }
+            if (low.isLessThan(this.low)) {
+                this.low = low;
+            }
+            this.volume = this.volume.plus(volume);
+            this.amount = this.amount.plus(amount);
+            this.trades += trades;
+        }
+        this.close = close;
+        count++;
+    }
+
+    /**
+     * Adds a trade to the pending bar, as {@link Bar#addTrade(Num, Num)}.
+     *
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     */
+    void addTrade(Num tradeVolume, Num tradePrice) {
+        add(tradePrice, tradePrice, tradePrice, tradePrice, tradeVolume, tradeVolume.multipliedBy(tradePrice), 1);
+    }
+
+    /**
+     * @return true if there is no pending bar
+     */
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @param timePeriod the time period of the bar
+     * @param endTime    the end time of the bar
+     * @return the pending bar, null if there is none
+     */
+    Bar toBar(Duration timePeriod, ZonedDateTime endTime) {
+        if (count == 0) {
+            return null;
+        }
+        return new BaseBar(timePeriod, endTime, open, high, low, close, volume, amount, trades);
+    }
+
+    /**
+     * Drops the pending bar, the next input starts a new one.
+     */
+    void clear() {
+        count = 0;
+    }
+}
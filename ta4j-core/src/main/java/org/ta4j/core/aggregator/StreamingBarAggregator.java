@@ -0,0 +1,319 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stateful aggregator building the bars of several time periods (e.g. 1 minute,
+ * 5 minutes, 1 hour, 1 day) from one stream of trades or bars.
+ *
+ * Unlike {@link DurationBarAggregator}, the inputs are pushed one at a time, in
+ * chronological order. Each time period keeps only its pending bar, updated in
+ * O(1) by each input. A bar is added to the series of its time period as soon
+ * as it is complete, i.e. when an input bar ends at its end time or when a
+ * later input arrives. The bars of all the time periods are aligned on the
+ * local time of the time zone of the aggregator (e.g. the 5 minutes bars end at
+ * :00, :05, :10... and the daily bars at local midnight), so the time periods
+ * stay in sync. On a daylight saving time change, the bars spanning the change
+ * are shorter or longer than their time period. As in the
+ * {@link ThresholdBarAggregator}, the values of the pending bars are computed
+ * with the {@link Num} type of the inputs.
+ */
+public class StreamingBarAggregator {
+
+    /**
+     * The time periods, in the order they were added
+     */
+    private final List<Timeframe> timeframes = new ArrayList<>();
+    /**
+     * Time zone of the bars
+     */
+    private final ZoneId zoneId;
+    /**
+     * Rules of the time zone
+     */
+    private final ZoneRules rules;
+    /**
+     * Offset of the time zone in milliseconds if it is fixed, null otherwise
+     */
+    private final Long fixedOffset;
+    /**
+     * Time of the last input in epoch milliseconds
+     */
+    private long lastTime = Long.MIN_VALUE;
+
+    /**
+     * Constructor.
+     *
+     * @param zoneId the time zone of the bars, giving their local time boundaries
+     */
+    public StreamingBarAggregator(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() * 1000L : null;
+    }
+
+    /**
+     * Adds a time period to aggregate. To be called before the first input.
+     *
+     * @param timePeriod the time period of the bars (at least one millisecond)
+     * @param series     the series receiving the complete bars
+     * @return this aggregator
+     */
+    public StreamingBarAggregator addTimePeriod(Duration timePeriod, BarSeries series) {
+        if (timePeriod.toMillis() <= 0) {
+            throw new IllegalArgumentException("Time period must be at least one millisecond");
+        }
+        for (Timeframe timeframe : timeframes) {
+            if (timeframe.period == timePeriod.toMillis()) {
+                throw new IllegalArgumentException(String.format("Time period %s already added", timePeriod));
+            }
+        }
+        timeframes.add(new Timeframe(timePeriod, series));
+        return this;
+    }
+
+    /**
+     * @param timePeriod an added time period
+     * @return the pending (incomplete) bar of the time period, null if there is
+     *         none
+     */
+    public Bar getPendingBar(Duration timePeriod) {
+        for (Timeframe timeframe : timeframes) {
+            if (timeframe.period == timePeriod.toMillis()) {
+                return timeframe.toBar();
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unknown time period %s", timePeriod));
+    }
+
+    /**
+     * Adds a trade to the pending bars.
+     *
+     * @param time        the time of the trade
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @throws IllegalArgumentException if the trade happens before the previous
+     *                                  input
+     */
+    public void addTrade(ZonedDateTime time, Num tradeVolume, Num tradePrice) {
+        final long epochMillis = time.toInstant().toEpochMilli();
+        checkTime(epochMillis);
+        for (Timeframe timeframe : timeframes) {
+            // A trade at the end time of a bar belongs to the next bar
+            timeframe.moveTo(epochMillis);
+            timeframe.bar.addTrade(tradeVolume, tradePrice);
+        }
+    }
+
+    /**
+     * Adds a trade to the pending bars, the values being converted to the
+     * {@link Num} type of each series.
+     *
+     * @param epochMillis the time of the trade in epoch milliseconds
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @throws IllegalArgumentException if the trade happens before the previous
+     *                                  input
+     */
+    public void addTrade(long epochMillis, double tradeVolume, double tradePrice) {
+        checkTime(epochMillis);
+        for (Timeframe timeframe : timeframes) {
+            // A trade at the end time of a bar belongs to the next bar
+            timeframe.moveTo(epochMillis);
+            timeframe.bar.addTrade(timeframe.series.numOf(tradeVolume), timeframe.series.numOf(tradePrice));
+        }
+    }
+
+    /**
+     * Adds a bar to the pending bars. The time period of the bar must divide the
+     * time periods of the aggregator.
+     *
+     * @param bar the bar to add
+     * @throws IllegalArgumentException if the bar ends before the previous input or
+     *                                  if its time period does not divide a time
+     *                                  period of the aggregator
+     */
+    public void addBar(Bar bar) {
+        final long endTime = bar.getEndTime().toInstant().toEpochMilli();
+        final long barPeriod = bar.getTimePeriod().toMillis();
+        checkTime(endTime);
+        for (Timeframe timeframe : timeframes) {
+            if (barPeriod <= 0 || timeframe.period % barPeriod != 0) {
+                throw new IllegalArgumentException(
+                        String.format("Cannot aggregate bars of %s: the time period %s must be a multiplication of it",
+                                bar.getTimePeriod(), timeframe.timePeriod));
+            }
+        }
+        for (Timeframe timeframe : timeframes) {
+            final long end = timeframe.moveTo(endTime - 1);
+            timeframe.bar.add(bar.getOpenPrice(), bar.getHighPrice(), bar.getLowPrice(), bar.getClosePrice(),
+                    bar.getVolume(), bar.getAmount(), bar.getTrades());
+            if (endTime == end) {
+                timeframe.complete();
+            }
+        }
+    }
+
+    /**
+     * Adds the pending bars to their series, e.g. at the end of the stream. The
+     * next inputs must happen after the end time of these bars.
+     */
+    public void flush() {
+        for (Timeframe timeframe : timeframes) {
+            if (!timeframe.bar.isEmpty()) {
+                lastTime = Math.max(lastTime, timeframe.endTime);
+                timeframe.complete();
+            }
+        }
+    }
+
+    private void checkTime(long epochMillis) {
+        if (epochMillis < lastTime) {
+            throw new IllegalArgumentException(String.format("Input at %s is before the previous input at %s",
+                    Instant.ofEpochMilli(epochMillis), Instant.ofEpochMilli(lastTime)));
+        }
+        lastTime = epochMillis;
+    }
+
+    /**
+     * @param localMillis a local time of the time zone, in milliseconds since the
+     *                    local epoch
+     * @param offset      the preferred offset if the local time is ambiguous
+     * @return the local time in epoch milliseconds (moved forward by the length of
+     *         the gap if it does not exist)
+     */
+    private long toEpochMillis(long localMillis, ZoneOffset offset) {
+        final LocalDateTime localTime = LocalDateTime.ofEpochSecond(Math.floorDiv(localMillis, 1000),
+                (int) Math.floorMod(localMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+        return ZonedDateTime.ofLocal(localTime, zoneId, offset).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Pending bar of a time period.
+     */
+    private class Timeframe {
+
+        private final Duration timePeriod;
+        /**
+         * Time period in milliseconds
+         */
+        private final long period;
+        private final BarSeries series;
+        /**
+         * Begin time (inclusive) of the last period given by {@link #endOf(long)}
+         */
+        private long periodBegin;
+        /**
+         * End time (exclusive) of the last period given by {@link #endOf(long)}
+         */
+        private long periodEnd;
+        /**
+         * Begin time of the pending bar in epoch milliseconds
+         */
+        private long beginTime;
+        /**
+         * End time of the pending bar in epoch milliseconds
+         */
+        private long endTime;
+        /**
+         * The pending bar
+         */
+        private final PendingBar bar = new PendingBar();
+
+        private Timeframe(Duration timePeriod, BarSeries series) {
+            this.timePeriod = timePeriod;
+            this.period = timePeriod.toMillis();
+            this.series = series;
+        }
+
+        /**
+         * @param epochMillis a time in epoch milliseconds
+         * @return the end time (exclusive) of the period holding this time
+         */
+        private long endOf(long epochMillis) {
+            if (epochMillis >= periodBegin && epochMillis < periodEnd) {
+                // Most inputs fall into the period of the previous one
+                return periodEnd;
+            }
+            if (fixedOffset != null) {
+                final long local = epochMillis + fixedOffset;
+                periodEnd = Math.floorDiv(local, period) * period + period - fixedOffset;
+                periodBegin = periodEnd - period;
+            } else {
+                final ZoneOffset offset = rules.getOffset(Instant.ofEpochMilli(epochMillis));
+                final long local = epochMillis + offset.getTotalSeconds() * 1000L;
+                final long localBegin = Math.floorDiv(local, period) * period;
+                periodBegin = toEpochMillis(localBegin, offset);
+                periodEnd = toEpochMillis(localBegin + period, offset);
+            }
+            return periodEnd;
+        }
+
+        /**
+         * Moves the pending bar to the period holding a time, completing the pending
+         * bar of another period.
+         *
+         * @param epochMillis a time in epoch milliseconds
+         * @return the end time of the pending bar
+         */
+        private long moveTo(long epochMillis) {
+            final long end = endOf(epochMillis);
+            if (!bar.isEmpty() && end != endTime) {
+                complete();
+            }
+            beginTime = periodBegin;
+            endTime = end;
+            return end;
+        }
+
+        /**
+         * Adds the pending bar to the series.
+         */
+        private void complete() {
+            series.addBar(toBar());
+            bar.clear();
+        }
+
+        private Bar toBar() {
+            // Not the time period on a daylight saving time change
+            return bar.toBar(Duration.ofMillis(endTime - beginTime),
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(endTime), zoneId));
+        }
+    }
+}
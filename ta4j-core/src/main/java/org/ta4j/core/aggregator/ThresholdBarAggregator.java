@@ -0,0 +1,233 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base class of the aggregators closing a bar once a measure of its trades
+ * (number of trades, volume, amount, imbalance...) reaches a threshold.
+ *
+ * The aggregator works in two ways:
+ * <ul>
+ * <li>as a {@link BarAggregator}, grouping a list of bars (e.g. one bar per
+ * trade) into bars of the threshold. Only the complete bars are returned.</li>
+ * <li>as a streaming aggregator, when built with a series: the trades pushed by
+ * {@link #addTrade(ZonedDateTime, Num, Num)} update a pending bar, which is
+ * added to the series once complete.</li>
+ * </ul>
+ * The values are computed with the {@link Num} type of the input, only the
+ * pending bar is kept in memory. The tick rule gives the sign of each input: +1
+ * if its price is above the previous one, -1 if below, the previous sign if
+ * unchanged (0 for the first input).
+ */
+public abstract class ThresholdBarAggregator implements BarAggregator {
+
+    /**
+     * Threshold of the measure closing a bar
+     */
+    private final Number threshold;
+    /**
+     * The series receiving the bars of the trades (null for a batch aggregator)
+     */
+    private final BarSeries series;
+    /**
+     * The state of the streaming aggregation
+     */
+    private Accumulator stream;
+
+    /**
+     * Constructor of a batch aggregator.
+     *
+     * @param threshold the threshold of the measure closing a bar
+     */
+    protected ThresholdBarAggregator(Number threshold) {
+        this(threshold, null);
+    }
+
+    /**
+     * Constructor of a streaming aggregator.
+     *
+     * @param threshold the threshold of the measure closing a bar
+     * @param series    the series receiving the complete bars
+     */
+    protected ThresholdBarAggregator(Number threshold, BarSeries series) {
+        if (threshold.doubleValue() <= 0) {
+            throw new IllegalArgumentException("Threshold must be strictly positive");
+        }
+        this.threshold = threshold;
+        this.series = series;
+    }
+
+    /**
+     * Returns the contribution of an input to the measure of its bar.
+     *
+     * @param price    the (close) price of the input
+     * @param volume   the volume of the input
+     * @param amount   the amount of the input
+     * @param trades   the number of trades of the input
+     * @param tickSign the sign of the input given by the tick rule (-1, 0 or 1)
+     * @return the contribution to the measure
+     */
+    protected abstract Num contribution(Num price, Num volume, Num amount, int trades, int tickSign);
+
+    /**
+     * Aggregates a list of bars, each bar being handled as a trade at its close
+     * price.
+     *
+     * @param bars the actual bars
+     * @return the complete aggregated bars
+     */
+    @Override
+    public List<Bar> aggregate(List<Bar> bars) {
+        final List<Bar> aggregated = new ArrayList<>();
+        if (bars.isEmpty()) {
+            return aggregated;
+        }
+        final Accumulator accumulator = new Accumulator(bars.get(0).getClosePrice().numOf(threshold));
+        for (Bar bar : bars) {
+            final Bar complete = accumulator.add(bar.getBeginTime(), bar.getEndTime(), bar.getOpenPrice(),
+                    bar.getHighPrice(), bar.getLowPrice(), bar.getClosePrice(), bar.getVolume(), bar.getAmount(),
+                    bar.getTrades());
+            if (complete != null) {
+                aggregated.add(complete);
+            }
+        }
+        return aggregated;
+    }
+
+    /**
+     * Adds a trade to the pending bar, which is added to the series if complete.
+     *
+     * @param time        the time of the trade
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @throws IllegalStateException if the aggregator has no series
+     */
+    public void addTrade(ZonedDateTime time, Num tradeVolume, Num tradePrice) {
+        final Accumulator accumulator = stream();
+        // As in Bar#addTrade
+        final Bar complete = accumulator.add(time, time, tradePrice, tradePrice, tradePrice, tradePrice, tradeVolume,
+                tradeVolume.multipliedBy(tradePrice), 1);
+        if (complete != null) {
+            series.addBar(complete);
+        }
+    }
+
+    /**
+     * Adds the pending bar to the series even if it is not complete, e.g. at the
+     * end of the stream.
+     *
+     * @throws IllegalStateException if the aggregator has no series
+     */
+    public void flush() {
+        final Bar pending = stream().complete();
+        if (pending != null) {
+            series.addBar(pending);
+        }
+    }
+
+    private Accumulator stream() {
+        if (series == null) {
+            throw new IllegalStateException("Streaming needs an aggregator built with a series");
+        }
+        if (stream == null) {
+            stream = new Accumulator(series.numOf(threshold));
+        }
+        return stream;
+    }
+
+    /**
+     * Pending bar and tick rule state of an aggregation.
+     */
+    private class Accumulator {
+
+        private final Num threshold;
+        private final Num negatedThreshold;
+        private Num lastPrice;
+        private int lastSign;
+
+        private final PendingBar bar = new PendingBar();
+        private ZonedDateTime beginTime;
+        private ZonedDateTime endTime;
+        private Num measure;
+
+        private Accumulator(Num threshold) {
+            this.threshold = threshold;
+            this.negatedThreshold = threshold.zero().minus(threshold);
+        }
+
+        /**
+         * @return the bar if it is complete, null otherwise
+         */
+        private Bar add(ZonedDateTime beginTime, ZonedDateTime endTime, Num open, Num high, Num low, Num close,
+                Num volume, Num amount, int trades) {
+            Objects.requireNonNull(close);
+            if (this.endTime != null && endTime.isBefore(this.endTime)) {
+                throw new IllegalArgumentException(
+                        String.format("Input at %s is before the previous input at %s", endTime, this.endTime));
+            }
+            if (lastPrice != null) {
+                final int comparison = close.compareTo(lastPrice);
+                if (comparison != 0) {
+                    lastSign = comparison > 0 ? 1 : -1;
+                }
+            }
+            lastPrice = close;
+            final Num contribution = contribution(close, volume, amount, trades, lastSign);
+            if (bar.isEmpty()) {
+                this.beginTime = beginTime;
+                this.measure = contribution;
+            } else {
+                this.measure = this.measure.plus(contribution);
+            }
+            bar.add(open, high, low, close, volume, amount, trades);
+            this.endTime = endTime;
+            if (measure.isGreaterThanOrEqual(threshold) || measure.isLessThanOrEqual(negatedThreshold)) {
+                return complete();
+            }
+            return null;
+        }
+
+        /**
+         * @return the pending bar (null if there is none), a new bar is started
+         */
+        private Bar complete() {
+            if (bar.isEmpty()) {
+                return null;
+            }
+            final Bar complete = bar.toBar(Duration.between(beginTime, endTime), endTime);
+            bar.clear();
+            return complete;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.BarSeries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Trade aggregator building the bars of a series on the fly.
+ *
+ * Unlike a {@link BarAggregator}, which needs the whole list of bars, the
+ * trades are pushed one by one in chronological order, and only the pending bar
+ * is kept in memory: a bar is added to the series as soon as a trade happens
+ * after its end time. The first bar begins at the time of the first trade, the
+ * periods without trade are skipped.
+ */
+public class TradeBarAggregator {
+
+    /**
+     * The series receiving the bars
+     */
+    private final BarSeries series;
+    /**
+     * Time period of the bars
+     */
+    private final Duration timePeriod;
+    /**
+     * Time zone of the bar times
+     */
+    private final ZoneId zoneId;
+    /**
+     * Begin time of the first bar in epoch milliseconds
+     */
+    private long firstBeginTime;
+    /**
+     * End time of the pending bar in epoch milliseconds
+     */
+    private long barEndTime;
+    /**
+     * Time of the last trade in epoch milliseconds
+     */
+    private long lastTradeTime = Long.MIN_VALUE;
+    /**
+     * The pending bar
+     */
+    private final PendingBar bar = new PendingBar();
+
+    /**
+     * Constructor.
+     *
+     * @param series     the series receiving the bars
+     * @param timePeriod the time period of the bars
+     * @param zoneId     the time zone of the bar times
+     */
+    public TradeBarAggregator(BarSeries series, Duration timePeriod, ZoneId zoneId) {
+        if (timePeriod.isNegative() || timePeriod.isZero()) {
+            throw new IllegalArgumentException("Time period must be strictly positive");
+        }
+        this.series = series;
+        this.timePeriod = timePeriod;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * Adds a trade to the pending bar, the pending bar is added to the series first
+     * if the trade happens after its end time.
+     *
+     * @param epochMillis the time of the trade in epoch milliseconds
+     * @param price       the price of the trade
+     * @param volume      the traded volume
+     * @throws IllegalArgumentException if the trade happens before the previous one
+     */
+    public void addTrade(long epochMillis, double price, double volume) {
+        if (epochMillis < lastTradeTime) {
+            throw new IllegalArgumentException(String.format("Trade at %s is before the previous trade at %s",
+                    Instant.ofEpochMilli(epochMillis), Instant.ofEpochMilli(lastTradeTime)));
+        }
+        if (lastTradeTime == Long.MIN_VALUE) {
+            firstBeginTime = epochMillis;
+        }
+        lastTradeTime = epochMillis;
+        if (!bar.isEmpty() && epochMillis >= barEndTime) {
+            flush();
+        }
+        if (bar.isEmpty()) {
+            final long periods = (epochMillis - firstBeginTime) / timePeriod.toMillis();
+            barEndTime = firstBeginTime + (periods + 1) * timePeriod.toMillis();
+        }
+        bar.addTrade(series.numOf(volume), series.numOf(price));
+    }
+
+    /**
+     * Adds the pending bar to the series. To be called after the last trade.
+     */
+    public void flush() {
+        if (!bar.isEmpty()) {
+            series.addBar(bar.toBar(timePeriod, ZonedDateTime.ofInstant(Instant.ofEpochMilli(barEndTime), zoneId)));
+            bar.clear();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.num.Num;
+
+/**
+ * Volume bar aggregator: a bar is closed once its volume reaches a threshold.
+ */
+public class VolumeBarAggregator extends ThresholdBarAggregator {
+
+    /**
+     * Constructor of a batch aggregator.
+     *
+     * @param volume the volume of a bar
+     */
+    public VolumeBarAggregator(Number volume) {
+        super(volume);
+    }
+
+    /**
+     * Constructor of a streaming aggregator.
+     *
+     * @param volume the volume of a bar
+     * @param series the series receiving the complete bars
+     */
+    public VolumeBarAggregator(Number volume, BarSeries series) {
+        super(volume, series);
+    }
+
+    @Override
+    protected Num contribution(Num price, Num volume, Num amount, int trades, int tickSign) {
+        return volume;
+    }
+}
@@ -66,7 +66,7 @@ public class MaximumDrawdownCriterion extends AbstractAnalysisCriterion {
      */
     private Num calculateMaximumDrawdown(BarSeries series, CashFlow cashFlow) {
         Num maximumDrawdown = series.numOf(0);
-        Num maxPeak = series.numOf(0);
+        Num maxPeak = maximumDrawdown;
         if (!series.isEmpty()) {
             // The series is not empty
             for (int i = series.getBeginIndex(); i <= series.getEndIndex(); i++) {
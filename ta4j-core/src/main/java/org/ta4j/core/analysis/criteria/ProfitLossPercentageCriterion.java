@@ -55,7 +55,7 @@ public class ProfitLossPercentageCriterion extends AbstractAnalysisCriterion {
             Num entryPrice = series.getBar(trade.getEntry().getIndex()).getClosePrice();
             Num exitPrice = series.getBar(trade.getExit().getIndex()).getClosePrice();
 
-            return exitPrice.minus(entryPrice).dividedBy(entryPrice).multipliedBy(series.numOf(100));
+            return exitPrice.minus(entryPrice).dividedBy(entryPrice).multipliedBy(entryPrice.hundred());
         }
         return series.numOf(0);
     }
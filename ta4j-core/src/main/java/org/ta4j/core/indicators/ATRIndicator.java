@@ -43,4 +43,13 @@ public class ATRIndicator extends CachedIndicator<Num> {
     protected Num calculate(int index) {
         return averageTrueRangeIndicator.getValue(index);
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable()) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        averageTrueRangeIndicator.fill(values, beginIndex, endIndex);
+    }
 }
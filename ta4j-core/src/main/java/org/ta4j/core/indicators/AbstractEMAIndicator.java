@@ -24,8 +24,13 @@
 package org.ta4j.core.indicators;
 
 import org.ta4j.core.Indicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Base class for Exponential Moving Average implementations.
  */
@@ -37,15 +42,23 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
     private final int barCount;
     private final Num multiplier;
 
+    /** True if the values are calculated as primitive doubles */
+    private final boolean fast;
+
     public AbstractEMAIndicator(Indicator<Num> indicator, int barCount, double multiplier) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
         this.multiplier = numOf(multiplier);
+        this.fast = indicator.getBarSeries() != null && this.multiplier instanceof DoubleNum;
     }
 
     @Override
     protected Num calculate(int index) {
+        if (fast) {
+            double value = calculateDouble(index);
+            return Double.isNaN(value) ? NaN.NaN : DoubleNum.valueOf(value);
+        }
         if (index == 0) {
             return indicator.getValue(0);
         }
@@ -53,8 +66,49 @@ public abstract class AbstractEMAIndicator extends RecursiveCachedIndicator<Num>
         return indicator.getValue(index).minus(prevValue).multipliedBy(multiplier).plus(prevValue);
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (!fast) {
+            return calculate(index).doubleValue();
+        }
+        if (index == 0) {
+            return indicator.getDoubleValue(0);
+        }
+        double prevValue = getDoubleValue(index - 1);
+        return (indicator.getDoubleValue(index) - prevValue) * multiplier.doubleValue() + prevValue;
+    }
+
+    /**
+     * Calculates the values recursively from the first index, in a single loop over
+     * the input values.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!fast || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final double[] input = indicator.getDoubleValues(0, endIndex);
+        final double k = multiplier.doubleValue();
+        double value = input[0];
+        if (beginIndex == 0) {
+            values[0] = value;
+        }
+        for (int i = 1; i <= endIndex; i++) {
+            value = (input[i] - value) * k + value;
+            if (i >= beginIndex) {
+                values[i - beginIndex] = value;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
     }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Collections.singletonList(indicator);
+    }
 }
@@ -25,25 +25,48 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.indicators.cache.ConcurrentResultCache;
+import org.ta4j.core.indicators.cache.DoubleResultCache;
+import org.ta4j.core.indicators.cache.ObjectResultCache;
+import org.ta4j.core.indicators.cache.ResultCache;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
 
 /**
  * Cached {@link Indicator indicator}.
  *
  * Caches the constructor of the indicator. Avoid to calculate the same index of
  * the indicator twice.
+ *
+ * The result on the last bar of the series is calculated on each call, unless
+ * the indicator {@link #setLastBarCached(boolean) caches it}: it is then kept
+ * until the last bar changes (see {@link BarSeries#getLastBarVersion()}), i.e.
+ * calculated again when a bar is added or when a trade or a price updates the
+ * last bar.
+ *
+ * With the {@link CacheMode#OBJECT OBJECT} and {@link CacheMode#PRIMITIVE
+ * PRIMITIVE} cache modes, the indicator is single-threaded: it takes no lock.
+ * With {@link CacheMode#CONCURRENT} the cached results are read without lock
+ * and the calculations are synchronized on the indicator, so an indicator may
+ * be shared by strategies evaluated from several threads (e.g. by a parallel
+ * {@link org.ta4j.core.BacktestExecutor BacktestExecutor}): each index is then
+ * calculated at most once (except the last bar of the series, which is
+ * calculated once per version).
  */
 public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
     private static final long serialVersionUID = 7505855220893125595L;
 
     /**
-     * List of cached results
+     * Cache mode used for the series which do not specify one
      */
-    private final List<T> results = new ArrayList<T>();
+    private static CacheMode defaultCacheMode = CacheMode.OBJECT;
+
+    /**
+     * Cached results (created on first use)
+     */
+    private volatile ResultCache<T> results;
 
     /**
      * Should always be the index of the last result in the results list. I.E. the
@@ -51,6 +74,22 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
      */
     protected int highestResultIndex = -1;
 
+    /**
+     * True if the result on the last bar is kept until the last bar changes
+     */
+    private boolean lastBarCached;
+
+    /**
+     * Result on the last bar of the series
+     */
+    private T lastBarResult;
+
+    /**
+     * Index and version of the last bar of {@link #lastBarResult} (-1 if none)
+     */
+    private int lastBarIndex = -1;
+    private long lastBarVersion = -1;
+
     /**
      * Constructor.
      *
@@ -69,8 +108,105 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
         this(indicator.getBarSeries());
     }
 
+    /**
+     * Sets the cache mode used by the indicators built on a series which does not
+     * specify one.
+     *
+     * @param cacheMode the default cache mode
+     * @see BarSeries#getCacheMode()
+     */
+    public static void setDefaultCacheMode(CacheMode cacheMode) {
+        CachedIndicator.defaultCacheMode = cacheMode;
+    }
+
+    /**
+     * @return the cache mode used by the indicators built on a series which does
+     *         not specify one
+     */
+    public static CacheMode getDefaultCacheMode() {
+        return defaultCacheMode;
+    }
+
+    /**
+     * Sets whether the result on the last bar of the series is kept until the last
+     * bar changes. Only the version of the last bar of the series of the indicator
+     * is tracked: the caching must not be enabled if the result also depends on
+     * another series or on a state outside of the bars (e.g. an input indicator
+     * built on another series, or not cached and reading external data).
+     *
+     * @param lastBarCached true to keep the result on the last bar until the last
+     *                      bar changes, false (default) to calculate it on each
+     *                      call
+     */
+    public void setLastBarCached(boolean lastBarCached) {
+        this.lastBarCached = lastBarCached;
+        this.lastBarIndex = -1;
+        this.lastBarResult = null;
+    }
+
+    /**
+     * @return true if the result on the last bar of the series is kept until the
+     *         last bar changes
+     * @see #setLastBarCached(boolean)
+     */
+    public boolean isLastBarCached() {
+        return lastBarCached;
+    }
+
     @Override
     public T getValue(int index) {
+        T result = getPublishedValue(index);
+        if (result != null) {
+            return result;
+        }
+        if (!isConcurrent()) {
+            return getOrCalculateValue(index);
+        }
+        synchronized (this) {
+            return getOrCalculateValue(index);
+        }
+    }
+
+    /**
+     * @return true if the indicator may be shared by several threads, i.e. if its
+     *         cache mode is {@link CacheMode#CONCURRENT}: the calculations are then
+     *         synchronized on the indicator
+     */
+    boolean isConcurrent() {
+        final ResultCache<T> cache = results;
+        if (cache != null) {
+            return cache instanceof ConcurrentResultCache;
+        }
+        final BarSeries series = getBarSeries();
+        final CacheMode cacheMode = series != null ? series.getCacheMode() : null;
+        return (cacheMode != null ? cacheMode : defaultCacheMode) == CacheMode.CONCURRENT;
+    }
+
+    /**
+     * Reads a result without lock.
+     *
+     * @param index the bar index
+     * @return the result published by a {@link ConcurrentResultCache}, or null if
+     *         the result has to be read (or calculated) under the lock
+     */
+    T getPublishedValue(int index) {
+        ResultCache<T> cache = results;
+        if (!(cache instanceof ConcurrentResultCache)) {
+            return null;
+        }
+        BarSeries series = getBarSeries();
+        if (index < series.getRemovedBarsCount() || index >= series.getEndIndex()) {
+            // Removed results and last bar are handled under the lock
+            return null;
+        }
+        return ((ConcurrentResultCache<T>) cache).lookup(index);
+    }
+
+    /**
+     * @param index the bar index
+     * @return the cached result, or the calculated one if it is not cached yet
+     */
+    private T getOrCalculateValue(int index) {
         BarSeries series = getBarSeries();
         if (series == null) {
             // Series is null; the indicator doesn't need cache.
@@ -81,48 +217,147 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
 
         // Series is not null
 
+        final int position = prepareCache(series, index);
+        if (position < 0) {
+            if (!lastBarCached) {
+                return calculate(index);
+            }
+            // Last bar: result kept until the bar changes
+            final long version = series.getLastBarVersion();
+            T result = getLastBarResult(index, version);
+            if (result == null) {
+                result = calculate(index);
+                lastBarResult = result;
+                lastBarIndex = index;
+                lastBarVersion = version;
+            }
+            return result;
+        }
+        return getOrCalculateValue(series, index, position);
+    }
+
+    /**
+     * @param index   the index of the last bar
+     * @param version the version of the last bar
+     * @return the result calculated for this version of the last bar, null if there
+     *         is none
+     */
+    private T getLastBarResult(int index, long version) {
+        if (version < 0 || index != lastBarIndex || version != lastBarVersion) {
+            return null;
+        }
+        return lastBarResult;
+    }
+
+    /**
+     * @param series   the bar series
+     * @param index    the bar index
+     * @param position the position of the result in the cache
+     * @return the cached result, or the calculated one if it is not cached yet
+     */
+    private T getOrCalculateValue(BarSeries series, int index, int position) {
+        T result = results.get(position);
+        if (result == null) {
+            if (index < series.getRemovedBarsCount()) {
+                // It should be "result = calculate(removedBarsCount);".
+                // We use "result = calculate(0);" as a workaround
+                // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
+                result = calculate(0);
+                cacheResult(-1, position, result);
+            } else {
+                result = calculate(index);
+                cacheResult(index, position, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the indicator as a primitive <code>double</code>. With a
+     * {@link CacheMode#PRIMITIVE primitive cache} the result is read from (or
+     * calculated with {@link #calculateDouble(int)} and stored into) the cache
+     * without creating any {@link org.ta4j.core.num.Num Num}.
+     */
+    @Override
+    public double getDoubleValue(int index) {
+        T result = getPublishedValue(index);
+        if (result != null) {
+            return ((Num) result).doubleValue();
+        }
+        if (!isConcurrent()) {
+            return getOrCalculateDouble(index);
+        }
+        synchronized (this) {
+            return getOrCalculateDouble(index);
+        }
+    }
+
+    /**
+     * @param index the bar index
+     * @return the cached result as a primitive <code>double</code>, or the
+     *         calculated one if it is not cached yet
+     */
+    private double getOrCalculateDouble(int index) {
+        BarSeries series = getBarSeries();
+        if (series == null) {
+            return calculateDouble(index);
+        }
+        final int position = prepareCache(series, index);
+        if (position < 0) {
+            if (!lastBarCached) {
+                return calculateDouble(index);
+            }
+            // Last bar: result kept until the bar changes
+            T lastResult = getLastBarResult(index, series.getLastBarVersion());
+            return lastResult != null ? ((Num) lastResult).doubleValue() : calculateDouble(index);
+        }
+        if (!(results instanceof DoubleResultCache)) {
+            return ((Num) getOrCalculateValue(series, index, position)).doubleValue();
+        }
+        DoubleResultCache cache = (DoubleResultCache) results;
+        if (cache.isSet(position)) {
+            return cache.getDouble(position);
+        }
+        // Same workaround as in getOrCalculateValue for the removed results
+        double value = calculateDouble(index < series.getRemovedBarsCount() ? 0 : index);
+        if (results == cache) {
+            cache.setDouble(position, value);
+        }
+        return value;
+    }
+
+    /**
+     * Prepares the cache for the result of an index (creating the cache, or
+     * appending empty slots for the new indexes).
+     *
+     * @param series the bar series
+     * @param index  the bar index
+     * @return the position of the result in the cache, -1 if the result must not be
+     *         cached (last bar)
+     */
+    private int prepareCache(BarSeries series, int index) {
         final int removedBarsCount = series.getRemovedBarsCount();
         final int maximumResultCount = series.getMaximumBarCount();
 
-        T result;
         if (index < removedBarsCount) {
             // Result already removed from cache
             log.trace("{}: result from bar {} already removed from cache, use {}-th instead",
                     getClass().getSimpleName(), index, removedBarsCount);
             increaseLengthTo(removedBarsCount, maximumResultCount);
             highestResultIndex = removedBarsCount;
-            result = results.get(0);
-            if (result == null) {
-                // It should be "result = calculate(removedBarsCount);".
-                // We use "result = calculate(0);" as a workaround
-                // to fix issue #120 (https://github.com/mdeverdelhan/ta4j/issues/120).
-                result = calculate(0);
-                results.set(0, result);
-            }
-        } else {
-            if (index == series.getEndIndex()) {
-                // Don't cache result if last bar
-                result = calculate(index);
-            } else {
-                increaseLengthTo(index, maximumResultCount);
-                if (index > highestResultIndex) {
-                    // Result not calculated yet
-                    highestResultIndex = index;
-                    result = calculate(index);
-                    results.set(results.size() - 1, result);
-                } else {
-                    // Result covered by current cache
-                    int resultInnerIndex = results.size() - 1 - (highestResultIndex - index);
-                    result = results.get(resultInnerIndex);
-                    if (result == null) {
-                        result = calculate(index);
-                        results.set(resultInnerIndex, result);
-                    }
-                }
-            }
-
+            return 0;
         }
-        return result;
+        if (index == series.getEndIndex()) {
+            return -1;
+        }
+        increaseLengthTo(index, maximumResultCount);
+        if (index > highestResultIndex) {
+            // Result not calculated yet
+            highestResultIndex = index;
+            return results.size() - 1;
+        }
+        // Result covered by current cache
+        return results.size() - 1 - (highestResultIndex - index);
     }
 
     /**
@@ -131,6 +366,50 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
      */
     protected abstract T calculate(int index);
 
+    /**
+     * Calculates the value of the indicator as a primitive <code>double</code>.
+     * Indicators of {@link org.ta4j.core.num.Num Num} override it to calculate
+     * {@link DoubleNum} values without allocation.
+     *
+     * @param index the bar index
+     * @return the value of the indicator (<code>Double.NaN</code> for
+     *         {@link org.ta4j.core.num.NaN NaN})
+     */
+    protected double calculateDouble(int index) {
+        return ((Num) calculate(index)).doubleValue();
+    }
+
+    /**
+     * @return true if {@link #fill(double[], int, int)} may calculate the values
+     *         with primitive loops: the values are {@link DoubleNum} and no bar has
+     *         been removed from the series (the values at the removed indexes being
+     *         the ones of the first remaining bar)
+     */
+    protected boolean isPrimitiveFillable() {
+        final BarSeries series = getBarSeries();
+        return series != null && series.getRemovedBarsCount() == 0 && numOf(0) instanceof DoubleNum;
+    }
+
+    /**
+     * Stores a result in the cache. Switches to an {@link ObjectResultCache} if the
+     * current cache cannot hold the result (e.g. a result which is not a
+     * {@link org.ta4j.core.num.DoubleNum DoubleNum} in a primitive cache).
+     *
+     * @param index      the bar index of the result (-1 if the result must not be
+     *                   published, see {@link ConcurrentResultCache})
+     * @param innerIndex the position of the result in the cache
+     * @param result     the result to be cached
+     */
+    private void cacheResult(int index, int innerIndex, T result) {
+        if (!results.accepts(result)) {
+            results = new ObjectResultCache<>(results);
+        }
+        results.set(innerIndex, result);
+        if (index >= 0 && results instanceof ConcurrentResultCache) {
+            ((ConcurrentResultCache<T>) results).publish(index, result);
+        }
+    }
+
     /**
      * Increases the size of cached results buffer.
      *
@@ -140,34 +419,19 @@ public abstract class CachedIndicator<T> extends AbstractIndicator<T> {
     private void increaseLengthTo(int index, int maxLength) {
         if (highestResultIndex > -1) {
             int newResultsCount = Math.min(index - highestResultIndex, maxLength);
-            if (newResultsCount == maxLength) {
-                results.clear();
-                results.addAll(Collections.nCopies(maxLength, null));
-            } else if (newResultsCount > 0) {
-                results.addAll(Collections.nCopies(newResultsCount, null));
-                removeExceedingResults(maxLength);
+            if (newResultsCount > 0) {
+                results.append(newResultsCount, maxLength);
             }
         } else {
             // First use of cache
-            assert results.isEmpty() : "Cache results list should be empty";
-            results.addAll(Collections.nCopies(Math.min(index + 1, maxLength), null));
-        }
-    }
-
-    /**
-     * Removes the N first results which exceed the maximum bar count. (i.e. keeps
-     * only the last maximumResultCount results)
-     *
-     * @param maximumResultCount the number of results to keep
-     */
-    private void removeExceedingResults(int maximumResultCount) {
-        int resultCount = results.size();
-        if (resultCount > maximumResultCount) {
-            // Removing old results
-            final int nbResultsToRemove = resultCount - maximumResultCount;
-            for (int i = 0; i < nbResultsToRemove; i++) {
-                results.remove(0);
+            assert results == null : "Cache results should not be initialized";
+            CacheMode cacheMode = getBarSeries().getCacheMode();
+            results = (cacheMode != null ? cacheMode : defaultCacheMode).createCache();
+            if (results instanceof DoubleResultCache && !(numOf(0) instanceof DoubleNum)) {
+                // Primitive results only for DoubleNum series
+                results = new ObjectResultCache<>();
             }
+            results.append(Math.min(index + 1, maxLength), maxLength);
         }
     }
 }
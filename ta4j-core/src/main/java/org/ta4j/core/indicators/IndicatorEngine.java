@@ -0,0 +1,370 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Push-based evaluation of a graph of indicators on a live {@link BarSeries}.
+ *
+ * The bars, trades and prices are fed to the engine instead of the series.
+ * Registering an indicator also registers its {@link Indicator#getInputs()
+ * input indicators} (found in its fields when they are not declared), so the
+ * engine holds the whole dependency graph of the registered indicators, each
+ * indicator being a single node whatever the number of indicators using it (the
+ * equal indicators built separately can be shared with an
+ * {@link IndicatorRegistry}). After each update the nodes are evaluated once on
+ * the last bar in topological order, i.e. each indicator after its inputs, then
+ * the listeners are notified.
+ *
+ * The bars are added one by one, so the {@link CachedIndicator cached
+ * indicators} calculate each value from the previous (cached) ones. The engine
+ * {@link CachedIndicator#setLastBarCached(boolean) caches the results on the
+ * last bar} of the cached indicators whose inputs are all cached indicators of
+ * the graph with a cached last bar, so that an update calculates each of them
+ * once. The engine is not thread-safe: the updates must be fed from a single
+ * thread.
+ */
+public class IndicatorEngine {
+
+    /**
+     * An indicator of the graph and its listeners
+     */
+    private static class Node<T> {
+
+        private final Indicator<T> indicator;
+
+        private final List<IndicatorListener<? super T>> listeners = new ArrayList<>();
+
+        /** Value on the last evaluated bar */
+        private T value;
+
+        /** True if the result on the last bar is cached */
+        private boolean lastBarCached;
+
+        private Node(Indicator<T> indicator) {
+            this.indicator = indicator;
+        }
+
+        private void evaluate(int index) {
+            value = indicator.getValue(index);
+        }
+
+        private void notifyListeners(int index) {
+            for (IndicatorListener<? super T> listener : listeners) {
+                listener.onBar(index, value);
+            }
+        }
+    }
+
+    private final BarSeries series;
+
+    /** The nodes in topological order (inputs first) */
+    private final List<Node<?>> nodes = new ArrayList<>();
+
+    private final Map<Indicator<?>, Node<?>> nodesByIndicator = new IdentityHashMap<>();
+
+    /** Index of the last evaluated bar (-1 if none) */
+    private int lastIndex = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series updated through the engine
+     */
+    public IndicatorEngine(BarSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * @return the bar series updated through the engine
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * Registers an indicator (without listener) and its inputs. Registering an
+     * indicator twice has no effect.
+     *
+     * @param indicator an indicator built on the series of the engine
+     * @return the engine
+     */
+    public IndicatorEngine register(Indicator<?> indicator) {
+        node(indicator);
+        return this;
+    }
+
+    /**
+     * Registers an indicator and its inputs (if it is not registered yet) and adds
+     * a listener of its values.
+     *
+     * @param indicator an indicator built on the series of the engine
+     * @param listener  the listener notified after each update
+     * @return the engine
+     */
+    public <T> IndicatorEngine subscribe(Indicator<T> indicator, IndicatorListener<? super T> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        node(indicator).listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Removes a listener (the indicators stay registered).
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was subscribed
+     */
+    public boolean unsubscribe(IndicatorListener<?> listener) {
+        boolean removed = false;
+        for (Node<?> node : nodes) {
+            removed |= node.listeners.remove(listener);
+        }
+        return removed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Node<T> node(Indicator<T> indicator) {
+        if (indicator == null) {
+            throw new IllegalArgumentException("Indicator cannot be null");
+        }
+        if (indicator.getBarSeries() != series) {
+            throw new IllegalArgumentException("Indicator must be built on the series of the engine");
+        }
+        Node<T> node = (Node<T>) nodesByIndicator.get(indicator);
+        if (node == null) {
+            node = new Node<>(indicator);
+            // Mapped before its inputs, so that a cycle ends here
+            nodesByIndicator.put(indicator, node);
+            boolean lastBarCached = indicator instanceof CachedIndicator;
+            for (Indicator<?> input : inputsOf(indicator)) {
+                if (input.getBarSeries() != series) {
+                    // Changes of the other series are not tracked by the cache
+                    lastBarCached = false;
+                    continue;
+                }
+                final Node<?> inputNode = nodesByIndicator.containsKey(input) ? nodesByIndicator.get(input)
+                        : node(input);
+                lastBarCached &= inputNode.lastBarCached;
+            }
+            if (lastBarCached) {
+                ((CachedIndicator<T>) indicator).setLastBarCached(true);
+                node.lastBarCached = true;
+            }
+            // Added after its inputs (depth-first): the list stays in topological order
+            nodes.add(node);
+        }
+        return node;
+    }
+
+    /**
+     * @param indicator an indicator
+     * @return the declared input indicators of the indicator, or the ones found in
+     *         its fields if they are not declared
+     */
+    private List<Indicator<?>> inputsOf(Indicator<?> indicator) {
+        final List<Indicator<?>> declaredInputs = indicator.getInputs();
+        if (declaredInputs == null) {
+            return fieldInputsOf(indicator);
+        }
+        final List<Indicator<?>> inputs = new ArrayList<>(declaredInputs.size());
+        for (Indicator<?> input : declaredInputs) {
+            addInput(inputs, indicator, input);
+        }
+        return inputs;
+    }
+
+    /**
+     * Finds the input indicators of an indicator in the (non static) fields of its
+     * class and superclasses, holding an indicator or an array of indicators.
+     * Fallback for the indicators which do not declare their inputs.
+     *
+     * @param indicator an indicator
+     * @return the input indicators
+     */
+    private List<Indicator<?>> fieldInputsOf(Indicator<?> indicator) {
+        List<Indicator<?>> inputs = new ArrayList<>();
+        for (Class<?> type = indicator.getClass(); type != null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                final Class<?> fieldType = field.getType();
+                if (Modifier.isStatic(field.getModifiers()) || !(Indicator.class.isAssignableFrom(fieldType)
+                        || fieldType.isArray() && Indicator.class.isAssignableFrom(fieldType.getComponentType()))) {
+                    continue;
+                }
+                final Object value;
+                try {
+                    field.setAccessible(true);
+                    value = field.get(indicator);
+                } catch (RuntimeException | IllegalAccessException e) {
+                    // Field not accessible (e.g. class of a closed module): not part of the graph
+                    continue;
+                }
+                if (value instanceof Indicator) {
+                    addInput(inputs, indicator, (Indicator<?>) value);
+                } else if (value != null && fieldType.isArray()) {
+                    for (int i = 0; i < Array.getLength(value); i++) {
+                        addInput(inputs, indicator, (Indicator<?>) Array.get(value, i));
+                    }
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private void addInput(List<Indicator<?>> inputs, Indicator<?> indicator, Indicator<?> input) {
+        if (input != null && input != indicator) {
+            inputs.add(input);
+        }
+    }
+
+    /**
+     * @return the number of indicators of the graph (the registered indicators and
+     *         their inputs)
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Adds a bar to the series and pushes the values of the new bar.
+     *
+     * @param bar the bar to be added
+     * @see BarSeries#addBar(Bar)
+     */
+    public void addBar(Bar bar) {
+        addBar(bar, false);
+    }
+
+    /**
+     * Adds (or replaces the last) bar of the series and pushes the values of the
+     * last bar.
+     *
+     * @param bar     the bar to be added
+     * @param replace true to replace the last bar of the series
+     * @see BarSeries#addBar(Bar, boolean)
+     */
+    public void addBar(Bar bar, boolean replace) {
+        series.addBar(bar, replace);
+        update();
+    }
+
+    /**
+     * Adds a trade to the last bar of the series and pushes the updated values.
+     *
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @see BarSeries#addTrade(Num, Num)
+     */
+    public void addTrade(Num tradeVolume, Num tradePrice) {
+        series.addTrade(tradeVolume, tradePrice);
+        update();
+    }
+
+    /**
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @see #addTrade(Num, Num)
+     */
+    public void addTrade(Number tradeVolume, Number tradePrice) {
+        addTrade(series.numOf(tradeVolume), series.numOf(tradePrice));
+    }
+
+    /**
+     * Updates the close price of the last bar of the series and pushes the updated
+     * values.
+     *
+     * @param price the price
+     * @see BarSeries#addPrice(Num)
+     */
+    public void addPrice(Num price) {
+        series.addPrice(price);
+        update();
+    }
+
+    /**
+     * @param price the price
+     * @see #addPrice(Num)
+     */
+    public void addPrice(Number price) {
+        addPrice(series.numOf(price));
+    }
+
+    /**
+     * Evaluates the indicators of the graph on the last bar of the series, in
+     * topological order, then notifies their listeners. Called by the update
+     * methods of the engine, to be called directly after the series has been
+     * changed without the engine.
+     */
+    public void update() {
+        if (series.isEmpty()) {
+            return;
+        }
+        final int index = series.getEndIndex();
+        for (Node<?> node : nodes) {
+            node.evaluate(index);
+        }
+        lastIndex = index;
+        for (Node<?> node : nodes) {
+            node.notifyListeners(index);
+        }
+    }
+
+    /**
+     * @return the index of the last bar evaluated by the engine, -1 if none
+     */
+    public int getLastIndex() {
+        return lastIndex;
+    }
+
+    /**
+     * @param indicator an indicator of the graph (registered or input of a
+     *                  registered indicator)
+     * @return the value of the indicator on the last bar evaluated by the engine
+     *         (null if no bar has been evaluated yet)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getValue(Indicator<T> indicator) {
+        Node<T> node = (Node<T>) nodesByIndicator.get(indicator);
+        if (node == null) {
+            throw new IllegalArgumentException("Indicator is not registered");
+        }
+        return node.value;
+    }
+}
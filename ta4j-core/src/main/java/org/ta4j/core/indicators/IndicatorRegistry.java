@@ -0,0 +1,347 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Registry of the {@link Indicator indicators} built on a {@link BarSeries}.
+ *
+ * Returns one canonical instance per indicator class and constructor arguments
+ * (the input indicators being compared by identity), so that the identical
+ * sub-graphs of many strategies are calculated (and cached) once. E.g.:
+ *
+ * <pre>
+ * IndicatorRegistry registry = new IndicatorRegistry(series);
+ * ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+ * EMAIndicator ema = registry.get(EMAIndicator.class, closePrice, 26);
+ * </pre>
+ *
+ * The registry is thread-safe. Two threads asking for the same missing
+ * indicator may both build it, but only one instance is kept and returned.
+ */
+public class IndicatorRegistry {
+
+    /** The bar series of the indicators */
+    private final BarSeries series;
+
+    /** The canonical indicators */
+    private final ConcurrentMap<Key, Indicator<?>> indicators = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param series the bar series of the indicators
+     */
+    public IndicatorRegistry(BarSeries series) {
+        if (series == null) {
+            throw new IllegalArgumentException("Series cannot be null");
+        }
+        this.series = series;
+    }
+
+    /**
+     * @return the bar series of the indicators
+     */
+    public BarSeries getBarSeries() {
+        return series;
+    }
+
+    /**
+     * @return the number of registered indicators
+     */
+    public int size() {
+        return indicators.size();
+    }
+
+    /**
+     * Returns the canonical indicator built with the most specific public
+     * constructor of its class accepting the arguments.
+     *
+     * @param type      the class of the indicator
+     * @param arguments the constructor arguments (the bar series of the registry,
+     *                  indicators built on it, or values implementing equals and
+     *                  hashCode)
+     * @param <I>       the type of the indicator
+     * @return the canonical indicator
+     * @throws IllegalArgumentException if the class has no public constructor
+     *                                  accepting the arguments, or several ones
+     *                                  none of which is the most specific
+     */
+    public <I extends Indicator<?>> I get(Class<I> type, Object... arguments) {
+        return get(type, () -> newIndicator(type, arguments), arguments);
+    }
+
+    /**
+     * Returns the canonical indicator of a class and parameters, built with a
+     * factory if it is not registered yet.
+     *
+     * @param type       the class of the indicator
+     * @param factory    the factory building the indicator
+     * @param parameters the parameters identifying the indicator (the bar series of
+     *                   the registry, indicators built on it, or values
+     *                   implementing equals and hashCode)
+     * @param <I>        the type of the indicator
+     * @return the canonical indicator
+     */
+    public <I extends Indicator<?>> I get(Class<I> type, Supplier<? extends I> factory, Object... parameters) {
+        for (Object parameter : parameters) {
+            checkParameter(parameter);
+        }
+        Key key = new Key(type, parameters);
+        Indicator<?> indicator = indicators.get(key);
+        if (indicator == null) {
+            // Not built in computeIfAbsent: the factory may use the registry itself
+            Indicator<?> newIndicator = factory.get();
+            if (!type.isInstance(newIndicator)) {
+                throw new IllegalArgumentException("Factory built " + newIndicator + " instead of a " + type.getName());
+            }
+            indicator = indicators.putIfAbsent(key, newIndicator);
+            if (indicator == null) {
+                indicator = newIndicator;
+            }
+        }
+        return type.cast(indicator);
+    }
+
+    /**
+     * Removes all the registered indicators.
+     */
+    public void clear() {
+        indicators.clear();
+    }
+
+    /**
+     * Checks that a parameter belongs to the bar series of the registry.
+     *
+     * @param parameter the parameter
+     */
+    private void checkParameter(Object parameter) {
+        if (parameter instanceof BarSeries && parameter != series) {
+            throw new IllegalArgumentException("Bar series " + parameter + " is not the series of the registry");
+        }
+        if (parameter instanceof Indicator && ((Indicator<?>) parameter).getBarSeries() != series) {
+            throw new IllegalArgumentException(
+                    "Indicator " + parameter + " is not built on the series of the registry");
+        }
+    }
+
+    /**
+     * Builds an indicator with the most specific public constructor accepting the
+     * arguments.
+     *
+     * @param type      the class of the indicator
+     * @param arguments the constructor arguments
+     * @param <I>       the type of the indicator
+     * @return the new indicator
+     * @throws IllegalArgumentException if no public constructor accepts the
+     *                                  arguments, or if none of the accepting
+     *                                  constructors is more specific than the
+     *                                  others
+     */
+    private static <I extends Indicator<?>> I newIndicator(Class<I> type, Object[] arguments) {
+        List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> constructor : type.getConstructors()) {
+            if (accepts(constructor.getParameterTypes(), arguments)) {
+                candidates.add(constructor);
+            }
+        }
+        if (candidates.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "No public constructor of " + type.getName() + " accepts " + Arrays.toString(arguments));
+        }
+        Constructor<?> constructor = mostSpecific(candidates);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Ambiguous public constructors of " + type.getName() + " accept "
+                    + Arrays.toString(arguments) + ": " + candidates);
+        }
+        try {
+            return type.cast(constructor.newInstance(arguments));
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalArgumentException("Unable to build " + type.getName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Unable to build " + type.getName(), e);
+        }
+    }
+
+    /**
+     * @param candidates the constructors accepting the same arguments
+     * @return the constructor more specific than all the others, or null if there
+     *         is none
+     */
+    private static Constructor<?> mostSpecific(List<Constructor<?>> candidates) {
+        for (Constructor<?> candidate : candidates) {
+            boolean mostSpecific = true;
+            for (Constructor<?> other : candidates) {
+                if (other != candidate && !moreSpecific(candidate.getParameterTypes(), other.getParameterTypes())) {
+                    mostSpecific = false;
+                    break;
+                }
+            }
+            if (mostSpecific) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param parameterTypes      the parameter types of a constructor
+     * @param otherParameterTypes the parameter types of another constructor of the
+     *                            same arity
+     * @return true if each parameter type is assignable to the other one (the
+     *         primitive types being compared by their wrapper)
+     */
+    private static boolean moreSpecific(Class<?>[] parameterTypes, Class<?>[] otherParameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!boxed(otherParameterTypes[i]).isAssignableFrom(boxed(parameterTypes[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param type a type
+     * @return the wrapper class of the type if primitive, else the type
+     */
+    private static Class<?> boxed(Class<?> type) {
+        return type.isPrimitive() ? wrapper(type) : type;
+    }
+
+    /**
+     * @param parameterTypes the parameter types of a constructor
+     * @param arguments      the arguments
+     * @return true if the arguments can be passed to the constructor
+     */
+    private static boolean accepts(Class<?>[] parameterTypes, Object[] arguments) {
+        if (parameterTypes.length != arguments.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            Object argument = arguments[i];
+            if (parameterType.isPrimitive()) {
+                if (argument == null || wrapper(parameterType) != argument.getClass()) {
+                    return false;
+                }
+            } else if (argument != null && !parameterType.isInstance(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param primitiveType a primitive type
+     * @return the wrapper class of the primitive type
+     */
+    private static Class<?> wrapper(Class<?> primitiveType) {
+        if (primitiveType == int.class) {
+            return Integer.class;
+        } else if (primitiveType == double.class) {
+            return Double.class;
+        } else if (primitiveType == long.class) {
+            return Long.class;
+        } else if (primitiveType == boolean.class) {
+            return Boolean.class;
+        } else if (primitiveType == float.class) {
+            return Float.class;
+        } else if (primitiveType == short.class) {
+            return Short.class;
+        } else if (primitiveType == byte.class) {
+            return Byte.class;
+        }
+        return Character.class;
+    }
+
+    /**
+     * Key of an indicator: its class and parameters. The indicators and bar series
+     * in the parameters are compared by identity, the other parameters with equals.
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+
+        private final Object[] parameters;
+
+        private final int hashCode;
+
+        private Key(Class<?> type, Object[] parameters) {
+            this.type = type;
+            this.parameters = parameters.clone();
+            int hash = type.hashCode();
+            for (Object parameter : this.parameters) {
+                hash = 31 * hash
+                        + (isIdentity(parameter) ? System.identityHashCode(parameter) : Objects.hashCode(parameter));
+            }
+            this.hashCode = hash;
+        }
+
+        private static boolean isIdentity(Object parameter) {
+            return parameter instanceof Indicator || parameter instanceof BarSeries;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            if (type != other.type || parameters.length != other.parameters.length) {
+                return false;
+            }
+            for (int i = 0; i < parameters.length; i++) {
+                Object parameter = parameters[i];
+                if (isIdentity(parameter) ? parameter != other.parameters[i]
+                        : !Objects.equals(parameter, other.parameters[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
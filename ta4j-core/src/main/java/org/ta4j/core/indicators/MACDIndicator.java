@@ -26,6 +26,9 @@ package org.ta4j.core.indicators;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.num.Num;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Moving average convergence divergence (MACDIndicator) indicator. <br/>
  * Aka. MACD Absolute Price Oscillator (APO).
@@ -70,4 +73,22 @@ public class MACDIndicator extends CachedIndicator<Num> {
     protected Num calculate(int index) {
         return shortTermEma.getValue(index).minus(longTermEma.getValue(index));
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        shortTermEma.fill(values, beginIndex, endIndex);
+        final double[] longTermValues = longTermEma.getDoubleValues(beginIndex, endIndex);
+        for (int i = 0; i < longTermValues.length; i++) {
+            values[i] -= longTermValues[i];
+        }
+    }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Arrays.asList(shortTermEma, longTermEma);
+    }
 }
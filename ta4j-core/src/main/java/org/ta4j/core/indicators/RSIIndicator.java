@@ -28,6 +28,9 @@ import org.ta4j.core.indicators.helpers.GainIndicator;
 import org.ta4j.core.indicators.helpers.LossIndicator;
 import org.ta4j.core.num.Num;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Relative strength index indicator.
  *
@@ -51,13 +54,37 @@ public class RSIIndicator extends CachedIndicator<Num> {
         Num averageLoss = averageLossIndicator.getValue(index);
         if (averageLoss.isZero()) {
             if (averageGain.isZero()) {
-                return numOf(0);
+                return averageLoss.zero();
             } else {
-                return numOf(100);
+                return averageLoss.hundred();
             }
         }
         Num relativeStrength = averageGain.dividedBy(averageLoss);
         // compute relative strength index
-        return numOf(100).minus(numOf(100).dividedBy(numOf(1).plus(relativeStrength)));
+        Num hundred = relativeStrength.hundred();
+        return hundred.minus(hundred.dividedBy(relativeStrength.one().plus(relativeStrength)));
+    }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final double[] averageGains = averageGainIndicator.getDoubleValues(beginIndex, endIndex);
+        final double[] averageLosses = averageLossIndicator.getDoubleValues(beginIndex, endIndex);
+        for (int i = 0; i < averageGains.length; i++) {
+            final double averageLoss = averageLosses[i];
+            if (averageLoss == 0) {
+                values[i] = averageGains[i] == 0 ? 0 : 100;
+            } else {
+                values[i] = 100 - 100 / (1 + averageGains[i] / averageLoss);
+            }
+        }
+    }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Arrays.asList(averageGainIndicator, averageLossIndicator);
     }
 }
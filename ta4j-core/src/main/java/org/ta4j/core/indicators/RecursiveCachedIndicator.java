@@ -25,6 +25,7 @@ package org.ta4j.core.indicators;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
+import org.ta4j.core.num.Num;
 
 /**
  * Recursive cached {@link Indicator indicator}.
@@ -64,6 +65,44 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
 
     @Override
     public T getValue(int index) {
+        T result = getPublishedValue(index);
+        if (result != null) {
+            return result;
+        }
+        if (!isConcurrent()) {
+            calculatePreviousValues(index, false);
+            return super.getValue(index);
+        }
+        synchronized (this) {
+            calculatePreviousValues(index, false);
+            return super.getValue(index);
+        }
+    }
+
+    @Override
+    public double getDoubleValue(int index) {
+        T result = getPublishedValue(index);
+        if (result != null) {
+            return ((Num) result).doubleValue();
+        }
+        if (!isConcurrent()) {
+            calculatePreviousValues(index, true);
+            return super.getDoubleValue(index);
+        }
+        synchronized (this) {
+            calculatePreviousValues(index, true);
+            return super.getDoubleValue(index);
+        }
+    }
+
+    /**
+     * Calculates iteratively the values before an index if they are too far from
+     * the last cached one.
+     *
+     * @param index     the bar index
+     * @param primitive true to calculate the values as primitive doubles
+     */
+    private void calculatePreviousValues(int index, boolean primitive) {
         BarSeries series = getBarSeries();
         if (series != null) {
             final int seriesEndIndex = series.getEndIndex();
@@ -75,12 +114,14 @@ public abstract class RecursiveCachedIndicator<T> extends CachedIndicator<T> {
                     // Too many uncalculated values; the risk for a StackOverflowError becomes high.
                     // Calculating the previous values iteratively
                     for (int prevIdx = startIndex; prevIdx < index; prevIdx++) {
-                        super.getValue(prevIdx);
+                        if (primitive) {
+                            super.getDoubleValue(prevIdx);
+                        } else {
+                            super.getValue(prevIdx);
+                        }
                     }
                 }
             }
         }
-
-        return super.getValue(index);
     }
 }
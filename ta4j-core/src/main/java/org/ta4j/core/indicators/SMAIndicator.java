@@ -23,12 +23,25 @@
  */
 package org.ta4j.core.indicators;
 
+import org.ta4j.core.BarSeries;
 import org.ta4j.core.Indicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Simple moving average (SMA) indicator.
  *
+ * The sum of the values is updated from the previous index (adding the new
+ * value and subtracting the one leaving the window), so sequential calculations
+ * are O(1). For {@link DoubleNum} the sum is kept as a primitive double and
+ * recalculated every <code>barCount</code> updates to bound the rounding
+ * errors; for the other {@link Num} types it is kept with the precision of the
+ * series.
+ *
  * @see <a href=
  *      "https://www.investopedia.com/terms/s/sma.asp">https://www.investopedia.com/terms/s/sma.asp</a>
  */
@@ -39,21 +52,141 @@ public class SMAIndicator extends CachedIndicator<Num> {
 
     private final int barCount;
 
+    /**
+     * Index of the last window sum (-1 if none), only the bars before the end of
+     * the series are summed since the last bar may still change
+     */
+    private int sumIndex = -1;
+
+    /** Sum of the window ending at sumIndex (precise mode) */
+    private Num sum;
+
+    /** Sum of the window ending at sumIndex (fast mode for {@link DoubleNum}) */
+    private double doubleSum;
+
+    /** True if the sum is kept as a primitive double */
+    private final boolean fast;
+
+    /** Number of updates of the sum since it has been fully calculated */
+    private int updateCount;
+
     public SMAIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.fast = indicator.getBarSeries() != null && numOf(0) instanceof DoubleNum;
     }
 
     @Override
     protected Num calculate(int index) {
-        Num sum = numOf(0);
+        if (fast) {
+            double average = calculateDouble(index);
+            return Double.isNaN(average) ? NaN.NaN : DoubleNum.valueOf(average);
+        }
+        final int realBarCount = Math.min(barCount, index + 1);
+        final BarSeries series = getBarSeries();
+        final boolean stable = series != null && index < series.getEndIndex();
+        if (sumIndex >= 0 && index == sumIndex + 1 && !sum.isNaN() && isWindowKept(series, index)) {
+            Num newSum = sum.plus(indicator.getValue(index));
+            if (index >= barCount) {
+                newSum = newSum.minus(indicator.getValue(index - barCount));
+            }
+            if (!newSum.isNaN()) {
+                if (stable) {
+                    sumIndex = index;
+                    sum = newSum;
+                }
+                return newSum.dividedBy(numOf(realBarCount));
+            }
+        }
+
+        Num windowSum = numOf(0);
         for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
-            sum = sum.plus(indicator.getValue(i));
+            windowSum = windowSum.plus(indicator.getValue(i));
+        }
+        if (stable) {
+            sumIndex = index;
+            sum = windowSum;
         }
+        return windowSum.dividedBy(numOf(realBarCount));
+    }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (!fast) {
+            return calculate(index).doubleValue();
+        }
         final int realBarCount = Math.min(barCount, index + 1);
-        return sum.dividedBy(numOf(realBarCount));
+        final BarSeries series = getBarSeries();
+        final boolean stable = index < series.getEndIndex();
+        if (sumIndex >= 0 && index == sumIndex + 1 && updateCount < barCount && !Double.isNaN(doubleSum)
+                && isWindowKept(series, index)) {
+            double newSum = doubleSum + indicator.getDoubleValue(index)
+                    - (index >= barCount ? indicator.getDoubleValue(index - barCount) : 0);
+            if (!Double.isNaN(newSum)) {
+                if (stable) {
+                    sumIndex = index;
+                    doubleSum = newSum;
+                    updateCount++;
+                }
+                return newSum / realBarCount;
+            }
+        }
+
+        double windowSum = 0;
+        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+            windowSum += indicator.getDoubleValue(i);
+        }
+        if (stable) {
+            sumIndex = index;
+            doubleSum = windowSum;
+            updateCount = 0;
+        }
+        return windowSum / realBarCount;
+    }
+
+    /**
+     * Calculates the sums with a sliding window over the input values, fully
+     * recalculated every <code>barCount</code> updates as in
+     * {@link #calculateDouble(int)}.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!fast || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final int from = Math.max(0, beginIndex - barCount + 1);
+        final double[] input = indicator.getDoubleValues(from, endIndex);
+        double windowSum = 0;
+        int updates = barCount;
+        for (int i = from; i <= endIndex; i++) {
+            if (updates == barCount || Double.isNaN(windowSum)) {
+                windowSum = 0;
+                for (int j = Math.max(from, i - barCount + 1); j <= i; j++) {
+                    windowSum += input[j - from];
+                }
+                updates = 0;
+            } else {
+                windowSum += input[i - from] - (i - barCount >= from ? input[i - barCount - from] : 0);
+                updates++;
+            }
+            if (i >= beginIndex) {
+                values[i - beginIndex] = windowSum / Math.min(barCount, i + 1);
+            }
+        }
+    }
+
+    /**
+     * @param series the bar series
+     * @param index  the bar index
+     * @return true if none of the values of the windows ending at index - 1 and
+     *         index come from removed bars (which are replaced by the first
+     *         remaining one)
+     */
+    private boolean isWindowKept(BarSeries series, int index) {
+        final int removedBarsCount = series.getRemovedBarsCount();
+        return removedBarsCount == 0 || index - barCount > removedBarsCount;
     }
 
     @Override
@@ -61,4 +194,8 @@ public class SMAIndicator extends CachedIndicator<Num> {
         return getClass().getSimpleName() + " barCount: " + barCount;
     }
 
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Collections.singletonList(indicator);
+    }
 }
@@ -50,6 +50,15 @@ public class StochasticOscillatorDIndicator extends CachedIndicator<Num> {
         return indicator.getValue(index);
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable()) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        indicator.fill(values, beginIndex, endIndex);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " " + indicator;
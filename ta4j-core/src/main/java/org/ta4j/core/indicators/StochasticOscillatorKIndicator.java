@@ -46,6 +46,10 @@ public class StochasticOscillatorKIndicator extends CachedIndicator<Num> {
 
     private LowPriceIndicator lowPriceIndicator;
 
+    private final HighestValueIndicator highestHigh;
+
+    private final LowestValueIndicator lowestLow;
+
     public StochasticOscillatorKIndicator(BarSeries barSeries, int barCount) {
         this(new ClosePriceIndicator(barSeries), barCount, new HighPriceIndicator(barSeries),
                 new LowPriceIndicator(barSeries));
@@ -58,18 +62,37 @@ public class StochasticOscillatorKIndicator extends CachedIndicator<Num> {
         this.barCount = barCount;
         this.highPriceIndicator = highPriceIndicator;
         this.lowPriceIndicator = lowPriceIndicator;
+        this.highestHigh = new HighestValueIndicator(highPriceIndicator, barCount);
+        this.lowestLow = new LowestValueIndicator(lowPriceIndicator, barCount);
     }
 
     @Override
     protected Num calculate(int index) {
-        HighestValueIndicator highestHigh = new HighestValueIndicator(highPriceIndicator, barCount);
-        LowestValueIndicator lowestMin = new LowestValueIndicator(lowPriceIndicator, barCount);
-
         Num highestHighPrice = highestHigh.getValue(index);
-        Num lowestLowPrice = lowestMin.getValue(index);
+        Num lowestLowPrice = lowestLow.getValue(index);
 
-        return indicator.getValue(index).minus(lowestLowPrice).dividedBy(highestHighPrice.minus(lowestLowPrice))
-                .multipliedBy(numOf(100));
+        Num value = indicator.getValue(index);
+        return value.minus(lowestLowPrice).dividedBy(highestHighPrice.minus(lowestLowPrice))
+                .multipliedBy(value.hundred());
+    }
+
+    /**
+     * Calculates the highest high and lowest low of each window with the monotonic
+     * deques of {@link HighestValueIndicator} and {@link LowestValueIndicator}.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final double[] highestHighs = highestHigh.getDoubleValues(beginIndex, endIndex);
+        final double[] lowestLows = lowestLow.getDoubleValues(beginIndex, endIndex);
+        final double[] input = indicator.getDoubleValues(beginIndex, endIndex);
+        for (int i = 0; i < values.length; i++) {
+            final double range = highestHighs[i] - lowestLows[i];
+            values[i] = range == 0 ? Double.NaN : (input[i] - lowestLows[i]) / range * 100;
+        }
     }
 
     @Override
@@ -54,7 +54,8 @@ public class MinusDIIndicator extends CachedIndicator<Num> {
 
     @Override
     protected Num calculate(int index) {
-        return avgMinusDMIndicator.getValue(index).dividedBy(atrIndicator.getValue(index)).multipliedBy(numOf(100));
+        Num avgMinusDM = avgMinusDMIndicator.getValue(index);
+        return avgMinusDM.dividedBy(atrIndicator.getValue(index)).multipliedBy(avgMinusDM.hundred());
     }
 
     @Override
@@ -54,7 +54,8 @@ public class PlusDIIndicator extends CachedIndicator<Num> {
 
     @Override
     protected Num calculate(int index) {
-        return avgPlusDMIndicator.getValue(index).dividedBy(atrIndicator.getValue(index)).multipliedBy(numOf(100));
+        Num avgPlusDM = avgPlusDMIndicator.getValue(index);
+        return avgPlusDM.dividedBy(atrIndicator.getValue(index)).multipliedBy(avgPlusDM.hundred());
     }
 
     @Override
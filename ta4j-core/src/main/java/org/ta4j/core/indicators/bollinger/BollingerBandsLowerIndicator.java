@@ -73,6 +73,20 @@ public class BollingerBandsLowerIndicator extends CachedIndicator<Num> {
         return bbm.getValue(index).minus(indicator.getValue(index).multipliedBy(k));
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        bbm.fill(values, beginIndex, endIndex);
+        final double[] deviations = indicator.getDoubleValues(beginIndex, endIndex);
+        final double factor = k.doubleValue();
+        for (int i = 0; i < deviations.length; i++) {
+            values[i] -= deviations[i] * factor;
+        }
+    }
+
     /**
      * @return the K multiplier
      */
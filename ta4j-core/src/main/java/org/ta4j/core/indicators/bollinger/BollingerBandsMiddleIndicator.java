@@ -53,6 +53,15 @@ public class BollingerBandsMiddleIndicator extends CachedIndicator<Num> {
         return indicator.getValue(index);
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable()) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        indicator.fill(values, beginIndex, endIndex);
+    }
+
     public Indicator<Num> getIndicator() {
         return indicator;
     }
@@ -75,6 +75,20 @@ public class BollingerBandsUpperIndicator extends CachedIndicator<Num> {
         return bbm.getValue(index).plus(deviation.getValue(index).multipliedBy(k));
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        bbm.fill(values, beginIndex, endIndex);
+        final double[] deviations = deviation.getDoubleValues(beginIndex, endIndex);
+        final double factor = k.doubleValue();
+        for (int i = 0; i < deviations.length; i++) {
+            values[i] += deviations[i] * factor;
+        }
+    }
+
     /**
      * @return the K multiplier
      */
@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+/**
+ * Storage mode of the results of the
+ * {@link org.ta4j.core.indicators.CachedIndicator cached indicators}.
+ *
+ * @see org.ta4j.core.indicators.CachedIndicator#setDefaultCacheMode(CacheMode)
+ * @see org.ta4j.core.BarSeries#getCacheMode()
+ */
+public enum CacheMode {
+
+    /**
+     * Keeps references to the results in a circular array (default)
+     */
+    OBJECT {
+        @Override
+        public <T> ResultCache<T> createCache() {
+            return new ObjectResultCache<>();
+        }
+    },
+
+    /**
+     * Keeps {@link org.ta4j.core.num.DoubleNum DoubleNum} results as primitive
+     * values in a circular array. Indicators returning other types of results fall
+     * back to {@link #OBJECT}.
+     */
+    PRIMITIVE {
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> ResultCache<T> createCache() {
+            return (ResultCache<T>) new DoubleResultCache();
+        }
+    },
+
+    /**
+     * Keeps references to the results like {@link #OBJECT} and publishes them so
+     * that the cached results are read without lock when the indicators are shared
+     * by several threads (e.g. by a parallel {@link org.ta4j.core.BacktestExecutor
+     * BacktestExecutor}).
+     */
+    CONCURRENT {
+        @Override
+        public <T> ResultCache<T> createCache() {
+            return new ConcurrentResultCache<>();
+        }
+    };
+
+    /**
+     * @param <T> the type of the cached results
+     * @return a new empty cache
+     */
+    public abstract <T> ResultCache<T> createCache();
+}
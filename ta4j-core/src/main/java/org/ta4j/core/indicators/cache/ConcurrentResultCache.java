@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+/**
+ * {@link ResultCache Result cache} which can be read without lock by several
+ * threads.
+ *
+ * The positional methods of {@link ResultCache} must be called by one thread at
+ * a time (i.e. under the lock of the indicator). Besides the circular array,
+ * the results are published by bar index in a table of immutable entries, so
+ * that {@link #lookup(int)} can be called concurrently with the writes: it
+ * returns either the published result or null, never the result of another
+ * index.
+ *
+ * @param <T> the type of the cached results
+ */
+public class ConcurrentResultCache<T> extends ObjectResultCache<T> {
+
+    private static final long serialVersionUID = 2390126359432865215L;
+
+    /**
+     * Published results, the entry of an index is stored at
+     * <code>index & (table.length - 1)</code>
+     */
+    private transient volatile Entry<?>[] table;
+
+    /**
+     * Publishes a result for lock-free lookups.
+     *
+     * @param index the bar index of the result
+     * @param value the result
+     */
+    public void publish(int index, T value) {
+        Entry<?>[] currentTable = table;
+        if (currentTable == null || currentTable.length < size()) {
+            currentTable = grow(currentTable, size());
+        }
+        currentTable[index & (currentTable.length - 1)] = new Entry<>(index, value);
+    }
+
+    /**
+     * @param index the bar index
+     * @return the published result of the index, or null if it has not been
+     *         published (or has been replaced by the result of another index)
+     */
+    @SuppressWarnings("unchecked")
+    public T lookup(int index) {
+        Entry<?>[] currentTable = table;
+        if (currentTable == null) {
+            return null;
+        }
+        Entry<?> entry = currentTable[index & (currentTable.length - 1)];
+        if (entry == null || entry.index != index) {
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    /**
+     * Replaces the table by a bigger one holding the same entries.
+     *
+     * @param currentTable the current table (may be null)
+     * @param minimumSize  the minimum size of the new table
+     * @return the new table
+     */
+    private Entry<?>[] grow(Entry<?>[] currentTable, int minimumSize) {
+        int newLength = Integer.highestOneBit(Math.max(minimumSize, 16) - 1) << 1;
+        Entry<?>[] newTable = new Entry<?>[newLength];
+        if (currentTable != null) {
+            for (Entry<?> entry : currentTable) {
+                if (entry != null) {
+                    newTable[entry.index & (newLength - 1)] = entry;
+                }
+            }
+        }
+        table = newTable;
+        return newTable;
+    }
+
+    /**
+     * Immutable result of a bar index (the final fields make it safe to publish
+     * without synchronization).
+     */
+    private static final class Entry<T> {
+
+        private final int index;
+
+        private final T value;
+
+        private Entry(int index, T value) {
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+/**
+ * {@link ResultCache Result cache} for {@link DoubleNum} results.
+ *
+ * The results are not kept as objects but encoded into a primitive
+ * <code>long</code> array (raw bits of the <code>double</code> values), so the
+ * cache does not hold millions of small objects on the heap. {@link NaN} is
+ * encoded as the canonical <code>double</code> NaN, empty slots as a NaN with a
+ * distinct payload.
+ *
+ * Only {@link DoubleNum} (not wrapping a NaN) and {@link NaN} values are
+ * {@link #accepts(Object) accepted}.
+ */
+public class DoubleResultCache extends RingResultCache<Num> {
+
+    private static final long serialVersionUID = 2209283153738616208L;
+
+    /**
+     * Encoding of an empty slot
+     */
+    private static final long EMPTY = 0x7ff0000000000001L;
+
+    /**
+     * Encoding of {@link NaN#NaN}
+     */
+    private static final long NAN = Double.doubleToRawLongBits(Double.NaN);
+
+    private long[] values = new long[0];
+
+    @Override
+    public Num get(int position) {
+        long bits = values[slot(position)];
+        if (bits == EMPTY) {
+            return null;
+        }
+        if (bits == NAN) {
+            return NaN.NaN;
+        }
+        return DoubleNum.valueOf(Double.longBitsToDouble(bits));
+    }
+
+    /**
+     * @param position the position of the slot (0 for the oldest one)
+     * @return true if the slot holds a result, false if it is empty
+     */
+    public boolean isSet(int position) {
+        return values[slot(position)] != EMPTY;
+    }
+
+    /**
+     * Returns the cached result as a primitive <code>double</code> (without
+     * allocating a {@link Num}).
+     *
+     * @param position the position of a non-empty slot (0 for the oldest one)
+     * @return the cached result, <code>Double.NaN</code> for {@link NaN#NaN}
+     */
+    public double getDouble(int position) {
+        return Double.longBitsToDouble(values[slot(position)]);
+    }
+
+    @Override
+    public void set(int position, Num value) {
+        long bits;
+        if (value == null) {
+            bits = EMPTY;
+        } else if (value.isNaN()) {
+            bits = NAN;
+        } else {
+            bits = Double.doubleToRawLongBits(value.doubleValue());
+        }
+        values[slot(position)] = bits;
+    }
+
+    /**
+     * Stores a result given as a primitive <code>double</code> (without allocating
+     * a {@link Num}).
+     *
+     * @param position the position of the slot (0 for the oldest one)
+     * @param value    the result to be cached, <code>Double.NaN</code> for
+     *                 {@link NaN#NaN}
+     */
+    public void setDouble(int position, double value) {
+        values[slot(position)] = Double.isNaN(value) ? NAN : Double.doubleToRawLongBits(value);
+    }
+
+    @Override
+    public boolean accepts(Object value) {
+        if (value instanceof DoubleNum) {
+            return !Double.isNaN(((DoubleNum) value).doubleValue());
+        }
+        return value == null || value instanceof NaN;
+    }
+
+    @Override
+    protected int capacity() {
+        return values.length;
+    }
+
+    @Override
+    protected void resize(int newCapacity, int head, int size) {
+        long[] newValues = new long[newCapacity];
+        copyInOrder(values, head, size, newValues, values.length);
+        values = newValues;
+    }
+
+    @Override
+    protected void clear(int index) {
+        values[index] = EMPTY;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+/**
+ * {@link ResultCache Result cache} keeping references to the results.
+ *
+ * Works for any type of result.
+ *
+ * @param <T> the type of the cached results
+ */
+public class ObjectResultCache<T> extends RingResultCache<T> {
+
+    private static final long serialVersionUID = -4083516047395417268L;
+
+    private Object[] values = new Object[0];
+
+    /**
+     * Constructor of an empty cache.
+     */
+    public ObjectResultCache() {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param cache a cache whose slots are copied into this one
+     */
+    public ObjectResultCache(ResultCache<? extends T> cache) {
+        int size = cache.size();
+        append(size, Integer.MAX_VALUE);
+        for (int i = 0; i < size; i++) {
+            values[i] = cache.get(i);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int position) {
+        return (T) values[slot(position)];
+    }
+
+    @Override
+    public void set(int position, T value) {
+        values[slot(position)] = value;
+    }
+
+    @Override
+    protected int capacity() {
+        return values.length;
+    }
+
+    @Override
+    protected void resize(int newCapacity, int head, int size) {
+        Object[] newValues = new Object[newCapacity];
+        copyInOrder(values, head, size, newValues, values.length);
+        values = newValues;
+    }
+
+    @Override
+    protected void clear(int index) {
+        values[index] = null;
+    }
+}
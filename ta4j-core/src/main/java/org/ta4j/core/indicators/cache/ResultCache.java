@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+import java.io.Serializable;
+
+/**
+ * Storage for the results of a {@link org.ta4j.core.indicators.CachedIndicator
+ * cached indicator}.
+ *
+ * The cache holds a contiguous window of results addressed by position: 0 is
+ * the oldest result, {@link #size()} - 1 the newest one. Empty slots (i.e.
+ * results not calculated yet) are returned as <code>null</code>.
+ *
+ * @param <T> the type of the cached results
+ */
+public interface ResultCache<T> extends Serializable {
+
+    /**
+     * @return the number of slots in the cache
+     */
+    int size();
+
+    /**
+     * @param position the position of the slot (0 for the oldest one)
+     * @return the cached result, or null if the slot is empty
+     */
+    T get(int position);
+
+    /**
+     * @param position the position of the slot (0 for the oldest one)
+     * @param value    the result to be cached
+     */
+    void set(int position, T value);
+
+    /**
+     * Appends empty slots at the end of the cache. The oldest slots are dropped so
+     * that the cache never holds more than <code>maximumSize</code> slots.
+     *
+     * @param count       the number of empty slots to append
+     * @param maximumSize the maximum number of slots to keep
+     */
+    void append(int count, int maximumSize);
+
+    /**
+     * Checks if a value can be stored in this cache.
+     *
+     * @param value the value to be cached
+     * @return true if the value can be stored, false otherwise
+     */
+    default boolean accepts(Object value) {
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+/**
+ * Base class of the {@link ResultCache result caches} backed by a circular
+ * array.
+ *
+ * Dropping the oldest results only moves the head of the buffer, so evicting
+ * results once the maximum size is reached is O(1). The array grows (doubling
+ * its capacity) until it reaches the maximum size.
+ */
+abstract class RingResultCache<T> implements ResultCache<T> {
+
+    private static final long serialVersionUID = 5312646741379296415L;
+
+    /**
+     * Array index of the oldest slot
+     */
+    private int head;
+
+    /**
+     * Number of slots in the cache
+     */
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void append(int count, int maximumSize) {
+        if (count >= maximumSize) {
+            // All previous slots are dropped
+            head = 0;
+            size = 0;
+            count = maximumSize;
+        } else if (size + count > maximumSize) {
+            drop(size + count - maximumSize);
+        }
+        int newSize = size + count;
+        int capacity = capacity();
+        if (newSize > capacity) {
+            int newCapacity = (int) Math.max(newSize, Math.min(2L * capacity, maximumSize));
+            resize(newCapacity, head, size);
+            head = 0;
+        }
+        for (int i = size; i < newSize; i++) {
+            clear(arrayIndex(i));
+        }
+        size = newSize;
+    }
+
+    /**
+     * @param position the position of a slot (0 for the oldest one)
+     * @return the array index of the slot
+     */
+    protected int slot(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException(String.format("Position: %s, size: %s", position, size));
+        }
+        return arrayIndex(position);
+    }
+
+    /**
+     * @param position a position (not checked against the size of the cache)
+     * @return the array index for the position
+     */
+    private int arrayIndex(int position) {
+        int index = head + position;
+        int capacity = capacity();
+        return index < capacity ? index : index - capacity;
+    }
+
+    /**
+     * Drops the oldest slots.
+     *
+     * @param count the number of slots to drop
+     */
+    private void drop(int count) {
+        if (count >= size) {
+            head = 0;
+            size = 0;
+        } else {
+            head = slot(count);
+            size -= count;
+        }
+    }
+
+    /**
+     * @return the length of the backing array
+     */
+    protected abstract int capacity();
+
+    /**
+     * Replaces the backing array by a bigger one. The slots have to be copied in
+     * order, starting at index 0 of the new array.
+     *
+     * @param newCapacity the length of the new array
+     * @param head        the array index of the oldest slot
+     * @param size        the number of slots to copy
+     */
+    protected abstract void resize(int newCapacity, int head, int size);
+
+    /**
+     * Marks a slot as empty.
+     *
+     * @param index the array index of the slot
+     */
+    protected abstract void clear(int index);
+
+    /**
+     * Copies the slots of a circular array into the beginning of another array.
+     *
+     * @param src      the circular array
+     * @param head     the index of the oldest slot in the circular array
+     * @param size     the number of slots to copy
+     * @param dest     the destination array
+     * @param capacity the length of the circular array
+     */
+    static void copyInOrder(Object src, int head, int size, Object dest, int capacity) {
+        int firstPart = Math.min(size, capacity - head);
+        System.arraycopy(src, head, dest, 0, firstPart);
+        System.arraycopy(src, 0, dest, firstPart, size - firstPart);
+    }
+}
@@ -26,6 +26,7 @@ package org.ta4j.core.indicators.helpers;
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
 /**
@@ -51,6 +52,17 @@ public class CloseLocationValueIndicator extends CachedIndicator<Num> {
 
         final Num diffHighLow = high.minus(low);
 
-        return (diffHighLow.isNaN() || diffHighLow.isZero()) ? zero : ((close.minus(low)).minus(high.minus(close))).dividedBy(diffHighLow);
+        return (diffHighLow.isNaN() || diffHighLow.isZero()) ? zero
+                : ((close.minus(low)).minus(high.minus(close))).dividedBy(diffHighLow);
+    }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final PriceColumns prices = new PriceColumns(getBarSeries(), beginIndex, endIndex);
+        ArrayKernels.getDefault().closeLocationValue(prices.highs, prices.lows, prices.closes, values, values.length);
     }
 }
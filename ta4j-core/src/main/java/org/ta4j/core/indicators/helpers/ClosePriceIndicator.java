@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.PrimitiveBarSeries;
 
 /**
  * Close price indicator.
@@ -34,4 +35,13 @@ public class ClosePriceIndicator extends PriceIndicator {
     public ClosePriceIndicator(BarSeries series) {
         super(series, Bar::getClosePrice);
     }
+
+    @Override
+    protected double calculateDouble(int index) {
+        final BarSeries series = getBarSeries();
+        if (series instanceof PrimitiveBarSeries) {
+            return ((PrimitiveBarSeries) series).getClosePrice(index);
+        }
+        return super.calculateDouble(index);
+    }
 }
@@ -25,8 +25,12 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Difference indicator.
  *
@@ -54,4 +58,20 @@ public class DifferenceIndicator extends CachedIndicator<Num> {
     protected Num calculate(int index) {
         return first.getValue(index).minus(second.getValue(index));
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        first.fill(values, beginIndex, endIndex);
+        final double[] secondValues = second.getDoubleValues(beginIndex, endIndex);
+        ArrayKernels.getDefault().subtract(values, secondValues, values, secondValues.length);
+    }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Arrays.asList(first, second);
+    }
 }
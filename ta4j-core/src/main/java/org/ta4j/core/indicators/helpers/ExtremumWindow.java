@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.num.NaN;
+import org.ta4j.core.num.Num;
+
+import java.io.Serializable;
+
+/**
+ * Sliding window maximum (or minimum) of the {@link HighestValueIndicator} and
+ * {@link LowestValueIndicator}.
+ *
+ * Keeps a monotonic deque of the candidate values of the window (each value is
+ * better than the ones after it), so that sequential calculations are amortized
+ * O(1). NaN values are skipped; the result is NaN if the window only contains
+ * NaN values. Among equal values the most recent one is returned.
+ */
+final class ExtremumWindow implements Serializable {
+
+    private static final long serialVersionUID = -1857196683451935817L;
+
+    /** The window size */
+    private final int barCount;
+
+    /** True for the maximum, false for the minimum */
+    private final boolean highest;
+
+    /** Bar indexes of the candidates (circular array) */
+    private final int[] indexes;
+
+    /** Values of the candidates (circular array) */
+    private final Num[] values;
+
+    /** Position of the first (i.e. best) candidate */
+    private int head;
+
+    /** Number of candidates */
+    private int size;
+
+    /**
+     * The index the deque is ready for: the candidates are the ones of the window
+     * ending at nextIndex - 1 (the bars before the end of the series only, since
+     * the last bar may still change)
+     */
+    private int nextIndex;
+
+    /**
+     * Constructor.
+     *
+     * @param barCount the window size
+     * @param highest  true for the maximum, false for the minimum
+     */
+    ExtremumWindow(int barCount, boolean highest) {
+        this.barCount = barCount;
+        this.highest = highest;
+        this.indexes = new int[Math.max(barCount, 1)];
+        this.values = new Num[Math.max(barCount, 1)];
+    }
+
+    /**
+     * @param indicator the indicator
+     * @param index     the bar index
+     * @return the best value of the indicator in the window ending at index
+     */
+    Num calculate(Indicator<Num> indicator, int index) {
+        final BarSeries series = indicator.getBarSeries();
+        final int removedBarsCount = series != null ? series.getRemovedBarsCount() : 0;
+        if (index != nextIndex || (removedBarsCount > 0 && index - barCount <= removedBarsCount)) {
+            // Not sequential, or the window contains removed bars (replaced by the first
+            // remaining one): filling the deque with the window ending at index - 1
+            head = 0;
+            size = 0;
+            for (int i = Math.max(0, index - barCount + 1); i < index; i++) {
+                add(i, indicator.getValue(i));
+            }
+            nextIndex = index;
+        }
+        final Num value = indicator.getValue(index);
+        if (series != null && index < series.getEndIndex()) {
+            add(index, value);
+            nextIndex = index + 1;
+            return size > 0 ? values[head] : NaN.NaN;
+        }
+        // Last bar: the deque is kept for this index
+        int position = head;
+        int remaining = size;
+        if (remaining > 0 && indexes[position] <= index - barCount) {
+            position = (position + 1) % values.length;
+            remaining--;
+        }
+        if (value.isNaN()) {
+            return remaining > 0 ? values[position] : NaN.NaN;
+        }
+        return remaining > 0 && isBetter(values[position], value) ? values[position] : value;
+    }
+
+    /**
+     * Fills the best value of each window from primitive values, with a monotonic
+     * deque as {@link #calculate(Indicator, int)} (NaN values skipped).
+     *
+     * @param inputs     the input values, from index <code>from</code>
+     * @param from       the index of the first input value (at most beginIndex -
+     *                   barCount + 1, or 0)
+     * @param barCount   the window size (at least 1)
+     * @param highest    true for the maximum, false for the minimum
+     * @param values     the array to fill with the values from beginIndex
+     * @param beginIndex the first bar index
+     * @param endIndex   the last bar index
+     */
+    static void fill(double[] inputs, int from, int barCount, boolean highest, double[] values, int beginIndex,
+            int endIndex) {
+        // Positions of the candidates in the inputs, each input is added once
+        final int[] candidates = new int[endIndex - from + 1];
+        int head = 0;
+        int tail = 0;
+        for (int i = from; i <= endIndex; i++) {
+            final int position = i - from;
+            while (head < tail && candidates[head] <= position - barCount) {
+                head++;
+            }
+            final double value = inputs[position];
+            if (!Double.isNaN(value)) {
+                while (head < tail
+                        && !(highest ? inputs[candidates[tail - 1]] > value : inputs[candidates[tail - 1]] < value)) {
+                    tail--;
+                }
+                candidates[tail++] = position;
+            }
+            if (i >= beginIndex) {
+                values[i - beginIndex] = head < tail ? inputs[candidates[head]] : Double.NaN;
+            }
+        }
+    }
+
+    /**
+     * Adds the value of a bar index to the window, dropping the candidates which
+     * left the window or are not better than the value.
+     *
+     * @param index the bar index
+     * @param value the value
+     */
+    private void add(int index, Num value) {
+        while (size > 0 && indexes[head] <= index - barCount) {
+            head = (head + 1) % values.length;
+            size--;
+        }
+        if (value.isNaN()) {
+            return;
+        }
+        while (size > 0 && !isBetter(values[(head + size - 1) % values.length], value)) {
+            values[(head + size - 1) % values.length] = null;
+            size--;
+        }
+        int tail = (head + size) % values.length;
+        indexes[tail] = index;
+        values[tail] = value;
+        size++;
+    }
+
+    /**
+     * @param value the value
+     * @param other another value (not NaN)
+     * @return true if value is strictly better than other
+     */
+    private boolean isBetter(Num value, Num other) {
+        return highest ? value.isGreaterThan(other) : value.isLessThan(other);
+    }
+}
@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.PrimitiveBarSeries;
 
 /**
  * High price indicator.
@@ -34,4 +35,13 @@ public class HighPriceIndicator extends PriceIndicator {
     public HighPriceIndicator(BarSeries series) {
         super(series, Bar::getHighPrice);
     }
+
+    @Override
+    protected double calculateDouble(int index) {
+        final BarSeries series = getBarSeries();
+        if (series instanceof PrimitiveBarSeries) {
+            return ((PrimitiveBarSeries) series).getHighPrice(index);
+        }
+        return super.calculateDouble(index);
+    }
 }
@@ -29,6 +29,10 @@ import org.ta4j.core.num.Num;
 
 /**
  * Highest value indicator.
+ *
+ * The highest value of the last <code>barCount</code> values (NaN values are
+ * skipped), calculated with a sliding window: sequential calculations are
+ * amortized O(1).
  */
 public class HighestValueIndicator extends CachedIndicator<Num> {
 
@@ -36,25 +40,33 @@ public class HighestValueIndicator extends CachedIndicator<Num> {
 
     private final int barCount;
 
+    private final ExtremumWindow window;
+
     public HighestValueIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.window = new ExtremumWindow(barCount, true);
     }
 
     @Override
     protected Num calculate(int index) {
-        if (indicator.getValue(index).isNaN() && barCount != 1) {
-            return new HighestValueIndicator(indicator, barCount - 1).getValue(index - 1);
-        }
-        int end = Math.max(0, index - barCount + 1);
-        Num highest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (highest.isLessThan(indicator.getValue(i))) {
-                highest = indicator.getValue(i);
-            }
+        return window.calculate(indicator, index);
+    }
+
+    /**
+     * Calculates the highest value of each window with a monotonic deque over the
+     * input values.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (barCount < 1 || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
         }
-        return highest;
+        final int from = Math.max(0, beginIndex - barCount + 1);
+        ExtremumWindow.fill(indicator.getDoubleValues(from, endIndex), from, barCount, true, values, beginIndex,
+                endIndex);
     }
 
     @Override
@@ -27,6 +27,9 @@ import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Gain indicator.
  */
@@ -51,4 +54,28 @@ public class LossIndicator extends CachedIndicator<Num> {
             return numOf(0);
         }
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final int from = Math.max(0, beginIndex - 1);
+        final double[] input = indicator.getDoubleValues(from, endIndex);
+        for (int i = beginIndex; i <= endIndex; i++) {
+            if (i == 0) {
+                values[0] = 0;
+            } else {
+                final double value = input[i - from];
+                final double previousValue = input[i - 1 - from];
+                values[i - beginIndex] = value < previousValue ? previousValue - value : 0;
+            }
+        }
+    }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Collections.singletonList(indicator);
+    }
 }
@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.PrimitiveBarSeries;
 
 /**
  * Low price indicator.
@@ -35,4 +36,13 @@ public class LowPriceIndicator extends PriceIndicator {
         super(series, Bar::getLowPrice);
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        final BarSeries series = getBarSeries();
+        if (series instanceof PrimitiveBarSeries) {
+            return ((PrimitiveBarSeries) series).getLowPrice(index);
+        }
+        return super.calculateDouble(index);
+    }
+
 }
@@ -29,6 +29,10 @@ import org.ta4j.core.num.Num;
 
 /**
  * Lowest value indicator.
+ *
+ * The lowest value of the last <code>barCount</code> values (NaN values are
+ * skipped), calculated with a sliding window: sequential calculations are
+ * amortized O(1).
  */
 public class LowestValueIndicator extends CachedIndicator<Num> {
 
@@ -36,25 +40,33 @@ public class LowestValueIndicator extends CachedIndicator<Num> {
 
     private final int barCount;
 
+    private final ExtremumWindow window;
+
     public LowestValueIndicator(Indicator<Num> indicator, int barCount) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
+        this.window = new ExtremumWindow(barCount, false);
     }
 
     @Override
     protected Num calculate(int index) {
-        if (indicator.getValue(index).isNaN() && barCount != 1) {
-            return new LowestValueIndicator(indicator, barCount - 1).getValue(index - 1);
-        }
-        int end = Math.max(0, index - barCount + 1);
-        Num lowest = indicator.getValue(index);
-        for (int i = index - 1; i >= end; i--) {
-            if (lowest.isGreaterThan(indicator.getValue(i))) {
-                lowest = indicator.getValue(i);
-            }
+        return window.calculate(indicator, index);
+    }
+
+    /**
+     * Calculates the lowest value of each window with a monotonic deque over the
+     * input values.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (barCount < 1 || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
         }
-        return lowest;
+        final int from = Math.max(0, beginIndex - barCount + 1);
+        ExtremumWindow.fill(indicator.getDoubleValues(from, endIndex), from, barCount, false, values, beginIndex,
+                endIndex);
     }
 
     @Override
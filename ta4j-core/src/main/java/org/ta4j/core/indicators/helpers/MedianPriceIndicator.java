@@ -26,6 +26,7 @@ package org.ta4j.core.indicators.helpers;
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
 /**
@@ -42,4 +43,14 @@ public class MedianPriceIndicator extends CachedIndicator<Num> {
         final Bar bar = getBarSeries().getBar(index);
         return bar.getHighPrice().plus(bar.getLowPrice()).dividedBy(numOf(2));
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final PriceColumns prices = new PriceColumns(getBarSeries(), beginIndex, endIndex);
+        ArrayKernels.getDefault().medianPrice(prices.highs, prices.lows, values, values.length);
+    }
 }
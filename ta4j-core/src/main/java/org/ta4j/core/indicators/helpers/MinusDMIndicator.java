@@ -47,7 +47,7 @@ public class MinusDMIndicator extends CachedIndicator<Num> {
 
         final Num upMove = currentBar.getHighPrice().minus(prevBar.getHighPrice());
         final Num downMove = prevBar.getLowPrice().minus(currentBar.getLowPrice());
-        if (downMove.isGreaterThan(upMove) && downMove.isGreaterThan(numOf(0))) {
+        if (downMove.isGreaterThan(upMove) && downMove.isPositive()) {
             return downMove;
         } else {
             return numOf(0);
@@ -25,8 +25,12 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Simple multiplier indicator.
  */
@@ -46,8 +50,23 @@ public class MultiplierIndicator extends CachedIndicator<Num> {
         return indicator.getValue(index).multipliedBy(coefficient);
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        indicator.fill(values, beginIndex, endIndex);
+        ArrayKernels.getDefault().multiply(values, coefficient.doubleValue(), values, endIndex - beginIndex + 1);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " Coefficient: " + coefficient;
     }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Collections.singletonList(indicator);
+    }
 }
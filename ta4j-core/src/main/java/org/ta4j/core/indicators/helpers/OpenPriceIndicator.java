@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.PrimitiveBarSeries;
 
 /**
  * Open price indicator.
@@ -34,4 +35,13 @@ public class OpenPriceIndicator extends PriceIndicator {
     public OpenPriceIndicator(BarSeries series) {
         super(series, Bar::getOpenPrice);
     }
+
+    @Override
+    protected double calculateDouble(int index) {
+        final BarSeries series = getBarSeries();
+        if (series instanceof PrimitiveBarSeries) {
+            return ((PrimitiveBarSeries) series).getOpenPrice(index);
+        }
+        return super.calculateDouble(index);
+    }
 }
\ No newline at end of file
@@ -47,7 +47,7 @@ public class PlusDMIndicator extends CachedIndicator<Num> {
 
         final Num upMove = currentBar.getHighPrice().minus(prevBar.getHighPrice());
         final Num downMove = prevBar.getLowPrice().minus(currentBar.getLowPrice());
-        if (upMove.isGreaterThan(downMove) && upMove.isGreaterThan(numOf(0))) {
+        if (upMove.isGreaterThan(downMove) && upMove.isPositive()) {
             return upMove;
         } else {
             return numOf(0);
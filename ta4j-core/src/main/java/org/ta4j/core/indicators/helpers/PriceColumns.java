@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.helpers;
+
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.PrimitiveBarSeries;
+
+/**
+ * High, low and close prices of a range of bars as primitive
+ * <code>double</code>s, read once from the columns of a
+ * {@link PrimitiveBarSeries} or from the bars, for the <code>fill</code>
+ * methods of the indicators calculated from the prices of the bars.
+ */
+final class PriceColumns {
+
+    /** High prices, from the begin index */
+    final double[] highs;
+
+    /** Low prices, from the begin index */
+    final double[] lows;
+
+    /** Close prices, from the begin index */
+    final double[] closes;
+
+    /**
+     * Constructor.
+     *
+     * @param series     the bar series
+     * @param beginIndex the first bar index
+     * @param endIndex   the last bar index
+     */
+    PriceColumns(BarSeries series, int beginIndex, int endIndex) {
+        final int length = endIndex - beginIndex + 1;
+        highs = new double[length];
+        lows = new double[length];
+        closes = new double[length];
+        if (series instanceof PrimitiveBarSeries) {
+            final PrimitiveBarSeries columns = (PrimitiveBarSeries) series;
+            for (int i = 0; i < length; i++) {
+                highs[i] = columns.getHighPrice(beginIndex + i);
+                lows[i] = columns.getLowPrice(beginIndex + i);
+                closes[i] = columns.getClosePrice(beginIndex + i);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                final Bar bar = series.getBar(beginIndex + i);
+                highs[i] = bar.getHighPrice().doubleValue();
+                lows[i] = bar.getLowPrice().doubleValue();
+                closes[i] = bar.getClosePrice().doubleValue();
+            }
+        }
+    }
+}
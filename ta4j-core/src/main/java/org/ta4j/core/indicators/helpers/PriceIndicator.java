@@ -25,9 +25,12 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.num.Num;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -47,4 +50,21 @@ public abstract class PriceIndicator extends CachedIndicator<Num> {
         final Bar bar = getBarSeries().getBar(index);
         return priceFunction.apply(bar);
     }
+
+    /**
+     * Reads the prices directly from the bars (or the columns of a
+     * {@link org.ta4j.core.PrimitiveBarSeries PrimitiveBarSeries}), without any
+     * cache lookup.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        for (int i = beginIndex; i <= endIndex; i++) {
+            values[i - beginIndex] = calculateDouble(i);
+        }
+    }
+
+    @Override
+    public List<Indicator<?>> getInputs() {
+        return Collections.emptyList();
+    }
 }
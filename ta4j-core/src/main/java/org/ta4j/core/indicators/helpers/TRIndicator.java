@@ -25,8 +25,11 @@ package org.ta4j.core.indicators.helpers;
 
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
+import java.util.Arrays;
+
 /**
  * True range indicator.
  */
@@ -45,4 +48,25 @@ public class TRIndicator extends CachedIndicator<Num> {
                 : getBarSeries().getBar(index - 1).getClosePrice().minus(getBarSeries().getBar(index).getLowPrice());
         return ts.abs().max(ys.abs()).max(yst.abs());
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final int from = Math.max(0, beginIndex - 1);
+        final PriceColumns prices = new PriceColumns(getBarSeries(), from, endIndex);
+        final int shift = beginIndex - from;
+        final int length = endIndex - beginIndex + 1;
+        final double[] highs = Arrays.copyOfRange(prices.highs, shift, shift + length);
+        final double[] lows = Arrays.copyOfRange(prices.lows, shift, shift + length);
+        final double[] previousCloses = new double[length];
+        System.arraycopy(prices.closes, 0, previousCloses, 1 - shift, length - 1 + shift);
+        if (shift == 0) {
+            // No previous close for the first bar: using its high gives high - low
+            previousCloses[0] = highs[0];
+        }
+        ArrayKernels.getDefault().trueRange(highs, lows, previousCloses, values, highs.length);
+    }
 }
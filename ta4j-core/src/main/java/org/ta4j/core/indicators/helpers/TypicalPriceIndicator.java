@@ -26,6 +26,7 @@ package org.ta4j.core.indicators.helpers;
 import org.ta4j.core.Bar;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
 /**
@@ -45,4 +46,14 @@ public class TypicalPriceIndicator extends CachedIndicator<Num> {
         final Num closePrice = bar.getClosePrice();
         return highPrice.plus(lowPrice).plus(closePrice).dividedBy(numOf(3));
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final PriceColumns prices = new PriceColumns(getBarSeries(), beginIndex, endIndex);
+        ArrayKernels.getDefault().typicalPrice(prices.highs, prices.lows, prices.closes, values, values.length);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.kernels;
+
+/**
+ * Element-wise and reduction kernels over arrays of primitive
+ * <code>double</code>s, used by the indicators to
+ * {@link org.ta4j.core.Indicator#fill(double[], int, int) fill} their values.
+ *
+ * The element-wise kernels write <code>result[i]</code> for each <code>i</code>
+ * from 0 to <code>length - 1</code> (the result may be one of the input
+ * arrays). The reductions work on the elements from <code>from</code>
+ * (included) to <code>to</code> (excluded), and may add them in any order.
+ *
+ * The {@link #getDefault() default kernels} are the fastest ones supported at
+ * runtime: the implementations registered as a {@link java.util.ServiceLoader
+ * service} (e.g. by the <tt>ta4j-vector</tt> module, based on the Java Vector
+ * API) are used if they are {@link #isSupported() supported}, the
+ * {@link ScalarArrayKernels scalar kernels} otherwise.
+ */
+public interface ArrayKernels {
+
+    /**
+     * System property naming the kernels to use (see {@link #getName()}), e.g.
+     * <tt>-Dta4j.arrayKernels=scalar</tt> to disable the registered implementations
+     */
+    String KERNELS_PROPERTY = "ta4j.arrayKernels";
+
+    /**
+     * @return the fastest kernels supported at runtime
+     */
+    static ArrayKernels getDefault() {
+        return ArrayKernelsLoader.DEFAULT_KERNELS;
+    }
+
+    /**
+     * @return the name of the kernels
+     */
+    String getName();
+
+    /**
+     * @return true if the kernels can run on the current JVM
+     */
+    default boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * result[i] = first[i] - second[i]
+     */
+    void subtract(double[] first, double[] second, double[] result, int length);
+
+    /**
+     * result[i] = values[i] * factor
+     */
+    void multiply(double[] values, double factor, double[] result, int length);
+
+    /**
+     * result[i] = (high[i] + low[i] + close[i]) / 3
+     */
+    void typicalPrice(double[] high, double[] low, double[] close, double[] result, int length);
+
+    /**
+     * result[i] = (high[i] + low[i]) / 2
+     */
+    void medianPrice(double[] high, double[] low, double[] result, int length);
+
+    /**
+     * result[i] = max(|high[i] - low[i]|, |high[i] - previousClose[i]|,
+     * |previousClose[i] - low[i]|)
+     */
+    void trueRange(double[] high, double[] low, double[] previousClose, double[] result, int length);
+
+    /**
+     * result[i] = ((close[i] - low[i]) - (high[i] - close[i])) / (high[i] -
+     * low[i]), or 0 if high[i] - low[i] is zero or NaN
+     */
+    void closeLocationValue(double[] high, double[] low, double[] close, double[] result, int length);
+
+    /**
+     * @return the sum of values[from] to values[to - 1]
+     */
+    double sum(double[] values, int from, int to);
+
+    /**
+     * @return the sum of (values[i] - mean)<sup>2</sup> for i from <tt>from</tt> to
+     *         <tt>to - 1</tt>
+     */
+    double sumOfSquaredDeviations(double[] values, int from, int to, double mean);
+
+    /**
+     * @return the sum of |values[i] - mean| for i from <tt>from</tt> to <tt>to -
+     *         1</tt>
+     */
+    double sumOfAbsoluteDeviations(double[] values, int from, int to, double mean);
+
+    /**
+     * @return the sum of (first[i] - firstMean) * (second[i] - secondMean) for i
+     *         from <tt>from</tt> to <tt>to - 1</tt>
+     */
+    double sumOfCrossDeviations(double[] first, double[] second, int from, int to, double firstMean, double secondMean);
+}
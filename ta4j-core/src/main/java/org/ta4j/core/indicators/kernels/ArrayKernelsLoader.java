@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.kernels;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Selects the {@link ArrayKernels#getDefault() default kernels} once, when they
+ * are first used.
+ */
+final class ArrayKernelsLoader {
+
+    /** The logger */
+    private static final Logger log = LoggerFactory.getLogger(ArrayKernelsLoader.class);
+
+    static final ArrayKernels DEFAULT_KERNELS = load();
+
+    private ArrayKernelsLoader() {
+    }
+
+    private static ArrayKernels load() {
+        final ArrayKernels scalarKernels = new ScalarArrayKernels();
+        final String name = System.getProperty(ArrayKernels.KERNELS_PROPERTY);
+        if (scalarKernels.getName().equals(name)) {
+            return scalarKernels;
+        }
+        final Iterator<ArrayKernels> iterator = ServiceLoader.load(ArrayKernels.class).iterator();
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                final ArrayKernels kernels = iterator.next();
+                if ((name == null || kernels.getName().equals(name)) && kernels.isSupported()) {
+                    log.debug("Using {} array kernels", kernels.getName());
+                    return kernels;
+                }
+            } catch (ServiceConfigurationError | LinkageError e) {
+                log.debug("Array kernels not available", e);
+            }
+        }
+        return scalarKernels;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.kernels;
+
+/**
+ * {@link ArrayKernels} written as plain loops (which the JIT compiler may
+ * auto-vectorize), available on every JVM.
+ */
+public class ScalarArrayKernels implements ArrayKernels {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void subtract(double[] first, double[] second, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = first[i] - second[i];
+        }
+    }
+
+    @Override
+    public void multiply(double[] values, double factor, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = values[i] * factor;
+        }
+    }
+
+    @Override
+    public void typicalPrice(double[] high, double[] low, double[] close, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = (high[i] + low[i] + close[i]) / 3;
+        }
+    }
+
+    @Override
+    public void medianPrice(double[] high, double[] low, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = (high[i] + low[i]) / 2;
+        }
+    }
+
+    @Override
+    public void trueRange(double[] high, double[] low, double[] previousClose, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = Math.max(Math.abs(high[i] - low[i]),
+                    Math.max(Math.abs(high[i] - previousClose[i]), Math.abs(previousClose[i] - low[i])));
+        }
+    }
+
+    @Override
+    public void closeLocationValue(double[] high, double[] low, double[] close, double[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            final double range = high[i] - low[i];
+            result[i] = range == 0 || Double.isNaN(range) ? 0 : ((close[i] - low[i]) - (high[i] - close[i])) / range;
+        }
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(double[] values, int from, int to, double mean) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            final double deviation = values[i] - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfAbsoluteDeviations(double[] values, int from, int to, double mean) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += Math.abs(values[i] - mean);
+        }
+        return sum;
+    }
+
+    @Override
+    public double sumOfCrossDeviations(double[] first, double[] second, int from, int to, double firstMean,
+            double secondMean) {
+        double sum = 0;
+        for (int i = from; i < to; i++) {
+            sum += (first[i] - firstMean) * (second[i] - secondMean);
+        }
+        return sum;
+    }
+}
@@ -26,10 +26,15 @@ package org.ta4j.core.indicators.statistics;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 
 /**
  * Covariance indicator.
+ *
+ * For {@link DoubleNum} the covariance is updated from the previous index in
+ * O(1) (see {@link VarianceIndicator}).
  */
 public class CovarianceIndicator extends CachedIndicator<Num> {
 
@@ -39,24 +44,49 @@ public class CovarianceIndicator extends CachedIndicator<Num> {
     private final SMAIndicator sma1;
     private final SMAIndicator sma2;
 
+    /** The rolling moments of the values (fast mode for {@link DoubleNum}) */
+    private final RollingMoments moments;
+
     /**
-     * Constructor.
+     * Constructor, fully recalculating the covariance every <code>barCount</code>
+     * updates.
      *
      * @param indicator1 the first indicator
      * @param indicator2 the second indicator
      * @param barCount   the time frame
      */
     public CovarianceIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount) {
+        this(indicator1, indicator2, barCount, barCount);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator1   the first indicator
+     * @param indicator2   the second indicator
+     * @param barCount     the time frame
+     * @param resyncPeriod the number of O(1) updates between two full
+     *                     recalculations of the covariance of a {@link DoubleNum}
+     *                     series, 0 for never
+     */
+    public CovarianceIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount, int resyncPeriod) {
         super(indicator1);
         this.indicator1 = indicator1;
         this.indicator2 = indicator2;
         this.barCount = barCount;
-        sma1 = new SMAIndicator(indicator1, barCount);
-        sma2 = new SMAIndicator(indicator2, barCount);
+        moments = barCount > 0 && indicator1.getBarSeries() != null && numOf(0) instanceof DoubleNum
+                ? new RollingMoments(indicator1, indicator2, indicator1.getBarSeries(), barCount, resyncPeriod)
+                : null;
+        sma1 = moments == null ? new SMAIndicator(indicator1, barCount) : null;
+        sma2 = moments == null ? new SMAIndicator(indicator2, barCount) : null;
     }
 
     @Override
     protected Num calculate(int index) {
+        if (moments != null) {
+            double covariance = calculateDouble(index);
+            return Double.isNaN(covariance) ? NaN.NaN : DoubleNum.valueOf(covariance);
+        }
         final int startIndex = Math.max(0, index - barCount + 1);
         final int numberOfObservations = index - startIndex + 1;
         Num covariance = numOf(0);
@@ -70,6 +100,30 @@ public class CovarianceIndicator extends CachedIndicator<Num> {
         return covariance;
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (moments == null) {
+            return calculate(index).doubleValue();
+        }
+        final RollingMoments.Moments window = moments.at(index);
+        return window.coMoment / window.count;
+    }
+
+    /**
+     * Calculates the covariance of each window by sliding the rolling moments over
+     * the input values, with the same full recalculations as
+     * {@link #getValue(int)}.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (moments == null || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        moments.fill(beginIndex, endIndex,
+                (window, index) -> values[index - beginIndex] = window.coMoment / window.count);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
@@ -26,6 +26,7 @@ package org.ta4j.core.indicators.statistics;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
 import org.ta4j.core.num.Num;
 
 /**
@@ -69,6 +70,24 @@ public class MeanDeviationIndicator extends CachedIndicator<Num> {
         return absoluteDeviations.dividedBy(numOf(nbValues));
     }
 
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        final ArrayKernels kernels = ArrayKernels.getDefault();
+        final int from = Math.max(0, beginIndex - barCount + 1);
+        final double[] input = indicator.getDoubleValues(from, endIndex);
+        final double[] averages = sma.getDoubleValues(beginIndex, endIndex);
+        for (int i = beginIndex; i <= endIndex; i++) {
+            final int start = Math.max(from, i - barCount + 1) - from;
+            final int end = i - from + 1;
+            values[i - beginIndex] = kernels.sumOfAbsoluteDeviations(input, start, end, averages[i - beginIndex])
+                    / (end - start);
+        }
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
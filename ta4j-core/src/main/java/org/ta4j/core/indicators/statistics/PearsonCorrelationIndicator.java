@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.statistics;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.RecursiveCachedIndicator;
+import org.ta4j.core.num.DoubleNum;
 import org.ta4j.core.num.Num;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -35,6 +36,9 @@ import static org.ta4j.core.num.NaN.NaN;
  * @see <a href=
  *      "http://www.statisticshowto.com/probability-and-statistics/correlation-coefficient-formula/">
  *      http://www.statisticshowto.com/probability-and-statistics/correlation-coefficient-formula/</a>
+ *
+ *      For {@link DoubleNum} the sums are derived from moments updated from the
+ *      previous index in O(1) (see {@link VarianceIndicator}).
  */
 public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Num> {
 
@@ -44,22 +48,48 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Num> {
     private final Indicator<Num> indicator2;
     private final int barCount;
 
+    /** The rolling moments of the values (fast mode for {@link DoubleNum}) */
+    private final RollingMoments moments;
+
     /**
-     * Constructor.
+     * Constructor, fully recalculating the sums every <code>barCount</code>
+     * updates.
      *
      * @param indicator1 the first indicator
      * @param indicator2 the second indicator
      * @param barCount   the time frame
      */
     public PearsonCorrelationIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount) {
+        this(indicator1, indicator2, barCount, barCount);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator1   the first indicator
+     * @param indicator2   the second indicator
+     * @param barCount     the time frame
+     * @param resyncPeriod the number of O(1) updates between two full
+     *                     recalculations of the sums of a {@link DoubleNum} series,
+     *                     0 for never
+     */
+    public PearsonCorrelationIndicator(Indicator<Num> indicator1, Indicator<Num> indicator2, int barCount,
+            int resyncPeriod) {
         super(indicator1);
         this.indicator1 = indicator1;
         this.indicator2 = indicator2;
         this.barCount = barCount;
+        this.moments = barCount > 0 && indicator1.getBarSeries() != null && numOf(0) instanceof DoubleNum
+                ? new RollingMoments(indicator1, indicator2, indicator1.getBarSeries(), barCount, resyncPeriod)
+                : null;
     }
 
     @Override
     protected Num calculate(int index) {
+        if (isFast(index)) {
+            double pearson = calculateDouble(index);
+            return Double.isNaN(pearson) ? NaN : DoubleNum.valueOf(pearson);
+        }
 
         Num n = numOf(barCount);
 
@@ -93,4 +123,39 @@ public class PearsonCorrelationIndicator extends RecursiveCachedIndicator<Num> {
 
         return NaN;
     }
+
+    @Override
+    protected double calculateDouble(int index) {
+        if (!isFast(index)) {
+            return calculate(index).doubleValue();
+        }
+        final RollingMoments.Moments window = moments.at(index);
+        // With k values in the window of the moments (mean m, sum of squared
+        // deviations M2, co-moment C):
+        // n * Sxx - Sx * Sx = n * M2x + k * (n - k) * mx * mx
+        // n * Sxy - Sx * Sy = n * C + k * (n - k) * mx * my
+        final double n = barCount;
+        final double k = window.count;
+        final double varianceX = n * window.getM2X() + k * (n - k) * window.meanX * window.meanX;
+        final double varianceY = n * window.getM2Y() + k * (n - k) * window.meanY * window.meanY;
+        final double toSqrt = varianceX * varianceY;
+        if (toSqrt > 0) {
+            return (n * window.coMoment + k * (n - k) * window.meanX * window.meanY) / Math.sqrt(toSqrt);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * @param index the bar index
+     * @return true if the sums are derived from the rolling moments, i.e. if the
+     *         window ending at index does not start before the begin index of the
+     *         series (the windows of the moments are only bounded by 0)
+     */
+    private boolean isFast(int index) {
+        if (moments == null) {
+            return false;
+        }
+        final int beginIndex = getBarSeries().getBeginIndex();
+        return beginIndex <= 0 || index - barCount + 1 >= beginIndex;
+    }
 }
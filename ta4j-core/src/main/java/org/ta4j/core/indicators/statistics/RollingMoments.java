@@ -0,0 +1,344 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
+import org.ta4j.core.num.Num;
+
+import java.io.Serializable;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Moments (means, sums of squared deviations and co-moment) of the values of
+ * one or two indicators over a sliding window of <code>barCount</code> bars,
+ * calculated as primitive doubles.
+ *
+ * The moments are updated from the previous window in O(1) with Welford's
+ * algorithm (removing the value leaving the window, then adding the new one),
+ * which is numerically stable for the sums of squared deviations. As in
+ * {@link org.ta4j.core.indicators.SMAIndicator}, only the windows ending before
+ * the last bar of the series (which may still change) are kept for the next
+ * update, and the moments are fully recalculated in two passes (means, then
+ * deviations) when the previous window is not available, when a value is NaN,
+ * when a window contains removed bars and every <code>resyncPeriod</code>
+ * updates to bound the rounding errors.
+ */
+final class RollingMoments implements Serializable {
+
+    private static final long serialVersionUID = -1742081837419650236L;
+
+    /** The x-values, or null to use the bar indexes */
+    private final Indicator<Num> x;
+
+    /** The y-values, or null for the moments of the x-values only */
+    private final Indicator<Num> y;
+
+    private final BarSeries series;
+
+    private final int barCount;
+
+    /** Number of updates between two full recalculations, 0 for never */
+    private final int resyncPeriod;
+
+    /** Index of the last kept window (-1 if none) */
+    private int windowIndex = -1;
+
+    /** Moments of the window ending at windowIndex */
+    private final Moments window = new Moments();
+
+    /** Moments of the last calculated window */
+    private final Moments current = new Moments();
+
+    /** Number of updates of the window since it has been fully calculated */
+    private int updateCount;
+
+    /**
+     * Constructor.
+     *
+     * @param x            the x-values, or null to use the bar indexes
+     * @param y            the y-values, or null for the moments of the x-values
+     *                     only
+     * @param series       the bar series
+     * @param barCount     the time frame (at least 1)
+     * @param resyncPeriod the number of updates between two full recalculations, 0
+     *                     for never
+     */
+    RollingMoments(Indicator<Num> x, Indicator<Num> y, BarSeries series, int barCount, int resyncPeriod) {
+        if (barCount < 1) {
+            throw new IllegalArgumentException("Bar count must be at least 1");
+        }
+        if (resyncPeriod < 0) {
+            throw new IllegalArgumentException("Resync period must be positive or 0");
+        }
+        this.x = x;
+        this.y = y;
+        this.series = series;
+        this.barCount = barCount;
+        this.resyncPeriod = resyncPeriod;
+    }
+
+    /**
+     * @param index the bar index
+     * @return the moments of the window ending at index (only valid until the next
+     *         call)
+     */
+    Moments at(int index) {
+        final boolean stable = index < series.getEndIndex();
+        if (windowIndex >= 0 && index == windowIndex + 1 && !window.isNaN()
+                && (resyncPeriod == 0 || updateCount < resyncPeriod) && isWindowKept(index)) {
+            current.set(window);
+            if (index >= barCount) {
+                current.remove(xValue(index - barCount), yValue(index - barCount));
+            }
+            current.add(xValue(index), yValue(index));
+            if (!current.isNaN()) {
+                if (stable) {
+                    window.set(current);
+                    windowIndex = index;
+                    updateCount++;
+                }
+                return current;
+            }
+        }
+
+        calculate(Math.max(0, index - barCount + 1), index);
+        if (stable) {
+            window.set(current);
+            windowIndex = index;
+            updateCount = 0;
+        }
+        return current;
+    }
+
+    /**
+     * Calculates the moments of the windows ending at beginIndex to endIndex,
+     * reading the values once and sliding the window from one index to the next as
+     * {@link #at(int)} does: the first window, the windows following a NaN value
+     * and every <code>resyncPeriod</code>-th window are fully recalculated with the
+     * {@link ArrayKernels#getDefault() default kernels}. The kept window of
+     * {@link #at(int)} is left untouched.
+     *
+     * @param beginIndex the index of the first window
+     * @param endIndex   the index of the last window
+     * @param consumer   called with the moments of each window (only valid during
+     *                   the call) and its index
+     */
+    void fill(int beginIndex, int endIndex, ObjIntConsumer<Moments> consumer) {
+        final int from = Math.max(0, beginIndex - barCount + 1);
+        final double[] xValues = x == null ? indexes(from, endIndex) : x.getDoubleValues(from, endIndex);
+        final double[] yValues = y == null ? null : y.getDoubleValues(from, endIndex);
+        final ArrayKernels kernels = ArrayKernels.getDefault();
+        final Moments moments = new Moments();
+        int updates = 0;
+        for (int i = beginIndex; i <= endIndex; i++) {
+            boolean updated = false;
+            if (i > beginIndex && !moments.isNaN() && (resyncPeriod == 0 || updates < resyncPeriod)) {
+                if (i >= barCount) {
+                    final int removed = i - barCount - from;
+                    moments.remove(xValues[removed], yValues == null ? 0 : yValues[removed]);
+                }
+                moments.add(xValues[i - from], yValues == null ? 0 : yValues[i - from]);
+                updated = !moments.isNaN();
+            }
+            if (updated) {
+                updates++;
+            } else {
+                calculate(kernels, moments, xValues, yValues, Math.max(0, i - barCount + 1) - from, i - from + 1);
+                updates = 0;
+            }
+            consumer.accept(moments, i);
+        }
+    }
+
+    /**
+     * Calculates the moments of a window of values in two passes.
+     *
+     * @param kernels the array kernels
+     * @param moments the moments to set
+     * @param xValues the x-values
+     * @param yValues the y-values, or null
+     * @param from    the start position in the values (inclusive)
+     * @param to      the end position in the values (exclusive)
+     */
+    private static void calculate(ArrayKernels kernels, Moments moments, double[] xValues, double[] yValues, int from,
+            int to) {
+        final int count = to - from;
+        moments.count = count;
+        moments.meanX = kernels.sum(xValues, from, to) / count;
+        moments.m2X = kernels.sumOfSquaredDeviations(xValues, from, to, moments.meanX);
+        if (yValues == null) {
+            moments.meanY = moments.m2Y = moments.coMoment = 0;
+            return;
+        }
+        moments.meanY = kernels.sum(yValues, from, to) / count;
+        moments.m2Y = kernels.sumOfSquaredDeviations(yValues, from, to, moments.meanY);
+        moments.coMoment = kernels.sumOfCrossDeviations(xValues, yValues, from, to, moments.meanX, moments.meanY);
+    }
+
+    private static double[] indexes(int startIndex, int endIndex) {
+        final double[] indexes = new double[endIndex - startIndex + 1];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = startIndex + i;
+        }
+        return indexes;
+    }
+
+    /**
+     * Calculates the moments of a window in two passes.
+     *
+     * @param startIndex the start index (inclusive)
+     * @param endIndex   the end index (inclusive)
+     */
+    private void calculate(int startIndex, int endIndex) {
+        final int count = endIndex - startIndex + 1;
+        double sumX = 0;
+        double sumY = 0;
+        for (int i = startIndex; i <= endIndex; i++) {
+            sumX += xValue(i);
+            sumY += yValue(i);
+        }
+        final double meanX = sumX / count;
+        final double meanY = sumY / count;
+        double m2X = 0;
+        double m2Y = 0;
+        double coMoment = 0;
+        for (int i = startIndex; i <= endIndex; i++) {
+            final double dX = xValue(i) - meanX;
+            final double dY = yValue(i) - meanY;
+            m2X += dX * dX;
+            m2Y += dY * dY;
+            coMoment += dX * dY;
+        }
+        current.count = count;
+        current.meanX = meanX;
+        current.meanY = meanY;
+        current.m2X = m2X;
+        current.m2Y = m2Y;
+        current.coMoment = coMoment;
+    }
+
+    private double xValue(int index) {
+        return x == null ? index : x.getDoubleValue(index);
+    }
+
+    private double yValue(int index) {
+        return y == null ? 0 : y.getDoubleValue(index);
+    }
+
+    /**
+     * @param index the bar index
+     * @return true if none of the values of the windows ending at index - 1 and
+     *         index come from removed bars (which are replaced by the first
+     *         remaining one)
+     */
+    private boolean isWindowKept(int index) {
+        final int removedBarsCount = series.getRemovedBarsCount();
+        return removedBarsCount == 0 || index - barCount > removedBarsCount;
+    }
+
+    /**
+     * Moments of a window.
+     */
+    static final class Moments implements Serializable {
+
+        private static final long serialVersionUID = 2279456541536431338L;
+
+        /** Number of values */
+        int count;
+
+        /** Mean of the x-values */
+        double meanX;
+
+        /** Mean of the y-values */
+        double meanY;
+
+        /** Sum of the squared deviations of the x-values */
+        double m2X;
+
+        /** Sum of the squared deviations of the y-values */
+        double m2Y;
+
+        /** Sum of the products of the deviations of the x and y-values */
+        double coMoment;
+
+        /**
+         * @return the sum of the squared deviations of the x-values (rounding errors
+         *         cannot make it negative)
+         */
+        double getM2X() {
+            return m2X < 0 ? 0 : m2X;
+        }
+
+        /**
+         * @return the sum of the squared deviations of the y-values (rounding errors
+         *         cannot make it negative)
+         */
+        double getM2Y() {
+            return m2Y < 0 ? 0 : m2Y;
+        }
+
+        private void add(double xValue, double yValue) {
+            count++;
+            final double dX = xValue - meanX;
+            final double dY = yValue - meanY;
+            meanX += dX / count;
+            meanY += dY / count;
+            m2X += dX * (xValue - meanX);
+            m2Y += dY * (yValue - meanY);
+            coMoment += dX * (yValue - meanY);
+        }
+
+        private void remove(double xValue, double yValue) {
+            if (count == 1) {
+                count = 0;
+                meanX = meanY = m2X = m2Y = coMoment = 0;
+                return;
+            }
+            count--;
+            final double dX = xValue - meanX;
+            final double dY = yValue - meanY;
+            meanX -= dX / count;
+            meanY -= dY / count;
+            m2X -= dX * (xValue - meanX);
+            m2Y -= dY * (yValue - meanY);
+            coMoment -= dX * (yValue - meanY);
+        }
+
+        private void set(Moments moments) {
+            count = moments.count;
+            meanX = moments.meanX;
+            meanY = moments.meanY;
+            m2X = moments.m2X;
+            m2Y = moments.m2Y;
+            coMoment = moments.coMoment;
+        }
+
+        private boolean isNaN() {
+            return Double.isNaN(meanX) || Double.isNaN(meanY) || Double.isNaN(m2X) || Double.isNaN(m2Y)
+                    || Double.isNaN(coMoment);
+        }
+    }
+}
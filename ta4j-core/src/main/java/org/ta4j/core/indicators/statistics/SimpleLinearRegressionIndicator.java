@@ -25,6 +25,7 @@ package org.ta4j.core.indicators.statistics;
 
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.num.DoubleNum;
 import org.ta4j.core.num.Num;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -35,6 +36,10 @@ import static org.ta4j.core.num.NaN.NaN;
  * A moving (i.e. over the time frame) simple linear regression (least squares).
  * y = slope * x + intercept See also:
  * http://introcs.cs.princeton.edu/java/97data/LinearRegression.java.html
+ *
+ * For {@link DoubleNum} the regression line is derived from moments of the
+ * (index, value) pairs updated from the previous index in O(1) (see
+ * {@link VarianceIndicator}).
  */
 public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
 
@@ -51,6 +56,12 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
     private Num intercept;
     private SimpleLinearRegressionType type;
 
+    /**
+     * The rolling moments of the indexes and values (fast mode for
+     * {@link DoubleNum})
+     */
+    private final RollingMoments moments;
+
     /**
      * Constructor for the y-values of the formula (y = slope * x + intercept).
      *
@@ -69,10 +80,28 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
      * @param type      the type of the outcome value (y, slope, intercept)
      */
     public SimpleLinearRegressionIndicator(Indicator<Num> indicator, int barCount, SimpleLinearRegressionType type) {
+        this(indicator, barCount, type, barCount);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator    the indicator for the x-values of the formula.
+     * @param barCount     the time frame
+     * @param type         the type of the outcome value (y, slope, intercept)
+     * @param resyncPeriod the number of O(1) updates between two full
+     *                     recalculations of the regression line of a
+     *                     {@link DoubleNum} series, 0 for never
+     */
+    public SimpleLinearRegressionIndicator(Indicator<Num> indicator, int barCount, SimpleLinearRegressionType type,
+            int resyncPeriod) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
         this.type = type;
+        this.moments = barCount > 1 && indicator.getBarSeries() != null && numOf(0) instanceof DoubleNum
+                ? new RollingMoments(null, indicator, indicator.getBarSeries(), barCount, resyncPeriod)
+                : null;
     }
 
     @Override
@@ -82,6 +111,10 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
             // Not enough observations to compute a regression line
             return NaN;
         }
+        if (moments != null) {
+            double value = calculateDouble(index);
+            return Double.isNaN(value) ? NaN : DoubleNum.valueOf(value);
+        }
         calculateRegressionLine(startIndex, index);
 
         if (type == SimpleLinearRegressionType.SLOPE) {
@@ -95,6 +128,23 @@ public class SimpleLinearRegressionIndicator extends CachedIndicator<Num> {
         return slope.multipliedBy(numOf(index)).plus(intercept);
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (moments == null || index < 1) {
+            return calculate(index).doubleValue();
+        }
+        final RollingMoments.Moments window = moments.at(index);
+        final double windowSlope = window.coMoment / window.getM2X();
+        if (type == SimpleLinearRegressionType.SLOPE) {
+            return windowSlope;
+        }
+        final double windowIntercept = window.meanY - windowSlope * window.meanX;
+        if (type == SimpleLinearRegressionType.INTERCEPT) {
+            return windowIntercept;
+        }
+        return windowSlope * index + windowIntercept;
+    }
+
     /**
      * Calculates the regression line.
      *
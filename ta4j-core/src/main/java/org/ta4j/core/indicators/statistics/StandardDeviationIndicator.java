@@ -49,8 +49,35 @@ public class StandardDeviationIndicator extends CachedIndicator<Num> {
         variance = new VarianceIndicator(indicator, barCount);
     }
 
+    /**
+     * Constructor.
+     *
+     * @param indicator    the indicator
+     * @param barCount     the time frame
+     * @param resyncPeriod the number of O(1) updates between two full
+     *                     recalculations of the variance of a
+     *                     {@link org.ta4j.core.num.DoubleNum DoubleNum} series, 0
+     *                     for never (see {@link VarianceIndicator})
+     */
+    public StandardDeviationIndicator(Indicator<Num> indicator, int barCount, int resyncPeriod) {
+        super(indicator);
+        variance = new VarianceIndicator(indicator, barCount, resyncPeriod);
+    }
+
     @Override
     protected Num calculate(int index) {
         return variance.getValue(index).sqrt();
     }
+
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (!isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        variance.fill(values, beginIndex, endIndex);
+        for (int i = 0; i <= endIndex - beginIndex; i++) {
+            values[i] = Math.sqrt(values[i]);
+        }
+    }
 }
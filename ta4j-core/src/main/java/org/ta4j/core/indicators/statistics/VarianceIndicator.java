@@ -26,10 +26,18 @@ package org.ta4j.core.indicators.statistics;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.CachedIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 
 /**
  * Variance indicator.
+ *
+ * For {@link DoubleNum} the variance is updated from the previous index in O(1)
+ * with Welford's algorithm, and fully recalculated every
+ * <code>resyncPeriod</code> updates to bound the rounding errors; for the other
+ * {@link Num} types it is calculated over the whole window with the precision
+ * of the series.
  */
 public class VarianceIndicator extends CachedIndicator<Num> {
 
@@ -37,21 +45,45 @@ public class VarianceIndicator extends CachedIndicator<Num> {
     private final int barCount;
     private final SMAIndicator sma;
 
+    /** The rolling moments of the values (fast mode for {@link DoubleNum}) */
+    private final RollingMoments moments;
+
     /**
-     * Constructor.
+     * Constructor, fully recalculating the variance every <code>barCount</code>
+     * updates.
      * 
      * @param indicator the indicator
      * @param barCount  the time frame
      */
     public VarianceIndicator(Indicator<Num> indicator, int barCount) {
+        this(indicator, barCount, barCount);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param indicator    the indicator
+     * @param barCount     the time frame
+     * @param resyncPeriod the number of O(1) updates between two full
+     *                     recalculations of the variance of a {@link DoubleNum}
+     *                     series, 0 for never
+     */
+    public VarianceIndicator(Indicator<Num> indicator, int barCount, int resyncPeriod) {
         super(indicator);
         this.indicator = indicator;
         this.barCount = barCount;
-        this.sma = new SMAIndicator(indicator, barCount);
+        this.moments = barCount > 0 && indicator.getBarSeries() != null && numOf(0) instanceof DoubleNum
+                ? new RollingMoments(indicator, null, indicator.getBarSeries(), barCount, resyncPeriod)
+                : null;
+        this.sma = moments == null ? new SMAIndicator(indicator, barCount) : null;
     }
 
     @Override
     protected Num calculate(int index) {
+        if (moments != null) {
+            double variance = calculateDouble(index);
+            return Double.isNaN(variance) ? NaN.NaN : DoubleNum.valueOf(variance);
+        }
         final int startIndex = Math.max(0, index - barCount + 1);
         final int numberOfObservations = index - startIndex + 1;
         Num variance = numOf(0);
@@ -64,6 +96,30 @@ public class VarianceIndicator extends CachedIndicator<Num> {
         return variance;
     }
 
+    @Override
+    protected double calculateDouble(int index) {
+        if (moments == null) {
+            return calculate(index).doubleValue();
+        }
+        final RollingMoments.Moments window = moments.at(index);
+        return window.getM2X() / window.count;
+    }
+
+    /**
+     * Calculates the variance of each window by sliding the rolling moments over
+     * the input values, with the same full recalculations as
+     * {@link #getValue(int)}.
+     */
+    @Override
+    public void fill(double[] values, int beginIndex, int endIndex) {
+        if (moments == null || !isPrimitiveFillable() || beginIndex > endIndex) {
+            super.fill(values, beginIndex, endIndex);
+            return;
+        }
+        moments.fill(beginIndex, endIndex,
+                (window, index) -> values[index - beginIndex] = window.getM2X() / window.count);
+    }
+
     @Override
     public String toString() {
         return getClass().getSimpleName() + " barCount: " + barCount;
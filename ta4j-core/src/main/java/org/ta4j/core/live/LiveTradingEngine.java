@@ -0,0 +1,370 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseTradingRecord;
+import org.ta4j.core.Order;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.TradingRecord;
+import org.ta4j.core.num.Num;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live runtime of strategies on many symbols.
+ *
+ * Each symbol owns a {@link BarSeries}, a {@link Strategy} and a
+ * {@link TradingRecord}, and is pinned to one of the worker threads of the
+ * engine: the series, its indicators and the trading record of a symbol are
+ * only used by this thread (single writer), so they need no synchronization.
+ *
+ * The bar and trade events are submitted to the bounded queue of the worker of
+ * their symbol (an event is rejected when the queue is full). After each added
+ * bar the strategy is evaluated on the last bar, and the operated orders are
+ * notified to the {@link SignalListener}. The {@link LiveTradingMetrics
+ * metrics} of the engine count the events and measure their queue latency.
+ */
+public class LiveTradingEngine implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveTradingEngine.class);
+
+    /**
+     * A symbol and its state (used by its worker thread only)
+     */
+    private final class SymbolState {
+
+        private final String symbol;
+
+        private final BarSeries series;
+
+        private final Strategy strategy;
+
+        private final TradingRecord tradingRecord = new BaseTradingRecord();
+
+        private final Num amount;
+
+        private final Worker worker;
+
+        private SymbolState(String symbol, BarSeries series, Strategy strategy, Num amount, Worker worker) {
+            this.symbol = symbol;
+            this.series = series;
+            this.strategy = strategy;
+            this.amount = amount;
+            this.worker = worker;
+        }
+
+        /**
+         * Evaluates the strategy on the last bar and emits the operated order.
+         */
+        private void evaluate() {
+            final int index = series.getEndIndex();
+            if (strategy.shouldOperate(index, tradingRecord)) {
+                tradingRecord.operate(index, series.getBar(index).getClosePrice(), amount);
+                Order order = tradingRecord.getLastOrder();
+                metrics.order();
+                listener.onOrder(symbol, order);
+            }
+        }
+    }
+
+    /**
+     * A bar or a trade of a symbol
+     */
+    private static final class Event {
+
+        /** Event stopping a worker */
+        private static final Event STOP = new Event(null, null, null, null);
+
+        private final SymbolState state;
+
+        private final Bar bar;
+
+        private final Num tradeVolume;
+
+        private final Num tradePrice;
+
+        /** Submission time (System.nanoTime()) */
+        private final long submitTime = System.nanoTime();
+
+        private Event(SymbolState state, Bar bar, Num tradeVolume, Num tradePrice) {
+            this.state = state;
+            this.bar = bar;
+            this.tradeVolume = tradeVolume;
+            this.tradePrice = tradePrice;
+        }
+    }
+
+    /**
+     * A worker thread and its queue
+     */
+    private final class Worker implements Runnable {
+
+        private final BlockingQueue<Event> queue;
+
+        private Thread thread;
+
+        private Worker(int queueCapacity) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        @Override
+        public void run() {
+            try {
+                Event event;
+                while ((event = queue.take()) != Event.STOP) {
+                    process(event);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void process(Event event) {
+            long queueLatency = System.nanoTime() - event.submitTime;
+            SymbolState state = event.state;
+            boolean failed = false;
+            try {
+                if (event.bar != null) {
+                    state.series.addBar(event.bar);
+                    state.evaluate();
+                } else {
+                    state.series.addTrade(event.tradeVolume, event.tradePrice);
+                }
+            } catch (RuntimeException e) {
+                failed = true;
+                log.error("Cannot process event of {}", state.symbol, e);
+            }
+            metrics.processed(queueLatency, failed);
+        }
+    }
+
+    private final Worker[] workers;
+
+    private final SignalListener listener;
+
+    private final LiveTradingMetrics metrics = new LiveTradingMetrics();
+
+    private final ConcurrentMap<String, SymbolState> symbols = new ConcurrentHashMap<>();
+
+    private volatile boolean started;
+
+    private volatile boolean closed;
+
+    /**
+     * Read locked by the submissions, write locked by {@link #close()} to wait for
+     * the submissions in progress
+     */
+    private final ReadWriteLock submissionLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructor.
+     *
+     * @param workerCount   the number of worker threads
+     * @param queueCapacity the capacity of the event queue of each worker
+     * @param listener      the listener of the orders
+     */
+    public LiveTradingEngine(int workerCount, int queueCapacity, SignalListener listener) {
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count must be > 0");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be > 0");
+        }
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        this.listener = listener;
+        this.workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(queueCapacity);
+        }
+    }
+
+    /**
+     * Registers a symbol trading an amount of 1.
+     *
+     * @param symbol   the symbol
+     * @param series   the bar series of the symbol (not to be changed by other
+     *                 threads once registered)
+     * @param strategy the strategy of the symbol
+     * @see #register(String, BarSeries, Strategy, Num)
+     */
+    public void register(String symbol, BarSeries series, Strategy strategy) {
+        register(symbol, series, strategy, series.numOf(1));
+    }
+
+    /**
+     * Registers a symbol. A symbol may be registered while the engine is running.
+     *
+     * @param symbol   the symbol
+     * @param series   the bar series of the symbol (not to be changed by other
+     *                 threads once registered)
+     * @param strategy the strategy of the symbol
+     * @param amount   the amount of the orders
+     */
+    public void register(String symbol, BarSeries series, Strategy strategy, Num amount) {
+        if (symbol == null || series == null || strategy == null || amount == null) {
+            throw new IllegalArgumentException("Symbol, series, strategy and amount cannot be null");
+        }
+        Worker worker = workers[Math.floorMod(symbol.hashCode(), workers.length)];
+        if (symbols.putIfAbsent(symbol, new SymbolState(symbol, series, strategy, amount, worker)) != null) {
+            throw new IllegalArgumentException("Symbol already registered: " + symbol);
+        }
+    }
+
+    /**
+     * @return the registered symbols
+     */
+    public Set<String> getSymbols() {
+        return Collections.unmodifiableSet(symbols.keySet());
+    }
+
+    /**
+     * Starts the worker threads.
+     */
+    public synchronized void start() {
+        if (started) {
+            throw new IllegalStateException("Engine already started");
+        }
+        started = true;
+        metrics.start();
+        for (int i = 0; i < workers.length; i++) {
+            Thread thread = new Thread(workers[i], "ta4j-live-worker-" + i);
+            thread.setDaemon(true);
+            workers[i].thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Submits a bar of a symbol without blocking.
+     *
+     * @param symbol the symbol
+     * @param bar    the bar to be added to the series of the symbol
+     * @return true if the bar has been queued, false if the queue is full
+     */
+    public boolean addBar(String symbol, Bar bar) {
+        if (bar == null) {
+            throw new IllegalArgumentException("Bar cannot be null");
+        }
+        return submit(new Event(state(symbol), bar, null, null));
+    }
+
+    /**
+     * Submits a trade of a symbol without blocking. The trade updates the last bar
+     * of the series of the symbol (the strategy is evaluated on the next added
+     * bar).
+     *
+     * @param symbol      the symbol
+     * @param tradeVolume the traded volume
+     * @param tradePrice  the price
+     * @return true if the trade has been queued, false if the queue is full
+     */
+    public boolean addTrade(String symbol, Num tradeVolume, Num tradePrice) {
+        if (tradeVolume == null || tradePrice == null) {
+            throw new IllegalArgumentException("Trade volume and price cannot be null");
+        }
+        return submit(new Event(state(symbol), null, tradeVolume, tradePrice));
+    }
+
+    private SymbolState state(String symbol) {
+        SymbolState state = symbols.get(symbol);
+        if (state == null) {
+            throw new IllegalArgumentException("Unknown symbol: " + symbol);
+        }
+        return state;
+    }
+
+    private boolean submit(Event event) {
+        // Locked before reading closed: close() waits for the submission
+        submissionLock.readLock().lock();
+        try {
+            if (!started || closed) {
+                throw new IllegalStateException("Engine not running");
+            }
+            // Counted before the worker can process the event
+            metrics.submitted();
+            if (event.state.worker.queue.offer(event)) {
+                return true;
+            }
+            metrics.rejected();
+            return false;
+        } finally {
+            submissionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the metrics of the engine
+     */
+    public LiveTradingMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Stops the engine once the queued events are processed, and waits for the
+     * worker threads. Once closing has started, the events are rejected with an
+     * {@link IllegalStateException}: all the submitted events are processed.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        // The submissions which did not see the engine closed are queued before STOP
+        submissionLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            submissionLock.writeLock().unlock();
+        }
+        if (!started) {
+            return;
+        }
+        try {
+            for (Worker worker : workers) {
+                worker.queue.put(Event.STOP);
+            }
+            for (Worker worker : workers) {
+                worker.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            for (Worker worker : workers) {
+                worker.thread.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency metrics of a {@link LiveTradingEngine}.
+ *
+ * The counters are updated by the worker threads and may be read from any
+ * thread.
+ */
+public class LiveTradingMetrics {
+
+    private final LongAdder submittedEvents = new LongAdder();
+
+    private final LongAdder rejectedEvents = new LongAdder();
+
+    private final LongAdder processedEvents = new LongAdder();
+
+    private final LongAdder failedEvents = new LongAdder();
+
+    private final LongAdder orders = new LongAdder();
+
+    /** Sum of the queue latencies of the processed events (in nanoseconds) */
+    private final LongAdder totalQueueLatency = new LongAdder();
+
+    /** Maximum queue latency of the processed events (in nanoseconds) */
+    private final AtomicLong maximumQueueLatency = new AtomicLong();
+
+    /** Start time of the engine (System.nanoTime(), 0 if not started) */
+    private volatile long startTime;
+
+    void start() {
+        startTime = System.nanoTime();
+    }
+
+    void submitted() {
+        submittedEvents.increment();
+    }
+
+    /**
+     * Counts an event rejected by its queue, counted as submitted before being
+     * offered to the queue.
+     */
+    void rejected() {
+        submittedEvents.decrement();
+        rejectedEvents.increment();
+    }
+
+    void processed(long queueLatency, boolean failed) {
+        processedEvents.increment();
+        if (failed) {
+            failedEvents.increment();
+        }
+        totalQueueLatency.add(queueLatency);
+        maximumQueueLatency.accumulateAndGet(queueLatency, Math::max);
+    }
+
+    void order() {
+        orders.increment();
+    }
+
+    /**
+     * @return the number of events accepted by the queues (never lower than the
+     *         number of processed events)
+     */
+    public long getSubmittedEvents() {
+        return submittedEvents.sum();
+    }
+
+    /**
+     * @return the number of events rejected because a queue was full
+     */
+    public long getRejectedEvents() {
+        return rejectedEvents.sum();
+    }
+
+    /**
+     * @return the number of events processed by the workers (failed ones included)
+     */
+    public long getProcessedEvents() {
+        return processedEvents.sum();
+    }
+
+    /**
+     * @return the number of events which failed (e.g. a bar rejected by the series)
+     */
+    public long getFailedEvents() {
+        return failedEvents.sum();
+    }
+
+    /**
+     * @return the number of orders emitted
+     */
+    public long getOrders() {
+        return orders.sum();
+    }
+
+    /**
+     * @param unit the time unit of the result
+     * @return the average time spent by the processed events in the queues
+     */
+    public double getAverageQueueLatency(TimeUnit unit) {
+        long processed = getProcessedEvents();
+        if (processed == 0) {
+            return 0;
+        }
+        return (double) totalQueueLatency.sum() / processed / unit.toNanos(1);
+    }
+
+    /**
+     * @param unit the time unit of the result
+     * @return the maximum time spent by a processed event in a queue
+     */
+    public double getMaximumQueueLatency(TimeUnit unit) {
+        return (double) maximumQueueLatency.get() / unit.toNanos(1);
+    }
+
+    /**
+     * @return the number of processed events per second since the start of the
+     *         engine
+     */
+    public double getThroughput() {
+        long start = startTime;
+        if (start == 0) {
+            return 0;
+        }
+        long elapsed = System.nanoTime() - start;
+        return elapsed > 0 ? getProcessedEvents() * 1e9 / elapsed : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "{submitted: %d, rejected: %d, processed: %d, failed: %d, orders: %d, "
+                        + "throughput: %.1f/s, average latency: %.1fus, maximum latency: %.1fus}",
+                getSubmittedEvents(), getRejectedEvents(), getProcessedEvents(), getFailedEvents(), getOrders(),
+                getThroughput(), getAverageQueueLatency(TimeUnit.MICROSECONDS),
+                getMaximumQueueLatency(TimeUnit.MICROSECONDS));
+    }
+}
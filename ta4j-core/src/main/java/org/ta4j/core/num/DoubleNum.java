@@ -37,12 +37,19 @@ public class DoubleNum implements Num {
 
     private static final long serialVersionUID = -2611177221813615070L;
     private final static double EPS = 0.00001; // precision
+    private static final DoubleNum ZERO = new DoubleNum(0);
+    private static final DoubleNum ONE = new DoubleNum(1);
+    private static final DoubleNum HUNDRED = new DoubleNum(100);
     private final double delegate;
 
     private DoubleNum(double val) {
         delegate = val;
     }
 
+    public static DoubleNum valueOf(double i) {
+        return new DoubleNum(i);
+    }
+
     public static DoubleNum valueOf(int i) {
         return new DoubleNum((double) i);
     }
@@ -64,6 +71,9 @@ public class DoubleNum implements Num {
     }
 
     public static DoubleNum valueOf(Number i) {
+        if (i instanceof Double || i instanceof Integer || i instanceof Long || i instanceof Short) {
+            return new DoubleNum(i.doubleValue());
+        }
         return new DoubleNum(Double.parseDouble(i.toString()));
     }
 
@@ -72,11 +82,31 @@ public class DoubleNum implements Num {
         return DoubleNum::valueOf;
     }
 
+    @Override
+    public Num zero() {
+        return ZERO;
+    }
+
+    @Override
+    public Num one() {
+        return ONE;
+    }
+
+    @Override
+    public Num hundred() {
+        return HUNDRED;
+    }
+
     @Override
     public Double getDelegate() {
         return delegate;
     }
 
+    @Override
+    public double doubleValue() {
+        return delegate;
+    }
+
     @Override
     public String getName() {
         return this.getClass().getSimpleName();
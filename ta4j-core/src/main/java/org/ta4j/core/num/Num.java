@@ -281,6 +281,37 @@ public interface Num extends Comparable<Num>, Serializable {
 		return this.numOf(new BigDecimal(value, mathContext));
 	}
 
+	/**
+	 * Returns the zero of this <code>Num</code> implementation. Implementations
+	 * return a shared constant instead of creating a new instance on each call.
+	 * 
+	 * @return the corresponding Num implementation of <code>0</code>
+	 */
+	default Num zero() {
+		return numOf(0);
+	}
+
+	/**
+	 * Returns the one of this <code>Num</code> implementation.
+	 * 
+	 * @return the corresponding Num implementation of <code>1</code>
+	 * @see #zero()
+	 */
+	default Num one() {
+		return numOf(1);
+	}
+
+	/**
+	 * Returns the hundred of this <code>Num</code> implementation (e.g. to compute
+	 * percentages).
+	 * 
+	 * @return the corresponding Num implementation of <code>100</code>
+	 * @see #zero()
+	 */
+	default Num hundred() {
+		return numOf(100);
+	}
+
 	/**
 	 * Only for NaN this should be true
 	 * 
@@ -55,6 +55,8 @@ import java.text.DecimalFormat;
 import java.text.ParseException;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
 import static org.ta4j.core.num.NaN.NaN;
@@ -75,6 +77,23 @@ public final class PrecisionNum implements Num {
 
     private static final int DEFAULT_PRECISION = 32;
     private static final Logger log = LoggerFactory.getLogger(PrecisionNum.class);
+
+    /**
+     * Number of cached integer constants (from 0 to 100)
+     */
+    private static final int CONSTANT_COUNT = 101;
+
+    /**
+     * Cached integer constants by precision (the rounding mode is always
+     * {@link RoundingMode#HALF_UP})
+     */
+    private static final ConcurrentMap<Integer, PrecisionNum[]> CONSTANTS = new ConcurrentHashMap<>();
+
+    /**
+     * Cached integer constants of the default precision
+     */
+    private static final PrecisionNum[] DEFAULT_CONSTANTS = constants(DEFAULT_PRECISION);
+
     private final MathContext mathContext;
     private final BigDecimal delegate;
 
@@ -176,6 +195,9 @@ public final class PrecisionNum implements Num {
      * @return the {@code Num}
      */
     public static PrecisionNum valueOf(int val) {
+        if (val >= 0 && val < CONSTANT_COUNT) {
+            return DEFAULT_CONSTANTS[val];
+        }
         return new PrecisionNum(val);
     }
 
@@ -243,12 +265,81 @@ public final class PrecisionNum implements Num {
      * @return the {@code Num}
      */
     public static PrecisionNum valueOf(Number val) {
+        PrecisionNum constant = constant(DEFAULT_CONSTANTS, val);
+        if (constant != null) {
+            return constant;
+        }
         return new PrecisionNum(val.toString());
     }
 
+    /**
+     * Returns the cached integer constants of a precision.
+     *
+     * @param precision the precision
+     * @return the constants from 0 to 100 (shared by all the callers)
+     */
+    private static PrecisionNum[] constants(int precision) {
+        PrecisionNum[] constants = CONSTANTS.get(precision);
+        if (constants == null) {
+            constants = new PrecisionNum[CONSTANT_COUNT];
+            for (int i = 0; i < CONSTANT_COUNT; i++) {
+                constants[i] = new PrecisionNum(BigDecimal.valueOf(i), precision);
+            }
+            PrecisionNum[] existing = CONSTANTS.putIfAbsent(precision, constants);
+            if (existing != null) {
+                constants = existing;
+            }
+        }
+        return constants;
+    }
+
+    /**
+     * @param constants the cached constants of a precision
+     * @param number    the number
+     * @return the cached constant equal to the number, or null if the number is
+     *         not a cached integer
+     */
+    private static PrecisionNum constant(PrecisionNum[] constants, Number number) {
+        if (number instanceof Integer || number instanceof Long || number instanceof Short) {
+            long value = number.longValue();
+            if (value >= 0 && value < CONSTANT_COUNT) {
+                return constants[(int) value];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the cached integer constants of the precision of this num
+     */
+    private PrecisionNum[] constants() {
+        int precision = mathContext.getPrecision();
+        return precision == DEFAULT_PRECISION ? DEFAULT_CONSTANTS : constants(precision);
+    }
+
     @Override
     public Function<Number, Num> function() {
-        return (number -> PrecisionNum.valueOf(number.toString(), mathContext.getPrecision()));
+        final int precision = mathContext.getPrecision();
+        final PrecisionNum[] constants = constants();
+        return (number -> {
+            PrecisionNum constant = constant(constants, number);
+            return constant != null ? constant : PrecisionNum.valueOf(number.toString(), precision);
+        });
+    }
+
+    @Override
+    public Num zero() {
+        return constants()[0];
+    }
+
+    @Override
+    public Num one() {
+        return constants()[1];
+    }
+
+    @Override
+    public Num hundred() {
+        return constants()[100];
     }
 
     /**
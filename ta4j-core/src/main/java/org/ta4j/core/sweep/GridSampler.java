@@ -0,0 +1,70 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Samples all the combinations of the parameter values. The first parameter
+ * varies slowest, the last one fastest.
+ */
+public class GridSampler implements ParameterSampler {
+
+    @Override
+    public Iterator<double[]> sample(List<Parameter> parameters) {
+        final Parameter[] dimensions = parameters.toArray(new Parameter[0]);
+        return new Iterator<double[]>() {
+
+            private final int[] indexes = new int[dimensions.length];
+
+            private boolean hasNext = true;
+
+            @Override
+            public boolean hasNext() {
+                return hasNext;
+            }
+
+            @Override
+            public double[] next() {
+                if (!hasNext) {
+                    throw new NoSuchElementException();
+                }
+                final double[] point = new double[dimensions.length];
+                for (int d = 0; d < dimensions.length; d++) {
+                    point[d] = dimensions[d].getValue(indexes[d]);
+                }
+                // Incrementing the indexes as the digits of a mixed radix number
+                int d = dimensions.length - 1;
+                while (d >= 0 && ++indexes[d] == dimensions[d].size()) {
+                    indexes[d] = 0;
+                    d--;
+                }
+                hasNext = d >= 0;
+                return point;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+/**
+ * A parameter of a {@link StrategyTemplate strategy template}: a named range of
+ * values from <tt>min</tt> to <tt>max</tt> (both included) by <tt>step</tt>.
+ *
+ * The samplers only return values of the range, so that an integer parameter
+ * (e.g. a bar count) with an integer min and step always has integer values.
+ */
+public class Parameter {
+
+    private final String name;
+    private final double min;
+    private final double step;
+    private final int size;
+
+    /**
+     * Constructor.
+     *
+     * @param name the name of the parameter
+     * @param min  the first value of the range
+     * @param max  the last value of the range (included if it is min plus a
+     *             multiple of step)
+     * @param step the step between two values of the range
+     * @throws IllegalArgumentException if step is not strictly positive or if max
+     *                                  is lower than min
+     */
+    public Parameter(String name, double min, double max, double step) {
+        if (!(step > 0) || !(max >= min)) {
+            throw new IllegalArgumentException("Invalid range " + min + " to " + max + " by " + step);
+        }
+        this.name = name;
+        this.min = min;
+        this.step = step;
+        // Tolerance for the rounding errors of decimal steps (e.g. 0.1)
+        final double count = Math.floor((max - min) / step + 1e-9) + 1;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many values in range " + min + " to " + max + " by " + step);
+        }
+        this.size = (int) count;
+    }
+
+    /**
+     * @return the name of the parameter
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of values of the parameter
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index the index of the value, from 0 to {@link #size()} - 1
+     * @return the index-th value of the parameter
+     */
+    public double getValue(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + name + " values");
+        }
+        return min + index * step;
+    }
+
+    @Override
+    public String toString() {
+        return name + "[" + min + " to " + getValue(size - 1) + " by " + step + "]";
+    }
+}
@@ -0,0 +1,238 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import org.ta4j.core.BacktestExecutor;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Order;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.IndicatorRegistry;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.tradereport.TradingStatement;
+import org.ta4j.core.tradereport.TradingStatementGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Parameter sweep of a {@link StrategyTemplate strategy template}.
+ *
+ * Builds the strategy of each parameter vector returned by a
+ * {@link ParameterSampler sampler} (e.g. {@link GridSampler},
+ * {@link RandomSampler} or {@link LatinHypercubeSampler}), backtests it with a
+ * {@link BacktestExecutor} and passes its trading statement to a consumer. The
+ * trading statements are not kept.
+ *
+ * The strategies are built with a single {@link IndicatorRegistry}: the
+ * indicators shared by several parameter vectors are built and calculated once
+ * while they are registered. The registry keeps its indicators (and their
+ * cached results) until it holds more than <code>maxIndicators</code> of them,
+ * then it is cleared before building the next strategy, so that a sweep over a
+ * large parameter space runs in bounded memory. The indicators of the
+ * strategies sampled close to each other are shared best (e.g. with a
+ * {@link GridSampler}, the first parameters varying slowest).
+ */
+public class ParameterSweep {
+
+    /** Default maximum number of indicators kept in the registry */
+    public static final int DEFAULT_MAX_INDICATORS = 1024;
+
+    private final StrategyTemplate template;
+    private final List<Parameter> parameters;
+    private final IndicatorRegistry registry;
+    private final int maxIndicators;
+    private final BacktestExecutor backtestExecutor;
+
+    /**
+     * Constructor.
+     *
+     * @param series     the bar series
+     * @param template   the strategy template
+     * @param parameters the parameters of the template
+     */
+    public ParameterSweep(BarSeries series, StrategyTemplate template, List<Parameter> parameters) {
+        this(series, template, parameters, new TradingStatementGenerator());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series                    the bar series
+     * @param template                  the strategy template
+     * @param parameters                the parameters of the template
+     * @param tradingStatementGenerator the generator of the trading statements
+     */
+    public ParameterSweep(BarSeries series, StrategyTemplate template, List<Parameter> parameters,
+            TradingStatementGenerator tradingStatementGenerator) {
+        this(series, template, parameters, tradingStatementGenerator, DEFAULT_MAX_INDICATORS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param series                    the bar series
+     * @param template                  the strategy template
+     * @param parameters                the parameters of the template
+     * @param tradingStatementGenerator the generator of the trading statements
+     * @param maxIndicators             the number of registered indicators above
+     *                                  which the registry is cleared
+     */
+    public ParameterSweep(BarSeries series, StrategyTemplate template, List<Parameter> parameters,
+            TradingStatementGenerator tradingStatementGenerator, int maxIndicators) {
+        if (parameters.isEmpty()) {
+            throw new IllegalArgumentException("No parameter to sweep");
+        }
+        if (maxIndicators < 1) {
+            throw new IllegalArgumentException("Maximum number of indicators must be at least 1");
+        }
+        this.template = template;
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+        this.registry = new IndicatorRegistry(series);
+        this.maxIndicators = maxIndicators;
+        this.backtestExecutor = new BacktestExecutor(series, tradingStatementGenerator);
+    }
+
+    /**
+     * @return the parameters of the template
+     */
+    public List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return the registry of the indicators of the strategies
+     */
+    public IndicatorRegistry getIndicatorRegistry() {
+        return registry;
+    }
+
+    /**
+     * @return the number of registered indicators above which the registry is
+     *         cleared
+     */
+    public int getMaxIndicators() {
+        return maxIndicators;
+    }
+
+    /**
+     * Runs the sweep on the current thread.
+     *
+     * @param sampler   the sampler of the parameter vectors
+     * @param amount    the amount used to open/close the trades
+     * @param orderType the {@link Order.OrderType} used to open the trades
+     * @param consumer  the consumer of the parameter vectors and of the trading
+     *                  statements of their strategies
+     */
+    public void run(ParameterSampler sampler, Num amount, Order.OrderType orderType,
+            BiConsumer<double[], TradingStatement> consumer) {
+        run(sampler, amount, orderType, (Executor) Runnable::run, 1, consumer);
+    }
+
+    /**
+     * Runs the sweep in parallel.
+     *
+     * Each parameter vector is evaluated on a single thread of the executor
+     * service, and at most a few vectors per processor are pending at a time. The
+     * consumer is called in the order of completion, never concurrently (so it does
+     * not need to be thread-safe). If a strategy (or the consumer) fails, no other
+     * parameter vector is evaluated and the failure is rethrown once the running
+     * ones have completed. The indicators shared by the strategies need the
+     * {@link org.ta4j.core.indicators.cache.CacheMode#CONCURRENT CONCURRENT} cache
+     * mode on the series.
+     *
+     * @param sampler         the sampler of the parameter vectors
+     * @param amount          the amount used to open/close the trades
+     * @param orderType       the {@link Order.OrderType} used to open the trades
+     * @param executorService the executor service running the strategies (e.g.
+     *                        {@link BacktestExecutor#newStrategyExecutorService()})
+     * @param consumer        the consumer of the parameter vectors and of the
+     *                        trading statements of their strategies
+     * @throws IllegalStateException if the sweep has been interrupted, or if a
+     *                               strategy has thrown a checked exception
+     */
+    public void run(ParameterSampler sampler, Num amount, Order.OrderType orderType, ExecutorService executorService,
+            BiConsumer<double[], TradingStatement> consumer) {
+        run(sampler, amount, orderType, executorService, 4 * Runtime.getRuntime().availableProcessors(), consumer);
+    }
+
+    private void run(ParameterSampler sampler, Num amount, Order.OrderType orderType, Executor executor,
+            int maxPendingTasks, BiConsumer<double[], TradingStatement> consumer) {
+        final Semaphore pendingTasks = new Semaphore(maxPendingTasks);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        try {
+            final Iterator<double[]> points = sampler.sample(parameters);
+            while (failure.get() == null && points.hasNext()) {
+                final double[] point = points.next();
+                pendingTasks.acquire();
+                try {
+                    executor.execute(() -> {
+                        try {
+                            if (failure.get() == null) {
+                                if (registry.size() > maxIndicators) {
+                                    // The running strategies keep their own indicators
+                                    registry.clear();
+                                }
+                                final Strategy strategy = template.buildStrategy(registry, point.clone());
+                                final TradingStatement tradingStatement = backtestExecutor.execute(strategy, amount,
+                                        orderType);
+                                synchronized (consumer) {
+                                    consumer.accept(point, tradingStatement);
+                                }
+                            }
+                        } catch (Throwable t) {
+                            failure.compareAndSet(null, t);
+                        } finally {
+                            pendingTasks.release();
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    pendingTasks.release();
+                    throw e;
+                }
+            }
+            // Waiting for the running tasks
+            pendingTasks.acquire(maxPendingTasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parameter sweep interrupted", e);
+        }
+        final Throwable cause = failure.get();
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause != null) {
+            throw new IllegalStateException("Parameter sweep failed", cause);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Samples parameter vectors whose values are drawn independently and uniformly
+ * among the values of each parameter.
+ */
+public class RandomSampler implements ParameterSampler {
+
+    private final int count;
+    private final long seed;
+
+    /**
+     * Constructor.
+     *
+     * @param count the number of parameter vectors
+     * @param seed  the seed of the random generator (the same seed returns the same
+     *              vectors)
+     */
+    public RandomSampler(int count, long seed) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be positive");
+        }
+        this.count = count;
+        this.seed = seed;
+    }
+
+    @Override
+    public Iterator<double[]> sample(List<Parameter> parameters) {
+        final Parameter[] dimensions = parameters.toArray(new Parameter[0]);
+        final Random random = new Random(seed);
+        return new Iterator<double[]>() {
+
+            private int sampled;
+
+            @Override
+            public boolean hasNext() {
+                return sampled < count;
+            }
+
+            @Override
+            public double[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                sampled++;
+                final double[] point = new double[dimensions.length];
+                for (int d = 0; d < dimensions.length; d++) {
+                    point[d] = dimensions[d].getValue(random.nextInt(dimensions[d].size()));
+                }
+                return point;
+            }
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.IndicatorRegistry;
+
+/**
+ * A template building a {@link Strategy strategy} from a parameter vector.
+ *
+ * The indicators should be taken from the registry rather than built directly,
+ * so that the indicators identical across the parameter vectors (e.g. the close
+ * price, or an SMA whose bar count is not swept) are calculated once. E.g.:
+ *
+ * <pre>
+ * StrategyTemplate template = (registry, parameters) -&gt; {
+ *     ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getBarSeries());
+ *     SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, (int) parameters[0]);
+ *     return new BaseStrategy(new UnderIndicatorRule(sma, closePrice), new OverIndicatorRule(sma, closePrice), null);
+ * };
+ * </pre>
+ *
+ * A template may be called concurrently from several threads.
+ */
+@FunctionalInterface
+public interface StrategyTemplate {
+
+    /**
+     * @param registry   the registry of the indicators built on the bar series
+     * @param parameters the parameter vector (one value per {@link Parameter})
+     * @return the strategy for the parameter vector
+     */
+    Strategy buildStrategy(IndicatorRegistry registry, double[] parameters);
+}
@@ -0,0 +1,175 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.tradereport.TradingStatement;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class BacktestExecutorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+
+    private ExecutorService executorService;
+
+    public BacktestExecutorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[2000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 10d) + 5 * Math.cos(i / 3d);
+        }
+        MockBarSeries mockSeries = new MockBarSeries(numFunction, data);
+        // The indicators are shared by the strategies run in parallel
+        mockSeries.setCacheMode(CacheMode.CONCURRENT);
+        series = mockSeries;
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * @return strategies sharing the same indicators
+     */
+    private List<Strategy> buildStrategies() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<SMAIndicator> smas = new ArrayList<>();
+        for (int barCount = 2; barCount <= 20; barCount++) {
+            smas.add(new SMAIndicator(closePrice, barCount));
+        }
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < smas.size(); i++) {
+            for (int j = i + 1; j < smas.size(); j++) {
+                SMAIndicator shortSma = smas.get(i);
+                SMAIndicator longSma = smas.get(j);
+                strategies.add(new BaseStrategy(shortSma + "/" + longSma, new CrossedUpIndicatorRule(shortSma, longSma),
+                        new CrossedDownIndicatorRule(shortSma, longSma), null));
+            }
+        }
+        return strategies;
+    }
+
+    @Test
+    public void parallelExecutionKeepsOrderAndResults() {
+        List<TradingStatement> expected = new BacktestExecutor(series).execute(buildStrategies(), numOf(1));
+
+        List<Strategy> strategies = buildStrategies();
+        List<TradingStatement> statements = new BacktestExecutor(series).execute(strategies, numOf(1), executorService);
+
+        assertEquals(strategies.size(), statements.size());
+        for (int i = 0; i < statements.size(); i++) {
+            assertSame(strategies.get(i), statements.get(i).getStrategy());
+            assertEquals(expected.get(i).getStrategy().getName(), statements.get(i).getStrategy().getName());
+            assertNumEquals(expected.get(i).getPerformanceReport().getTotalProfitLoss(),
+                    statements.get(i).getPerformanceReport().getTotalProfitLoss());
+            assertNumEquals(expected.get(i).getTradeStatsReport().getProfitTradeCount(),
+                    statements.get(i).getTradeStatsReport().getProfitTradeCount());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelExecutionPropagatesStrategyFailure() {
+        Rule failingRule = (index, tradingRecord) -> {
+            throw new IllegalArgumentException("failing rule");
+        };
+        List<Strategy> strategies = buildStrategies();
+        strategies.add(new BaseStrategy("failing", failingRule, failingRule, null));
+        new BacktestExecutor(series).execute(strategies, numOf(1), executorService);
+    }
+
+    @Test
+    public void timedOutStrategiesAreCancelled() {
+        Rule slowRule = (index, tradingRecord) -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        };
+        List<Strategy> strategies = buildStrategies().subList(0, 3);
+        Strategy slowStrategy = new BaseStrategy("slow", slowRule, slowRule, null);
+        strategies.add(1, slowStrategy);
+
+        long start = System.nanoTime();
+        List<TradingStatement> statements = new BacktestExecutor(series).execute(strategies, numOf(1),
+                Order.OrderType.BUY, 200, TimeUnit.MILLISECONDS);
+
+        // The slow strategy would run for 20 seconds
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        assertEquals(4, statements.size());
+        assertSame(strategies.get(0), statements.get(0).getStrategy());
+        assertNull(statements.get(1));
+        assertSame(strategies.get(2), statements.get(2).getStrategy());
+        assertSame(strategies.get(3), statements.get(3).getStrategy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void timedExecutionPropagatesStrategyFailure() {
+        Rule failingRule = (index, tradingRecord) -> {
+            throw new IllegalArgumentException("failing rule");
+        };
+        List<Strategy> strategies = buildStrategies();
+        strategies.add(new BaseStrategy("failing", failingRule, failingRule, null));
+        new BacktestExecutor(series).execute(strategies, numOf(1), Order.OrderType.BUY, 10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void strategyExecutorService() throws Exception {
+        ExecutorService strategyExecutorService = BacktestExecutor.newStrategyExecutorService();
+        try {
+            assertEquals(Integer.valueOf(1), strategyExecutorService.submit(() -> 1).get());
+        } finally {
+            strategyExecutorService.shutdownNow();
+        }
+    }
+}
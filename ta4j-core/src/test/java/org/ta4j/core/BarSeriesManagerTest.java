@@ -35,6 +35,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
@@ -106,6 +107,22 @@ public class BarSeriesManagerTest extends AbstractIndicatorTest<BarSeries, Num>
         assertEquals(Order.sellAt(7, seriesForRun.getBar(7).getClosePrice(), numOf(1)), trades.get(1).getExit());
     }
 
+    @Test
+    public void runOnInterruptedThread() {
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(2, manager.run(strategy).getTrades().size());
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test(expected = CancellationException.class)
+    public void runCancelled() {
+        manager.run(strategy, OrderType.BUY, numOf(1), seriesForRun.getBeginIndex(), seriesForRun.getEndIndex(),
+                () -> true);
+    }
+
     @Test
     public void runWithOpenEntryBuyLeft() {
         Strategy aStrategy = new BaseStrategy(new FixedRule(1), new FixedRule(3), null);
@@ -93,6 +93,30 @@ public class BarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
 
     }
 
+    @Test
+    public void lastBarVersion() {
+        assertEquals(-1, emptySeries.getLastBarVersion());
+        long version = defaultSeries.getLastBarVersion();
+        assertEquals(version, defaultSeries.getLastBarVersion());
+
+        defaultSeries.addPrice(numOf(7));
+        assertTrue(defaultSeries.getLastBarVersion() > version);
+        version = defaultSeries.getLastBarVersion();
+        defaultSeries.addTrade(numOf(1), numOf(8));
+        assertTrue(defaultSeries.getLastBarVersion() > version);
+        version = defaultSeries.getLastBarVersion();
+        defaultSeries.getLastBar().addPrice(numOf(9));
+        assertTrue(defaultSeries.getLastBarVersion() > version);
+
+        // A new (or replaced) bar gets a version after all the previous ones
+        version = defaultSeries.getLastBarVersion();
+        defaultSeries.addBar(new MockBar(defaultSeries.getLastBar().getEndTime().plusDays(1), 10d, numFunction));
+        assertTrue(defaultSeries.getLastBarVersion() > version);
+        version = defaultSeries.getLastBarVersion();
+        defaultSeries.addBar(new MockBar(defaultSeries.getLastBar().getEndTime(), 11d, numFunction), true);
+        assertTrue(defaultSeries.getLastBarVersion() > version);
+    }
+
     /**
      * Tests if the addBar(bar, boolean) function works correct.
      */
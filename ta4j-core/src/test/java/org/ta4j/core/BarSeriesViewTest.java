@@ -0,0 +1,169 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class BarSeriesViewTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+
+    public BarSeriesViewTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[200];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 5d);
+        }
+        series = new MockBarSeries(numFunction, data);
+    }
+
+    @Test
+    public void viewKeepsParentIndexes() {
+        BarSeries view = series.getSubSeriesView(50, 100);
+        assertEquals(50, view.getBarCount());
+        assertEquals(50, view.getBeginIndex());
+        assertEquals(99, view.getEndIndex());
+        assertEquals(50, view.getRemovedBarsCount());
+        for (int i = 50; i < 100; i++) {
+            assertSame(series.getBar(i), view.getBar(i));
+        }
+        // The bars before the view are replaced by its first bar
+        assertSame(series.getBar(50), view.getBar(10));
+        assertEquals(50, view.getBarData().size());
+        assertSame(series.getBar(50), view.getBarData().get(0));
+        assertSame(series.getBar(99), view.getLastBar());
+    }
+
+    @Test
+    public void viewIsRestrictedToParentBars() {
+        BarSeries view = series.getSubSeriesView(150, 300);
+        assertEquals(150, view.getBeginIndex());
+        assertEquals(199, view.getEndIndex());
+        BarSeries subView = view.getSubSeriesView(100, 160);
+        assertEquals(150, subView.getBeginIndex());
+        assertEquals(159, subView.getEndIndex());
+    }
+
+    @Test
+    public void subSeriesOfView() {
+        BarSeries subSeries = series.getSubSeriesView(50, 100).getSubSeries(40, 60);
+        assertEquals(10, subSeries.getBarCount());
+        assertEquals(0, subSeries.getBeginIndex());
+        assertNumEquals(series.getBar(50).getClosePrice(), subSeries.getFirstBar().getClosePrice());
+    }
+
+    @Test
+    public void parentIndicatorsAreSharedByViews() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        AtomicInteger calculations = new AtomicInteger();
+        CachedIndicator<Num> longSma = new CachedIndicator<Num>(series) {
+            private final SMAIndicator delegate = new SMAIndicator(closePrice, 10);
+
+            @Override
+            protected Num calculate(int index) {
+                calculations.incrementAndGet();
+                return delegate.getValue(index);
+            }
+        };
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 3);
+        Strategy strategy = new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma), null);
+
+        TradingRecord full = new BarSeriesManager(series).run(strategy);
+        int calculated = calculations.get();
+        for (int start = 0; start < 150; start += 25) {
+            BarSeries view = series.getSubSeriesView(start, start + 50);
+            TradingRecord record = new BarSeriesManager(view).run(strategy);
+            for (Trade trade : record.getTrades()) {
+                assertTrue(trade.getEntry().getIndex() >= start);
+                assertTrue(trade.getEntry().getIndex() < start + 50);
+            }
+        }
+        // The values were already cached by the run on the whole series
+        assertEquals(calculated, calculations.get());
+        assertTrue(full.getTradeCount() > 0);
+    }
+
+    @Test
+    public void indicatorsOnView() {
+        BarSeries view = series.getSubSeriesView(50, 100);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(view), 3);
+        Num first = series.getBar(50).getClosePrice();
+        assertNumEquals(first, sma.getValue(50));
+        Num expected = first.plus(series.getBar(51).getClosePrice()).plus(series.getBar(52).getClosePrice())
+                .dividedBy(numOf(3));
+        assertNumEquals(expected, sma.getValue(52));
+    }
+
+    @Test
+    public void lastBarOfViewClosedByParent() {
+        BarSeries view = series.getSubSeriesView(0, series.getBarCount());
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(view);
+        int endIndex = view.getEndIndex();
+        assertNumEquals(series.getLastBar().getClosePrice(), closePrice.getValue(endIndex));
+
+        // Trades on the last bar, then a new bar before the indicator is read again
+        series.addTrade(numOf(1), numOf(500));
+        series.addBar(series.getLastBar().getTimePeriod(),
+                series.getLastBar().getEndTime().plus(series.getLastBar().getTimePeriod()));
+        assertNumEquals(500, closePrice.getValue(endIndex));
+        assertNumEquals(series.getBar(endIndex).getClosePrice(), closePrice.getValue(endIndex));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewIsReadOnly() {
+        series.getSubSeriesView(50, 100).addPrice(numOf(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void barAfterView() {
+        series.getSubSeriesView(50, 100).getBar(100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyRange() {
+        series.getSubSeriesView(50, 50);
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.HighPriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class ColumnarBarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private List<Bar> bars;
+
+    private ColumnarBarSeries series;
+
+    public ColumnarBarSeriesTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 1; i <= 40; i++) {
+            bars.add(new MockBar(time.plusDays(i), i, i + 1, i + 2, i - 1, i * 10, i * 100, i, numFunction));
+        }
+        series = new ColumnarBarSeries("columnar", bars, numFunction);
+    }
+
+    @Test
+    public void barViews() {
+        assertEquals(40, series.getBarCount());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(39, series.getEndIndex());
+        for (int i = 0; i < bars.size(); i++) {
+            Bar expected = bars.get(i);
+            Bar bar = series.getBar(i);
+            assertNumEquals(expected.getOpenPrice(), bar.getOpenPrice());
+            assertNumEquals(expected.getHighPrice(), bar.getHighPrice());
+            assertNumEquals(expected.getLowPrice(), bar.getLowPrice());
+            assertNumEquals(expected.getClosePrice(), bar.getClosePrice());
+            assertNumEquals(expected.getVolume(), bar.getVolume());
+            assertNumEquals(expected.getAmount(), bar.getAmount());
+            assertEquals(expected.getTrades(), bar.getTrades());
+            assertEquals(expected.getEndTime(), bar.getEndTime());
+            assertEquals(expected.getBeginTime(), bar.getBeginTime());
+            assertEquals(expected.getTimePeriod(), bar.getTimePeriod());
+            assertEquals(expected.getClosePrice().getClass(), bar.getClosePrice().getClass());
+        }
+        assertEquals(40, series.getBarData().size());
+        assertNumEquals(bars.get(5).getClosePrice(), series.getBarData().get(5).getClosePrice());
+    }
+
+    @Test
+    public void indicatorsOnColumnarSeries() {
+        BarSeries baseSeries = new BaseBarSeries("base", bars, numFunction);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 5);
+        SMAIndicator baseSma = new SMAIndicator(new ClosePriceIndicator(baseSeries), 5);
+        HighPriceIndicator high = new HighPriceIndicator(series);
+        VolumeIndicator volume = new VolumeIndicator(series, 3);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(baseSma.getValue(i), sma.getValue(i));
+            assertNumEquals(bars.get(i).getHighPrice(), high.getValue(i));
+            assertNumEquals(new VolumeIndicator(baseSeries, 3).getValue(i), volume.getValue(i));
+        }
+    }
+
+    @Test
+    public void maximumBarCount() {
+        series.setMaximumBarCount(10);
+        assertEquals(10, series.getBarCount());
+        assertEquals(30, series.getRemovedBarsCount());
+        assertEquals(39, series.getEndIndex());
+        // Removed bars are replaced by the first remaining bar
+        assertNumEquals(32, series.getBar(5).getClosePrice());
+        ZonedDateTime endTime = series.getLastBar().getEndTime();
+        for (int i = 1; i <= 100; i++) {
+            series.addBar(Duration.ofDays(1), endTime.plusDays(i), i, i, i, i, i);
+        }
+        assertEquals(10, series.getBarCount());
+        assertEquals(139, series.getEndIndex());
+        assertNumEquals(91, series.getBar(130).getClosePrice());
+        assertNumEquals(100, series.getLastBar().getClosePrice());
+        assertEquals(100d, series.getClosePrice(139), 0);
+    }
+
+    @Test
+    public void addTradeAndPrice() {
+        ZonedDateTime endTime = series.getLastBar().getEndTime().plusDays(1);
+        series.addBar(Duration.ofDays(1), endTime);
+        assertTrue(series.getLastBar().getClosePrice().isNaN());
+        series.addTrade(numOf(2), numOf(10));
+        series.addTrade(numOf(3), numOf(8));
+        series.addPrice(numOf(12));
+        Bar bar = series.getLastBar();
+        assertNumEquals(10, bar.getOpenPrice());
+        assertNumEquals(12, bar.getHighPrice());
+        assertNumEquals(8, bar.getLowPrice());
+        assertNumEquals(12, bar.getClosePrice());
+        assertNumEquals(5, bar.getVolume());
+        assertNumEquals(44, bar.getAmount());
+        assertEquals(2, bar.getTrades());
+    }
+
+    @Test
+    public void lastBarVersion() {
+        long version = series.getLastBarVersion();
+        assertEquals(version, series.getLastBarVersion());
+        series.addPrice(numOf(7));
+        assertTrue(series.getLastBarVersion() > version);
+        version = series.getLastBarVersion();
+        series.getLastBar().addTrade(numOf(1), numOf(8));
+        assertTrue(series.getLastBarVersion() > version);
+        version = series.getLastBarVersion();
+        series.addBar(new MockBar(series.getLastBar().getEndTime(), 7d, numFunction), true);
+        assertTrue(series.getLastBarVersion() > version);
+        assertEquals(-1, new ColumnarBarSeries("empty", numFunction).getLastBarVersion());
+    }
+
+    @Test
+    public void replaceBar() {
+        series.addBar(new MockBar(series.getLastBar().getEndTime(), 7d, numFunction), true);
+        assertEquals(40, series.getBarCount());
+        assertNumEquals(7, series.getLastBar().getClosePrice());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBarWithEndTimeBeforeSeriesEndTime() {
+        series.addBar(new MockBar(series.getFirstBar().getEndTime(), 7d, numFunction));
+    }
+
+    @Test
+    public void subSeries() {
+        ColumnarBarSeries subSeries = series.getSubSeries(10, 20);
+        assertEquals(10, subSeries.getBarCount());
+        assertEquals(9, subSeries.getEndIndex());
+        assertNumEquals(bars.get(10).getClosePrice(), subSeries.getBar(0).getClosePrice());
+        assertNumEquals(bars.get(19).getClosePrice(), subSeries.getLastBar().getClosePrice());
+        assertEquals(bars.get(19).getEndTime(), subSeries.getLastBar().getEndTime());
+    }
+}
@@ -0,0 +1,208 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class ConcurrentBarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private ZonedDateTime time;
+
+    private List<Bar> bars;
+
+    private ConcurrentBarSeries series;
+
+    public ConcurrentBarSeriesTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        bars = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            bars.add(new MockBar(time.plusDays(i), i, numFunction));
+        }
+        series = new ConcurrentBarSeries("concurrent", bars, numFunction);
+    }
+
+    @Test
+    public void indexes() {
+        assertEquals(40, series.getBarCount());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(39, series.getEndIndex());
+        for (int i = 0; i < bars.size(); i++) {
+            assertSame(bars.get(i), series.getBar(i));
+        }
+        assertEquals(bars, series.getBarData());
+
+        ConcurrentBarSeries empty = new ConcurrentBarSeries("empty", numFunction);
+        assertEquals(0, empty.getBarCount());
+        assertEquals(-1, empty.getBeginIndex());
+        assertEquals(-1, empty.getEndIndex());
+        assertEquals(-1, empty.getLastBarVersion());
+    }
+
+    @Test
+    public void snapshotDoesNotChange() {
+        BarSeries snapshot = series.getSnapshot();
+        Bar lastBar = snapshot.getLastBar();
+        long version = snapshot.getLastBarVersion();
+
+        series.addTrade(numOf(1), numOf(100));
+        for (int i = 41; i <= 100; i++) {
+            series.addBar(new MockBar(time.plusDays(i), i, numFunction));
+        }
+        series.setMaximumBarCount(10);
+
+        assertEquals(40, snapshot.getBarCount());
+        assertEquals(39, snapshot.getEndIndex());
+        assertEquals(0, snapshot.getRemovedBarsCount());
+        assertSame(lastBar, snapshot.getLastBar());
+        assertNumEquals(40, snapshot.getLastBar().getClosePrice());
+        assertEquals(version, snapshot.getLastBarVersion());
+        for (int i = 0; i < bars.size(); i++) {
+            assertSame(bars.get(i), snapshot.getBar(i));
+        }
+
+        assertEquals(10, series.getBarCount());
+        assertEquals(99, series.getEndIndex());
+        assertEquals(90, series.getRemovedBarsCount());
+        assertNumEquals(91, series.getBar(90).getClosePrice());
+        assertNumEquals(100, series.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void tradesUpdateACopyOfTheLastBar() {
+        Bar lastBar = series.getLastBar();
+        long version = series.getLastBarVersion();
+        series.addTrade(numOf(2), numOf(100));
+        series.addPrice(numOf(120));
+
+        assertNumEquals(40, lastBar.getClosePrice());
+        assertNumEquals(120, series.getLastBar().getClosePrice());
+        assertNumEquals(120, series.getLastBar().getHighPrice());
+        assertEquals(40, series.getBarCount());
+        assertTrue(series.getLastBarVersion() > version);
+    }
+
+    @Test
+    public void maximumBarCount() {
+        series.setMaximumBarCount(5);
+        assertEquals(5, series.getBarCount());
+        assertEquals(35, series.getRemovedBarsCount());
+        assertEquals(39, series.getEndIndex());
+        assertNumEquals(36, series.getBar(35).getClosePrice());
+        // Removed bars are mapped to the first remaining bar, as in BaseBarSeries
+        assertNumEquals(36, series.getBar(0).getClosePrice());
+
+        series.addBar(new MockBar(time.plusDays(41), 41, numFunction));
+        assertEquals(5, series.getBarCount());
+        assertEquals(36, series.getRemovedBarsCount());
+        assertNumEquals(37, series.getFirstBar().getClosePrice());
+        assertNumEquals(41, series.getLastBar().getClosePrice());
+    }
+
+    @Test
+    public void replaceBar() {
+        series.addBar(new MockBar(series.getLastBar().getEndTime(), 7d, numFunction), true);
+        assertEquals(40, series.getBarCount());
+        assertNumEquals(7, series.getLastBar().getClosePrice());
+        assertNumEquals(39, series.getBar(38).getClosePrice());
+    }
+
+    @Test
+    public void subSeries() {
+        BarSeries subSeries = series.getSubSeries(10, 20);
+        assertEquals(10, subSeries.getBarCount());
+        assertSame(bars.get(10), subSeries.getFirstBar());
+        assertSame(bars.get(19), subSeries.getLastBar());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addBarWithEndTimeBeforeSeriesEndTime() {
+        series.addBar(new MockBar(series.getFirstBar().getEndTime(), 7d, numFunction));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void snapshotIsReadOnly() {
+        series.getSnapshot().addPrice(numOf(7));
+    }
+
+    @Test
+    public void readersSeeConsistentSnapshots() throws InterruptedException {
+        ConcurrentBarSeries live = new ConcurrentBarSeries("live", numFunction);
+        live.setMaximumBarCount(50);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    for (int n = 0; n < 2000; n++) {
+                        BarSeries snapshot = live.getSnapshot();
+                        int begin = snapshot.getBeginIndex();
+                        int end = snapshot.getEndIndex();
+                        if (end < 0) {
+                            continue;
+                        }
+                        int first = Math.max(begin, snapshot.getRemovedBarsCount());
+                        for (int i = first; i <= end; i++) {
+                            // Bar i closes at i + 1
+                            assertNumEquals(i + 1, snapshot.getBar(i).getClosePrice());
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 1; i <= 2000; i++) {
+            live.addBar(new MockBar(time.plusDays(i), i, numFunction));
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(1999, live.getEndIndex());
+        assertEquals(50, live.getBarCount());
+    }
+}
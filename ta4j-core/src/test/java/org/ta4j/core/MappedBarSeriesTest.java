@@ -0,0 +1,161 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class MappedBarSeriesTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BaseBarSeries source;
+
+    private Path path;
+
+    private MappedBarSeries series;
+
+    public MappedBarSeriesTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        List<Bar> bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2014, 6, 13, 0, 0, 0, 0, ZoneId.systemDefault());
+        for (int i = 1; i <= 3000; i++) {
+            bars.add(new MockBar(time.plusDays(i), i, i + 1.5, i + 2, i - 1, 0, i * 100, 0, numFunction));
+        }
+        source = new BaseBarSeries("source", bars, numFunction);
+        path = folder.newFile("bars.bin").toPath();
+        MappedBarSeries.write(source, path);
+        series = MappedBarSeries.open(path, "mapped", numFunction, ZoneId.systemDefault());
+    }
+
+    @Test
+    public void readBars() throws IOException {
+        assertEquals("mapped", series.getName());
+        assertEquals(3000, series.getBarCount());
+        assertEquals(0, series.getBeginIndex());
+        assertEquals(2999, series.getEndIndex());
+        assertEquals(3000, series.getBarData().size());
+        for (int i = 0; i < source.getBarCount(); i++) {
+            Bar expected = source.getBar(i);
+            Bar bar = series.getBar(i);
+            assertNumEquals(expected.getOpenPrice(), bar.getOpenPrice());
+            assertNumEquals(expected.getHighPrice(), bar.getHighPrice());
+            assertNumEquals(expected.getLowPrice(), bar.getLowPrice());
+            assertNumEquals(expected.getClosePrice(), bar.getClosePrice());
+            assertNumEquals(expected.getVolume(), bar.getVolume());
+            assertEquals(expected.getEndTime(), bar.getEndTime());
+            assertEquals(expected.getBeginTime(), bar.getBeginTime());
+            assertEquals(expected.getTimePeriod(), bar.getTimePeriod());
+            assertEquals(expected.getClosePrice().doubleValue(), series.getClosePrice(i), 0);
+        }
+        assertEquals(Files.size(path), 32 + 48 * 3000);
+    }
+
+    @Test
+    public void indicatorsOnMappedSeries() {
+        SMAIndicator expected = new SMAIndicator(new ClosePriceIndicator(source), 20);
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(series), 20);
+        for (int i = 0; i < series.getBarCount(); i += 7) {
+            assertNumEquals(expected.getValue(i), sma.getValue(i));
+            assertEquals(expected.getValue(i).doubleValue(), sma.getDoubleValue(i), 1e-9);
+        }
+    }
+
+    @Test
+    public void subSeries() {
+        MappedBarSeries subSeries = series.getSubSeries(100, 200);
+        assertEquals(100, subSeries.getBarCount());
+        assertNumEquals(102.5, subSeries.getFirstBar().getClosePrice());
+        assertNumEquals(201.5, subSeries.getLastBar().getClosePrice());
+        assertEquals(0, series.getSubSeries(5000, 6000).getBarCount());
+    }
+
+    @Test
+    public void emptySeries() throws IOException {
+        Path emptyPath = folder.newFile("empty.bin").toPath();
+        MappedBarSeries.write(new BaseBarSeries("empty", numFunction), emptyPath);
+        MappedBarSeries empty = MappedBarSeries.open(emptyPath);
+        assertEquals("empty.bin", empty.getName());
+        assertEquals(0, empty.getBarCount());
+        assertEquals(-1, empty.getEndIndex());
+    }
+
+    @Test(expected = IOException.class)
+    public void openInvalidFile() throws IOException {
+        Path invalidPath = folder.newFile("invalid.bin").toPath();
+        Files.write(invalidPath, "not a bar file".getBytes());
+        MappedBarSeries.open(invalidPath);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeBarsOfDifferentTimePeriods() throws IOException {
+        source.addBar(Duration.ofHours(1), source.getLastBar().getEndTime().plusHours(1));
+        MappedBarSeries.write(source, folder.newFile("periods.bin").toPath());
+    }
+
+    @Test
+    public void failedWriteKeepsExistingFile() throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        source.addBar(Duration.ofHours(1), source.getLastBar().getEndTime().plusHours(1));
+        try {
+            MappedBarSeries.write(source, path);
+            fail("Bars of different time periods written");
+        } catch (IllegalArgumentException e) {
+            assertArrayEquals(content, Files.readAllBytes(path));
+            assertEquals(1, folder.getRoot().list().length);
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnly() {
+        series.addPrice(numOf(1));
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+import org.ta4j.core.trading.rules.TrailingStopLossRule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class WalkForwardOptimizerTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private BarSeries series;
+
+    private ExecutorService executorService;
+
+    public WalkForwardOptimizerTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 5d) + 5 * Math.cos(i / 2d);
+        }
+        MockBarSeries mockSeries = new MockBarSeries(numFunction, data);
+        // The indicators are shared by the strategies run in parallel
+        mockSeries.setCacheMode(CacheMode.CONCURRENT);
+        series = mockSeries;
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private List<Strategy> buildStrategies() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<SMAIndicator> smas = new ArrayList<>();
+        for (int barCount = 2; barCount <= 6; barCount++) {
+            smas.add(new SMAIndicator(closePrice, barCount));
+        }
+        List<Strategy> strategies = new ArrayList<>();
+        for (int i = 0; i < smas.size(); i++) {
+            for (int j = i + 1; j < smas.size(); j++) {
+                SMAIndicator shortSma = smas.get(i);
+                SMAIndicator longSma = smas.get(j);
+                strategies.add(new BaseStrategy(shortSma + "/" + longSma, new CrossedUpIndicatorRule(shortSma, longSma),
+                        new CrossedDownIndicatorRule(shortSma, longSma), null));
+            }
+        }
+        return strategies;
+    }
+
+    @Test
+    public void rollingWindows() {
+        List<WalkForwardOptimizer.Window> windows = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 30, 20,
+                WalkForwardOptimizer.Mode.ROLLING).getWindows();
+        assertEquals(4, windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardOptimizer.Window window = windows.get(w);
+            assertEquals(w * 20, window.getInSampleBeginIndex());
+            assertEquals(w * 20 + 29, window.getInSampleEndIndex());
+            assertEquals(w * 20 + 30, window.getOutOfSampleBeginIndex());
+            assertEquals(Math.min(w * 20 + 49, 99), window.getOutOfSampleEndIndex());
+        }
+    }
+
+    @Test
+    public void anchoredWindows() {
+        List<WalkForwardOptimizer.Window> windows = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 30, 20,
+                WalkForwardOptimizer.Mode.ANCHORED).getWindows();
+        assertEquals(4, windows.size());
+        for (int w = 0; w < windows.size(); w++) {
+            WalkForwardOptimizer.Window window = windows.get(w);
+            assertEquals(0, window.getInSampleBeginIndex());
+            assertEquals(w * 20 + 29, window.getInSampleEndIndex());
+            assertEquals(w * 20 + 30, window.getOutOfSampleBeginIndex());
+        }
+    }
+
+    @Test
+    public void noWindowWhenSeriesTooShort() {
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 100, 10,
+                WalkForwardOptimizer.Mode.ROLLING);
+        assertTrue(optimizer.getWindows().isEmpty());
+        WalkForwardResult result = optimizer.run(buildStrategies());
+        assertTrue(result.getEquityCurve().isEmpty());
+        assertEquals(-1, result.getBeginIndex());
+        assertEquals(-1, result.getEndIndex());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBarCount() {
+        new WalkForwardOptimizer(series, new TotalProfitCriterion(), 30, 0, WalkForwardOptimizer.Mode.ROLLING);
+    }
+
+    @Test
+    public void bestInSampleStrategyIsRunOutOfSample() {
+        AnalysisCriterion criterion = new TotalProfitCriterion();
+        List<Strategy> strategies = buildStrategies();
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, criterion, 30, 20,
+                WalkForwardOptimizer.Mode.ROLLING);
+        WalkForwardResult result = optimizer.run(strategies);
+
+        assertEquals(4, result.getWindowResults().size());
+        for (WalkForwardResult.WindowResult windowResult : result.getWindowResults()) {
+            WalkForwardOptimizer.Window window = windowResult.getWindow();
+            BarSeriesManager inSample = new BarSeriesManager(
+                    series.getSubSeriesView(window.getInSampleBeginIndex(), window.getInSampleEndIndex() + 1));
+            assertSame(criterion.chooseBest(inSample, strategies), windowResult.getStrategy());
+
+            BarSeries outOfSample = windowResult.getOutOfSampleSeries();
+            assertEquals(window.getOutOfSampleBeginIndex(), outOfSample.getBeginIndex());
+            assertEquals(window.getOutOfSampleEndIndex(), outOfSample.getEndIndex());
+            TradingRecord tradingRecord = windowResult.getOutOfSampleTradingRecord();
+            for (Trade trade : tradingRecord.getTrades()) {
+                assertTrue(trade.getEntry().getIndex() >= window.getOutOfSampleBeginIndex());
+            }
+            assertNumEquals(criterion.calculate(outOfSample, tradingRecord), windowResult.getOutOfSampleValue());
+        }
+    }
+
+    @Test
+    public void outOfSampleEquityCurve() {
+        WalkForwardResult result = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 30, 20,
+                WalkForwardOptimizer.Mode.ROLLING).run(buildStrategies());
+
+        assertEquals(30, result.getBeginIndex());
+        assertEquals(99, result.getEndIndex());
+        assertEquals(70, result.getEquityCurve().size());
+        assertNumEquals(1, result.getEquity(30));
+
+        Num previousEquity = numOf(1);
+        for (WalkForwardResult.WindowResult windowResult : result.getWindowResults()) {
+            Num equity = result.getEquity(windowResult.getWindow().getOutOfSampleEndIndex());
+            if (windowResult.getOutOfSampleTradingRecord().isClosed()) {
+                // Without opened trade, the equity grows by the total profit of the window
+                assertNumEquals(previousEquity.multipliedBy(windowResult.getOutOfSampleValue()), equity);
+            }
+            previousEquity = equity;
+        }
+    }
+
+    @Test
+    public void parallelRunKeepsResults() {
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 20, 10,
+                WalkForwardOptimizer.Mode.ANCHORED);
+        List<Strategy> strategies = buildStrategies();
+        WalkForwardResult expected = optimizer.run(strategies);
+        WalkForwardResult result = optimizer.run(strategies, executorService);
+
+        assertEquals(expected.getWindowResults().size(), result.getWindowResults().size());
+        for (int w = 0; w < result.getWindowResults().size(); w++) {
+            assertSame(expected.getWindowResults().get(w).getStrategy(),
+                    result.getWindowResults().get(w).getStrategy());
+            assertNumEquals(expected.getWindowResults().get(w).getOutOfSampleValue(),
+                    result.getWindowResults().get(w).getOutOfSampleValue());
+        }
+        assertEquals(expected.getEquityCurve().size(), result.getEquityCurve().size());
+        for (int i = 0; i < result.getEquityCurve().size(); i++) {
+            assertNumEquals(expected.getEquityCurve().get(i), result.getEquityCurve().get(i));
+        }
+    }
+
+    @Test
+    public void parallelRunNeverSharesStatefulRules() {
+        AtomicInteger overlaps = new AtomicInteger();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<Strategy> strategies = new ArrayList<>();
+        for (int barCount = 2; barCount <= 5; barCount++) {
+            SMAIndicator sma = new SMAIndicator(closePrice, barCount);
+            AtomicInteger running = new AtomicInteger();
+            // Trailing stop-loss rule detecting its concurrent uses
+            Rule exitRule = new TrailingStopLossRule(closePrice, numOf(3)) {
+                @Override
+                public boolean isSatisfied(int index, TradingRecord tradingRecord) {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    try {
+                        Thread.yield();
+                        return super.isSatisfied(index, tradingRecord);
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                }
+            };
+            strategies.add(new BaseStrategy("trailing " + barCount, new CrossedUpIndicatorRule(closePrice, sma),
+                    exitRule, null));
+        }
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, new TotalProfitCriterion(), 20, 5,
+                WalkForwardOptimizer.Mode.ANCHORED);
+        WalkForwardResult expected = optimizer.run(strategies);
+        WalkForwardResult result = optimizer.run(strategies, executorService);
+
+        assertEquals(0, overlaps.get());
+        for (int w = 0; w < result.getWindowResults().size(); w++) {
+            assertSame(expected.getWindowResults().get(w).getStrategy(),
+                    result.getWindowResults().get(w).getStrategy());
+            assertNumEquals(expected.getWindowResults().get(w).getInSampleValue(),
+                    result.getWindowResults().get(w).getInSampleValue());
+            assertNumEquals(expected.getWindowResults().get(w).getOutOfSampleValue(),
+                    result.getWindowResults().get(w).getOutOfSampleValue());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelRunPropagatesStrategyFailure() {
+        Rule failingRule = (index, tradingRecord) -> {
+            throw new IllegalArgumentException("failing rule");
+        };
+        List<Strategy> strategies = buildStrategies();
+        strategies.add(new BaseStrategy("failing", failingRule, failingRule, null));
+        new WalkForwardOptimizer(series, new TotalProfitCriterion(), 30, 20, WalkForwardOptimizer.Mode.ROLLING)
+                .run(strategies, executorService);
+    }
+}
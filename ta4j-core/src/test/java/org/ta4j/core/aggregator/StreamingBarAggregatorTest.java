@@ -0,0 +1,197 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class StreamingBarAggregatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private BarSeries minutes;
+
+    private BarSeries fiveMinutes;
+
+    private BarSeries hours;
+
+    private StreamingBarAggregator aggregator;
+
+    public StreamingBarAggregatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        minutes = new BaseBarSeries("1m", numFunction);
+        fiveMinutes = new BaseBarSeries("5m", numFunction);
+        hours = new BaseBarSeries("1h", numFunction);
+        aggregator = new StreamingBarAggregator(UTC).addTimePeriod(Duration.ofMinutes(1), minutes)
+                .addTimePeriod(Duration.ofMinutes(5), fiveMinutes).addTimePeriod(Duration.ofHours(1), hours);
+    }
+
+    @Test
+    public void aggregateTrades() {
+        long start = ZonedDateTime.of(2020, 1, 1, 10, 0, 0, 0, UTC).toInstant().toEpochMilli();
+        // One trade every 20 seconds during two hours
+        for (int i = 0; i < 360; i++) {
+            aggregator.addTrade(start + i * 20_000L, 1, 100 + i % 7);
+        }
+        // The last bars are pending
+        assertEquals(119, minutes.getBarCount());
+        assertEquals(23, fiveMinutes.getBarCount());
+        assertEquals(1, hours.getBarCount());
+        assertEquals(3, aggregator.getPendingBar(Duration.ofMinutes(1)).getTrades());
+
+        aggregator.flush();
+        assertEquals(120, minutes.getBarCount());
+        assertEquals(24, fiveMinutes.getBarCount());
+        assertEquals(2, hours.getBarCount());
+        assertNull(aggregator.getPendingBar(Duration.ofHours(1)));
+
+        Bar hour = hours.getFirstBar();
+        assertEquals(ZonedDateTime.of(2020, 1, 1, 11, 0, 0, 0, UTC), hour.getEndTime());
+        assertEquals(Duration.ofHours(1), hour.getTimePeriod());
+        assertNumEquals(100, hour.getOpenPrice());
+        assertNumEquals(106, hour.getHighPrice());
+        assertNumEquals(100, hour.getLowPrice());
+        // Trade 179: 100 + 179 % 7
+        assertNumEquals(104, hour.getClosePrice());
+        assertNumEquals(180, hour.getVolume());
+        assertEquals(180, hour.getTrades());
+
+        Bar fiveMinute = fiveMinutes.getBar(1);
+        assertEquals(ZonedDateTime.of(2020, 1, 1, 10, 10, 0, 0, UTC), fiveMinute.getEndTime());
+        assertNumEquals(15, fiveMinute.getVolume());
+    }
+
+    @Test
+    public void aggregateBarsInSync() {
+        List<Bar> bars = new ArrayList<>();
+        ZonedDateTime time = ZonedDateTime.of(2020, 1, 1, 10, 0, 0, 0, UTC);
+        for (int i = 1; i <= 120; i++) {
+            bars.add(new BaseBar(Duration.ofMinutes(1), time.plusMinutes(i), i, i + 1, i - 1, i + 0.5, 10, i * 10, 2,
+                    numFunction));
+        }
+        for (int i = 0; i < 60; i++) {
+            aggregator.addBar(bars.get(i));
+        }
+        // The bar ending at 11:00 completes the 5 minutes and hour bars
+        assertEquals(60, minutes.getBarCount());
+        assertEquals(12, fiveMinutes.getBarCount());
+        assertEquals(1, hours.getBarCount());
+
+        Bar fiveMinute = fiveMinutes.getBar(2);
+        assertEquals(time.plusMinutes(15), fiveMinute.getEndTime());
+        assertNumEquals(11, fiveMinute.getOpenPrice());
+        assertNumEquals(16, fiveMinute.getHighPrice());
+        assertNumEquals(10, fiveMinute.getLowPrice());
+        assertNumEquals(15.5, fiveMinute.getClosePrice());
+        assertNumEquals(50, fiveMinute.getVolume());
+        assertNumEquals(650, fiveMinute.getAmount());
+        assertEquals(10, fiveMinute.getTrades());
+        assertNumEquals(600, hours.getFirstBar().getVolume());
+
+        // A gap: the next bars are not complete before the next input
+        aggregator.addBar(bars.get(90));
+        assertEquals(1, hours.getBarCount());
+        assertEquals(61, minutes.getBarCount());
+        assertEquals(12, fiveMinutes.getBarCount());
+        assertNumEquals(91, aggregator.getPendingBar(Duration.ofMinutes(5)).getOpenPrice());
+    }
+
+    @Test
+    public void volumeAndAmountKeepNumType() {
+        ZonedDateTime time = ZonedDateTime.of(2020, 1, 1, 10, 0, 0, 0, UTC);
+        Num expectedVolume = numOf(0);
+        Num expectedAmount = numOf(0);
+        for (int i = 0; i < 10; i++) {
+            aggregator.addTrade(time.plusSeconds(i), numOf(0.1), numOf(1.1));
+            expectedVolume = expectedVolume.plus(numOf(0.1));
+            expectedAmount = expectedAmount.plus(numOf(0.1).multipliedBy(numOf(1.1)));
+        }
+        aggregator.flush();
+        assertNumEquals(expectedVolume, hours.getFirstBar().getVolume());
+        assertNumEquals(expectedAmount, hours.getFirstBar().getAmount());
+        assertNumEquals(numOf(1.1), hours.getFirstBar().getClosePrice());
+    }
+
+    @Test
+    public void barsAlignedOnLocalTime() {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        BarSeries days = new BaseBarSeries("1d", numFunction);
+        StreamingBarAggregator localAggregator = new StreamingBarAggregator(newYork)
+                .addTimePeriod(Duration.ofHours(1), hours).addTimePeriod(Duration.ofDays(1), days);
+        // Around the daylight saving time change of 2020-03-08
+        ZonedDateTime time = ZonedDateTime.of(2020, 3, 6, 23, 30, 0, 0, newYork);
+        while (time.isBefore(ZonedDateTime.of(2020, 3, 9, 0, 30, 0, 0, newYork))) {
+            localAggregator.addTrade(time, numOf(1), numOf(10));
+            time = time.plusHours(1);
+        }
+        localAggregator.flush();
+        assertEquals(3, days.getBarCount());
+        assertEquals(ZonedDateTime.of(2020, 3, 7, 0, 0, 0, 0, newYork), days.getBar(0).getEndTime());
+        assertNumEquals(1, days.getBar(0).getVolume());
+        assertEquals(ZonedDateTime.of(2020, 3, 8, 0, 0, 0, 0, newYork), days.getBar(1).getEndTime());
+        assertNumEquals(24, days.getBar(1).getVolume());
+        // The local day of the change lasts 23 hours
+        assertEquals(ZonedDateTime.of(2020, 3, 9, 0, 0, 0, 0, newYork), days.getBar(2).getEndTime());
+        assertEquals(Duration.ofHours(23), days.getBar(2).getTimePeriod());
+        assertNumEquals(23, days.getBar(2).getVolume());
+        assertEquals(48, hours.getBarCount());
+        for (int i = 0; i < hours.getBarCount(); i++) {
+            assertEquals(0, hours.getBar(i).getEndTime().getMinute());
+            assertNumEquals(1, hours.getBar(i).getVolume());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barPeriodMustDivideTimePeriods() {
+        aggregator.addBar(new MockBar(ZonedDateTime.of(2020, 1, 1, 10, 0, 0, 0, UTC), 1, numFunction));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedInputs() {
+        aggregator.addTrade(2000, 1, 10);
+        aggregator.addTrade(1000, 1, 10);
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBar;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class ThresholdBarAggregatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final double[] PRICES = { 10, 11, 12, 11, 11, 10, 9, 10, 11, 12 };
+
+    private static final double[] VOLUMES = { 1, 2, 3, 1, 2, 3, 1, 2, 3, 1 };
+
+    private ZonedDateTime time;
+
+    /** One bar per trade */
+    private List<Bar> trades;
+
+    public ThresholdBarAggregatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        time = ZonedDateTime.of(2020, 1, 1, 10, 0, 0, 0, ZoneId.of("UTC"));
+        trades = new ArrayList<>();
+        for (int i = 0; i < PRICES.length; i++) {
+            trades.add(new BaseBar(Duration.ofSeconds(1), time.plusSeconds(i + 1), PRICES[i], PRICES[i], PRICES[i],
+                    PRICES[i], VOLUMES[i], PRICES[i] * VOLUMES[i], 1, numFunction));
+        }
+    }
+
+    /**
+     * Streams the trades into a new series.
+     */
+    private BarSeries stream(Function<BarSeries, ThresholdBarAggregator> aggregatorFactory) {
+        BarSeries series = new BaseBarSeries("stream", numFunction);
+        ThresholdBarAggregator aggregator = aggregatorFactory.apply(series);
+        for (int i = 0; i < PRICES.length; i++) {
+            aggregator.addTrade(time.plusSeconds(i + 1), numOf(VOLUMES[i]), numOf(PRICES[i]));
+        }
+        return series;
+    }
+
+    private void assertSameBars(List<Bar> expected, BarSeries series) {
+        assertEquals(expected.size(), series.getBarCount());
+        for (int i = 0; i < expected.size(); i++) {
+            Bar bar = series.getBar(i);
+            assertEquals(expected.get(i).getEndTime(), bar.getEndTime());
+            assertNumEquals(expected.get(i).getOpenPrice(), bar.getOpenPrice());
+            assertNumEquals(expected.get(i).getHighPrice(), bar.getHighPrice());
+            assertNumEquals(expected.get(i).getLowPrice(), bar.getLowPrice());
+            assertNumEquals(expected.get(i).getClosePrice(), bar.getClosePrice());
+            assertNumEquals(expected.get(i).getVolume(), bar.getVolume());
+            assertNumEquals(expected.get(i).getAmount(), bar.getAmount());
+            assertEquals(expected.get(i).getTrades(), bar.getTrades());
+        }
+    }
+
+    @Test
+    public void tickBars() {
+        List<Bar> bars = new TickBarAggregator(3).aggregate(trades);
+        assertEquals(3, bars.size());
+        Bar first = bars.get(0);
+        assertEquals(3, first.getTrades());
+        assertNumEquals(10, first.getOpenPrice());
+        assertNumEquals(12, first.getHighPrice());
+        assertNumEquals(10, first.getLowPrice());
+        assertNumEquals(12, first.getClosePrice());
+        assertNumEquals(6, first.getVolume());
+        assertNumEquals(68, first.getAmount());
+        assertEquals(time.plusSeconds(3), first.getEndTime());
+        assertEquals(Duration.ofSeconds(3), first.getTimePeriod());
+        assertSameBars(bars, stream(series -> new TickBarAggregator(3, series)));
+    }
+
+    @Test
+    public void volumeBars() {
+        List<Bar> bars = new VolumeBarAggregator(4).aggregate(trades);
+        // Volumes 1+2+3, 1+2+3, 1+2+3 (the last trade is pending)
+        assertEquals(3, bars.size());
+        assertNumEquals(6, bars.get(1).getVolume());
+        assertNumEquals(10, bars.get(1).getClosePrice());
+        assertSameBars(bars, stream(series -> new VolumeBarAggregator(4, series)));
+    }
+
+    @Test
+    public void amountBars() {
+        List<Bar> bars = new AmountBarAggregator(50).aggregate(trades);
+        // Amounts 10+22+36, 11+22+30, 9+20+33, 12
+        assertEquals(3, bars.size());
+        assertNumEquals(68, bars.get(0).getAmount());
+        assertNumEquals(63, bars.get(1).getAmount());
+        assertNumEquals(62, bars.get(2).getAmount());
+        assertSameBars(bars, stream(series -> new AmountBarAggregator(50, series)));
+    }
+
+    @Test
+    public void tickImbalanceBars() {
+        // Signs: 0, +1, +1 | -1, -1 (unchanged price) | -1, -1 | +1, +1 | +1
+        List<Bar> bars = new ImbalanceBarAggregator(2, false).aggregate(trades);
+        assertEquals(4, bars.size());
+        assertEquals(3, bars.get(0).getTrades());
+        assertEquals(2, bars.get(1).getTrades());
+        assertNumEquals(11, bars.get(1).getClosePrice());
+        assertNumEquals(9, bars.get(2).getClosePrice());
+        assertNumEquals(11, bars.get(3).getClosePrice());
+        assertSameBars(bars, stream(series -> new ImbalanceBarAggregator(2, false, series)));
+    }
+
+    @Test
+    public void volumeImbalanceBars() {
+        // Signed volumes: 0, +2, +3 | -1, -2 | -3 | -1, +2, +3 | +1
+        List<Bar> bars = new ImbalanceBarAggregator(3, true).aggregate(trades);
+        assertEquals(4, bars.size());
+        assertEquals(2, bars.get(1).getTrades());
+        assertEquals(1, bars.get(2).getTrades());
+        assertEquals(3, bars.get(3).getTrades());
+        assertSameBars(bars, stream(series -> new ImbalanceBarAggregator(3, true, series)));
+    }
+
+    @Test
+    public void flushPendingBar() {
+        BarSeries series = new BaseBarSeries("stream", numFunction);
+        VolumeBarAggregator aggregator = new VolumeBarAggregator(4, series);
+        aggregator.addTrade(time, numOf(1), numOf(10));
+        assertEquals(0, series.getBarCount());
+        aggregator.flush();
+        assertEquals(1, series.getBarCount());
+        assertNumEquals(1, series.getFirstBar().getVolume());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void streamingNeedsSeries() {
+        new TickBarAggregator(3).addTrade(time, numOf(1), numOf(10));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void thresholdMustBePositive() {
+        new VolumeBarAggregator(0);
+    }
+}
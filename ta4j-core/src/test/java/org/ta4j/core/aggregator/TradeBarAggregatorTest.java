@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.aggregator;
+
+import org.junit.Test;
+import org.ta4j.core.Bar;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.num.Num;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class TradeBarAggregatorTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    public TradeBarAggregatorTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Test
+    public void aggregateTrades() {
+        BarSeries series = new BaseBarSeries("trades", numFunction);
+        TradeBarAggregator aggregator = new TradeBarAggregator(series, Duration.ofMinutes(1), UTC);
+        long start = 1_000_000_000_000L;
+        aggregator.addTrade(start, 10, 1);
+        aggregator.addTrade(start + 20_000, 12, 2);
+        aggregator.addTrade(start + 59_999, 9, 1);
+        assertEquals(0, series.getBarCount());
+        // No trade in the second minute
+        aggregator.addTrade(start + 150_000, 11, 3);
+        assertEquals(1, series.getBarCount());
+        aggregator.addTrade(start + 179_999, 13, 1);
+        aggregator.flush();
+        assertEquals(2, series.getBarCount());
+
+        Bar first = series.getBar(0);
+        assertEquals(ZonedDateTime.ofInstant(Instant.ofEpochMilli(start + 60_000), UTC), first.getEndTime());
+        assertNumEquals(10, first.getOpenPrice());
+        assertNumEquals(12, first.getHighPrice());
+        assertNumEquals(9, first.getLowPrice());
+        assertNumEquals(9, first.getClosePrice());
+        assertNumEquals(4, first.getVolume());
+        assertNumEquals(43, first.getAmount());
+        assertEquals(3, first.getTrades());
+
+        Bar second = series.getBar(1);
+        assertEquals(ZonedDateTime.ofInstant(Instant.ofEpochMilli(start + 180_000), UTC), second.getEndTime());
+        assertNumEquals(11, second.getOpenPrice());
+        assertNumEquals(13, second.getClosePrice());
+        assertNumEquals(4, second.getVolume());
+        assertEquals(2, second.getTrades());
+    }
+
+    @Test
+    public void flushWithoutTrade() {
+        BarSeries series = new BaseBarSeries("trades", numFunction);
+        new TradeBarAggregator(series, Duration.ofMinutes(1), UTC).flush();
+        assertEquals(0, series.getBarCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedTrades() {
+        TradeBarAggregator aggregator = new TradeBarAggregator(new BaseBarSeries("trades", numFunction),
+                Duration.ofMinutes(1), UTC);
+        aggregator.addTrade(2000, 10, 1);
+        aggregator.addTrade(1000, 10, 1);
+    }
+}
@@ -26,14 +26,21 @@ package org.ta4j.core.indicators;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.*;
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.ConstantIndicator;
+import org.ta4j.core.indicators.helpers.CrossIndicator;
 import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
 
 import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Function;
 
 import static org.junit.Assert.*;
@@ -185,4 +192,146 @@ public class CachedIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, N
         assertNumEquals(2, closePrice.getValue(1));
     }
 
+    @Test
+    public void primitiveCacheMode() {
+        double[] data = new double[50];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        MockBarSeries barSeries = new MockBarSeries(numFunction, data);
+        barSeries.setCacheMode(CacheMode.PRIMITIVE);
+        barSeries.setMaximumBarCount(20);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(barSeries);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        CrossIndicator cross = new CrossIndicator(closePrice, sma);
+        for (int i = 32; i < 50; i++) {
+            assertNumEquals(i - 1, sma.getValue(i));
+            assertFalse(cross.getValue(i));
+        }
+        // Cached results
+        for (int i = 32; i < 49; i++) {
+            assertNumEquals(i - 1, sma.getValue(i));
+        }
+    }
+
+    @Test
+    public void concurrentCacheMode() throws Exception {
+        double[] data = new double[2000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = i;
+        }
+        MockBarSeries barSeries = new MockBarSeries(numFunction, data);
+        barSeries.setCacheMode(CacheMode.CONCURRENT);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(barSeries);
+        AtomicIntegerArray calculations = new AtomicIntegerArray(data.length);
+        CachedIndicator<Num> sma = new CachedIndicator<Num>(barSeries) {
+            private final SMAIndicator delegate = new SMAIndicator(closePrice, 3);
+
+            @Override
+            protected Num calculate(int index) {
+                calculations.incrementAndGet(index);
+                return delegate.getValue(index);
+            }
+        };
+        sma.setLastBarCached(true);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executorService.submit(() -> {
+                    for (int i = 2; i < data.length; i++) {
+                        assertNumEquals(i - 1, sma.getValue(i));
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        // Each index is calculated once, the last bar included as it does not change
+        for (int i = 2; i < data.length; i++) {
+            assertEquals(1, calculations.get(i));
+        }
+    }
+
+    @Test
+    public void lastBarCachedUntilChanged() {
+        BarSeries barSeries = new MockBarSeries(numFunction, 1, 2, 3, 4, 5);
+        int[] calculations = new int[1];
+        SMAIndicator sma = new SMAIndicator(new ClosePriceIndicator(barSeries), 2);
+        CachedIndicator<Num> indicator = new CachedIndicator<Num>(barSeries) {
+            @Override
+            protected Num calculate(int index) {
+                calculations[0]++;
+                return sma.getValue(index);
+            }
+        };
+        indicator.setLastBarCached(true);
+        Num value = indicator.getValue(4);
+        assertSame(value, indicator.getValue(4));
+        assertEquals(4.5, indicator.getDoubleValue(4), 0);
+        assertEquals(1, calculations[0]);
+
+        barSeries.addPrice(numOf(9));
+        assertNumEquals(6.5, indicator.getValue(4));
+        assertNumEquals(6.5, indicator.getValue(4));
+        assertEquals(2, calculations[0]);
+
+        barSeries.getLastBar().addPrice(numOf(1));
+        assertNumEquals(2.5, indicator.getValue(4));
+        assertEquals(3, calculations[0]);
+
+        barSeries.addBar(barSeries.getLastBar().getEndTime().plusDays(1), 6, 6, 6, 6);
+        assertNumEquals(3.5, indicator.getValue(5));
+        assertNumEquals(3.5, indicator.getValue(5));
+        assertNumEquals(2.5, indicator.getValue(4));
+        assertEquals(5, calculations[0]);
+    }
+
+    @Test
+    public void lastBarCalculatedOnEachCallByDefault() {
+        BarSeries barSeries = new MockBarSeries(numFunction, 1, 2, 3, 4, 5);
+        BarSeries otherSeries = new MockBarSeries(numFunction, 1, 2, 3, 4, 5);
+        ClosePriceIndicator otherClose = new ClosePriceIndicator(otherSeries);
+        CachedIndicator<Num> indicator = new CachedIndicator<Num>(barSeries) {
+            @Override
+            protected Num calculate(int index) {
+                return otherClose.getValue(index);
+            }
+        };
+        assertFalse(indicator.isLastBarCached());
+        assertNumEquals(5, indicator.getValue(4));
+
+        // The last bar of the series of the indicator has not changed
+        otherSeries.addPrice(numOf(9));
+        assertNumEquals(9, indicator.getValue(4));
+        assertEquals(9, indicator.getDoubleValue(4), 0);
+    }
+
+    @Test
+    public void doubleValues() {
+        ColumnarBarSeries columnarSeries = new ColumnarBarSeries("columnar", numFunction);
+        columnarSeries.setCacheMode(CacheMode.PRIMITIVE);
+        for (int i = 0; i < 500; i++) {
+            double close = 100 + Math.sin(i / 7d) * 10;
+            columnarSeries.addBar(i * 60000L, (i + 1) * 60000L, close, close, close, close, 1, close, 1);
+        }
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(columnarSeries);
+        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        EMAIndicator ema = new EMAIndicator(sma, 10);
+        EMAIndicator objectEma = new EMAIndicator(new SMAIndicator(new ClosePriceIndicator(columnarSeries), 20), 10);
+
+        // Primitive values first, then the cached ones as Num
+        for (int i = 0; i <= columnarSeries.getEndIndex(); i++) {
+            assertEquals(objectEma.getValue(i).doubleValue(), ema.getDoubleValue(i), 1e-12);
+        }
+        for (int i = 0; i <= columnarSeries.getEndIndex(); i++) {
+            assertEquals(objectEma.getValue(i), ema.getValue(i));
+            assertEquals(columnarSeries.getBar(i).getClosePrice(), closePrice.getValue(i));
+        }
+    }
 }
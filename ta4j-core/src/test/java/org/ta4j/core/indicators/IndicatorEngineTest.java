@@ -0,0 +1,242 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class IndicatorEngineTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private static final double[] CLOSE_PRICES = { 1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2, 5, 6, 5, 4 };
+
+    private final ZonedDateTime start = ZonedDateTime.now();
+
+    private BarSeries series;
+
+    private IndicatorEngine engine;
+
+    public IndicatorEngineTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        engine = new IndicatorEngine(series);
+    }
+
+    private void addBar(int i) {
+        engine.addBar(new MockBar(start.plusDays(i), CLOSE_PRICES[i], numFunction));
+    }
+
+    @Test
+    public void pushedValuesMatchPulledValues() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        RSIIndicator rsi = new RSIIndicator(closePrice, 5);
+        List<Num> smaValues = new ArrayList<>();
+        List<Num> rsiValues = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        engine.register(closePrice).subscribe(sma, (index, value) -> {
+            indexes.add(index);
+            smaValues.add(value);
+        }).subscribe(rsi, (index, value) -> rsiValues.add(value));
+        // With the gain, loss and their averages of the RSI
+        assertEquals(7, engine.size());
+
+        for (int i = 0; i < CLOSE_PRICES.length; i++) {
+            addBar(i);
+            assertEquals(i, engine.getLastIndex());
+            assertNumEquals(CLOSE_PRICES[i], engine.getValue(closePrice));
+        }
+
+        BarSeries reference = new MockBarSeries(numFunction, CLOSE_PRICES);
+        SMAIndicator referenceSma = new SMAIndicator(new ClosePriceIndicator(reference), 3);
+        RSIIndicator referenceRsi = new RSIIndicator(new ClosePriceIndicator(reference), 5);
+        assertEquals(CLOSE_PRICES.length, indexes.size());
+        for (int i = 0; i < CLOSE_PRICES.length; i++) {
+            assertEquals(i, indexes.get(i).intValue());
+            assertNumEquals(referenceSma.getValue(i), smaValues.get(i));
+            assertNumEquals(referenceRsi.getValue(i), rsiValues.get(i));
+        }
+    }
+
+    @Test
+    public void lastBarUpdates() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 2);
+        List<Num> values = new ArrayList<>();
+        engine.subscribe(sma, (index, value) -> values.add(value));
+        addBar(0);
+        addBar(1);
+        assertNumEquals(1.5, values.get(1));
+
+        engine.addPrice(4);
+        assertEquals(1, engine.getLastIndex());
+        assertNumEquals(2.5, values.get(2));
+
+        engine.addTrade(10, 6);
+        assertNumEquals(3.5, values.get(3));
+        assertNumEquals(6, series.getLastBar().getClosePrice());
+        assertEquals(4, values.size());
+    }
+
+    @Test
+    public void subscriptions() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        List<Num> values = new ArrayList<>();
+        IndicatorListener<Num> listener = (index, value) -> values.add(value);
+        engine.register(closePrice).subscribe(closePrice, listener).register(closePrice);
+        assertEquals(1, engine.size());
+        assertNull(engine.getValue(closePrice));
+
+        addBar(0);
+        assertTrue(engine.unsubscribe(listener));
+        assertFalse(engine.unsubscribe(listener));
+        addBar(1);
+        assertEquals(1, values.size());
+        assertNumEquals(CLOSE_PRICES[1], engine.getValue(closePrice));
+    }
+
+    @Test
+    public void inputsEvaluatedFirst() {
+        List<String> evaluations = new ArrayList<>();
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        Indicator<Num> input = new RecordingIndicator("input", closePrice, evaluations);
+        Indicator<Num> output = new RecordingIndicator("output", input, evaluations);
+        // Only the output is registered, its inputs are found in its fields
+        engine.register(output);
+        assertEquals(3, engine.size());
+        addBar(0);
+        assertEquals(2, evaluations.size());
+        assertEquals("input", evaluations.get(0));
+        assertEquals("output", evaluations.get(1));
+        assertNumEquals(CLOSE_PRICES[0], engine.getValue(input));
+        assertTrue(((CachedIndicator<Num>) output).isLastBarCached());
+
+        // Registering an input again changes nothing
+        engine.register(input).register(closePrice);
+        assertEquals(3, engine.size());
+    }
+
+    @Test
+    public void declaredInputs() {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 3);
+        CachedIndicator<Num> indicator = new CachedIndicator<Num>(series) {
+            @Override
+            protected Num calculate(int index) {
+                return sma.getValue(index);
+            }
+
+            @Override
+            public List<Indicator<?>> getInputs() {
+                return Collections.singletonList(sma);
+            }
+        };
+        engine.register(indicator);
+        assertEquals(3, engine.size());
+        assertEquals(Collections.singletonList(closePrice), sma.getInputs());
+        addBar(0);
+        assertNumEquals(CLOSE_PRICES[0], engine.getValue(sma));
+        assertNumEquals(CLOSE_PRICES[0], engine.getValue(indicator));
+    }
+
+    @Test
+    public void lastBarNotCachedWithInputOfAnotherSeries() {
+        BarSeries otherSeries = new MockBarSeries(numFunction, 1, 2);
+        ClosePriceIndicator otherClosePrice = new ClosePriceIndicator(otherSeries);
+        CachedIndicator<Num> indicator = new CachedIndicator<Num>(series) {
+            private final Indicator<Num> input = otherClosePrice;
+
+            @Override
+            protected Num calculate(int index) {
+                return input.getValue(otherSeries.getEndIndex());
+            }
+        };
+        engine.register(indicator);
+        assertEquals(1, engine.size());
+        assertFalse(indicator.isLastBarCached());
+        addBar(0);
+        assertNumEquals(2, engine.getValue(indicator));
+
+        otherSeries.addPrice(numOf(7));
+        engine.update();
+        assertNumEquals(7, engine.getValue(indicator));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeries() {
+        engine.register(new ClosePriceIndicator(new MockBarSeries(numFunction, 1, 2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueOfUnregisteredIndicator() {
+        engine.getValue(new ClosePriceIndicator(series));
+    }
+
+    /**
+     * Indicator recording its evaluations.
+     */
+    private static class RecordingIndicator extends CachedIndicator<Num> {
+
+        private final String name;
+
+        private final Indicator<Num> indicator;
+
+        private final List<String> evaluations;
+
+        private RecordingIndicator(String name, Indicator<Num> indicator, List<String> evaluations) {
+            super(indicator);
+            this.name = name;
+            this.indicator = indicator;
+            this.evaluations = evaluations;
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            evaluations.add(name);
+            return indicator.getValue(index);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.ColumnarBarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsLowerIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsMiddleIndicator;
+import org.ta4j.core.indicators.bollinger.BollingerBandsUpperIndicator;
+import org.ta4j.core.indicators.helpers.CloseLocationValueIndicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.DifferenceIndicator;
+import org.ta4j.core.indicators.helpers.GainIndicator;
+import org.ta4j.core.indicators.helpers.HighestValueIndicator;
+import org.ta4j.core.indicators.helpers.LossIndicator;
+import org.ta4j.core.indicators.helpers.LowestValueIndicator;
+import org.ta4j.core.indicators.helpers.MedianPriceIndicator;
+import org.ta4j.core.indicators.helpers.MultiplierIndicator;
+import org.ta4j.core.indicators.helpers.TRIndicator;
+import org.ta4j.core.indicators.helpers.TypicalPriceIndicator;
+import org.ta4j.core.indicators.statistics.CovarianceIndicator;
+import org.ta4j.core.indicators.statistics.MeanDeviationIndicator;
+import org.ta4j.core.indicators.statistics.StandardDeviationIndicator;
+import org.ta4j.core.indicators.statistics.VarianceIndicator;
+import org.ta4j.core.num.Num;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+
+public class IndicatorFillTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    public IndicatorFillTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private static void addBars(BarSeries series, int count) {
+        Random random = new Random(11);
+        ZonedDateTime time = ZonedDateTime.now();
+        double close = 100;
+        for (int i = 0; i < count; i++) {
+            double open = close;
+            close = Math.max(1, open + random.nextGaussian());
+            double high = Math.max(open, close) + random.nextDouble();
+            double low = Math.min(open, close) - random.nextDouble();
+            series.addBar(time.plusMinutes(i), open, high, low, close, 1000);
+        }
+    }
+
+    private static List<Indicator<Num>> buildIndicators(BarSeries series) {
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 20);
+        StandardDeviationIndicator deviation = new StandardDeviationIndicator(closePrice, 20);
+        BollingerBandsMiddleIndicator middle = new BollingerBandsMiddleIndicator(sma);
+        StochasticOscillatorKIndicator k = new StochasticOscillatorKIndicator(series, 14);
+        List<Indicator<Num>> indicators = new ArrayList<>();
+        indicators.add(closePrice);
+        indicators.add(sma);
+        indicators.add(new EMAIndicator(closePrice, 10));
+        indicators.add(new MMAIndicator(closePrice, 14));
+        indicators.add(new GainIndicator(closePrice));
+        indicators.add(new LossIndicator(closePrice));
+        indicators.add(new RSIIndicator(closePrice, 14));
+        indicators.add(new MACDIndicator(closePrice, 12, 26));
+        indicators.add(new HighestValueIndicator(closePrice, 14));
+        indicators.add(new LowestValueIndicator(closePrice, 14));
+        indicators.add(new TRIndicator(series));
+        indicators.add(new ATRIndicator(series, 14));
+        indicators.add(new VarianceIndicator(closePrice, 20));
+        indicators.add(deviation);
+        indicators.add(middle);
+        indicators.add(new BollingerBandsUpperIndicator(middle, deviation));
+        indicators.add(new BollingerBandsLowerIndicator(middle, deviation));
+        indicators.add(k);
+        indicators.add(new StochasticOscillatorDIndicator(k));
+        indicators.add(new DifferenceIndicator(closePrice, sma));
+        indicators.add(new MultiplierIndicator(closePrice, 1.5));
+        indicators.add(new TypicalPriceIndicator(series));
+        indicators.add(new MedianPriceIndicator(series));
+        indicators.add(new CloseLocationValueIndicator(series));
+        indicators.add(new MeanDeviationIndicator(closePrice, 20));
+        indicators.add(new CovarianceIndicator(closePrice, new TypicalPriceIndicator(series), 20));
+        return indicators;
+    }
+
+    /**
+     * Checks that the filled values (calculated first, without cached values) are
+     * the values of getDoubleValue.
+     */
+    private void assertFilledValues(BarSeries series, int beginIndex, int endIndex) {
+        List<Indicator<Num>> filled = buildIndicators(series);
+        List<Indicator<Num>> expected = buildIndicators(series);
+        for (int n = 0; n < filled.size(); n++) {
+            double[] values = filled.get(n).getDoubleValues(beginIndex, endIndex);
+            assertEquals(endIndex - beginIndex + 1, values.length);
+            for (int i = beginIndex; i <= endIndex; i++) {
+                double expectedValue = expected.get(n).getDoubleValue(i);
+                assertEquals(filled.get(n) + " at " + i, expectedValue, values[i - beginIndex],
+                        1e-9 * Math.max(1, Math.abs(expectedValue)));
+            }
+        }
+    }
+
+    @Test
+    public void fillWholeSeries() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        addBars(series, 500);
+        assertFilledValues(series, series.getBeginIndex(), series.getEndIndex());
+    }
+
+    @Test
+    public void fillRange() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        addBars(series, 500);
+        assertFilledValues(series, 0, 0);
+        assertFilledValues(series, 5, 10);
+        assertFilledValues(series, 120, 480);
+    }
+
+    @Test
+    public void fillColumnarSeries() {
+        BarSeries series = new ColumnarBarSeries("columnar", numFunction);
+        addBars(series, 300);
+        assertFilledValues(series, 0, series.getEndIndex());
+    }
+
+    @Test
+    public void fillSeriesWithRemovedBars() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        series.setMaximumBarCount(200);
+        addBars(series, 300);
+        // The values of the windows including removed bars depend on the order of
+        // the calculations (see CachedIndicator)
+        assertFilledValues(series, series.getRemovedBarsCount() + 40, series.getEndIndex());
+    }
+
+    @Test
+    public void emptyRange() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+        addBars(series, 10);
+        for (Indicator<Num> indicator : buildIndicators(series)) {
+            assertEquals(0, indicator.getDoubleValues(5, 4).length);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.Indicator;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class IndicatorRegistryTest extends AbstractIndicatorTest<Indicator<Num>, Num> {
+
+    private BarSeries series;
+
+    private IndicatorRegistry registry;
+
+    public IndicatorRegistryTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        series = new MockBarSeries(numFunction, 1, 2, 3, 4, 3, 4, 5, 4, 3, 3, 4, 3, 2);
+        registry = new IndicatorRegistry(series);
+    }
+
+    @Test
+    public void sameArgumentsGiveSameInstance() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        assertSame(closePrice, registry.get(ClosePriceIndicator.class, series));
+
+        EMAIndicator ema = registry.get(EMAIndicator.class, closePrice, 3);
+        assertSame(ema, registry.get(EMAIndicator.class, registry.get(ClosePriceIndicator.class, series), 3));
+        assertNotSame(ema, registry.get(EMAIndicator.class, closePrice, 4));
+        assertNotSame(ema, registry.get(SMAIndicator.class, closePrice, 3));
+        assertEquals(4, registry.size());
+
+        assertNumEquals(new EMAIndicator(new ClosePriceIndicator(series), 3).getValue(10), ema.getValue(10));
+    }
+
+    @Test
+    public void inputIndicatorsAreComparedByIdentity() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        ClosePriceIndicator otherClosePrice = new ClosePriceIndicator(series);
+        assertNotSame(registry.get(SMAIndicator.class, closePrice, 3),
+                registry.get(SMAIndicator.class, otherClosePrice, 3));
+    }
+
+    @Test
+    public void factory() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        MACDIndicator macd = registry.get(MACDIndicator.class, () -> new MACDIndicator(closePrice, 5, 15), closePrice,
+                5, 15);
+        assertSame(macd,
+                registry.get(MACDIndicator.class, () -> new MACDIndicator(closePrice, 5, 15), closePrice, 5, 15));
+        assertSame(macd, registry.get(MACDIndicator.class, closePrice, 5, 15));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indicatorOfAnotherSeries() {
+        BarSeries otherSeries = new MockBarSeries(numFunction, 1, 2, 3);
+        registry.get(SMAIndicator.class, new ClosePriceIndicator(otherSeries), 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noMatchingConstructor() {
+        registry.get(SMAIndicator.class, series, 3);
+    }
+
+    @Test
+    public void mostSpecificConstructor() {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
+        assertEquals("closePrice", registry.get(OverloadedIndicator.class, closePrice, 3).constructor);
+        Indicator<Num> sma = registry.get(SMAIndicator.class, closePrice, 3);
+        assertEquals("indicator", registry.get(OverloadedIndicator.class, sma, 3).constructor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ambiguousConstructors() {
+        registry.get(OverloadedIndicator.class, registry.get(ClosePriceIndicator.class, series), null);
+    }
+
+    public static class OverloadedIndicator extends CachedIndicator<Num> {
+
+        private final String constructor;
+
+        public OverloadedIndicator(Indicator<Num> indicator, int barCount) {
+            super(indicator);
+            constructor = "indicator";
+        }
+
+        public OverloadedIndicator(ClosePriceIndicator closePrice, int barCount) {
+            super(closePrice);
+            constructor = "closePrice";
+        }
+
+        public OverloadedIndicator(ClosePriceIndicator closePrice, String name) {
+            super(closePrice);
+            constructor = "name";
+        }
+
+        public OverloadedIndicator(Indicator<Num> indicator, Num value) {
+            super(indicator);
+            constructor = "value";
+        }
+
+        @Override
+        protected Num calculate(int index) {
+            return numOf(index);
+        }
+    }
+}
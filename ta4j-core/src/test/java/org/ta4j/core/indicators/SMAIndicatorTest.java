@@ -31,8 +31,13 @@ import org.ta4j.core.TestUtils;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.mocks.MockIndicator;
+import org.ta4j.core.num.NaN;
 import org.ta4j.core.num.Num;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
@@ -103,4 +108,75 @@ public class SMAIndicatorTest extends AbstractIndicatorTest<Indicator<Num>, Num>
                 TestUtils.GENERAL_OFFSET);
     }
 
+    /**
+     * @param indicator the indicator
+     * @param barCount  the time frame
+     * @param index     the bar index
+     * @return the average of the window, summed in a loop
+     */
+    private Num loopAverage(Indicator<Num> indicator, int barCount, int index) {
+        Num sum = numOf(0);
+        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+            sum = sum.plus(indicator.getValue(i));
+        }
+        return sum.dividedBy(numOf(Math.min(barCount, index + 1)));
+    }
+
+    @Test
+    public void runningSumMatchesLoop() {
+        Random random = new Random(42);
+        double[] closes = new double[3000];
+        for (int i = 0; i < closes.length; i++) {
+            closes[i] = 100 + random.nextGaussian() * 10;
+        }
+        BarSeries series = new MockBarSeries(numFunction, closes);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 200);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertNumEquals(loopAverage(closePrice, 200, i), sma.getValue(i));
+        }
+        // Random access
+        SMAIndicator otherSma = new SMAIndicator(closePrice, 20);
+        for (int i = 0; i < 500; i++) {
+            int index = random.nextInt(closes.length);
+            assertNumEquals(loopAverage(closePrice, 20, index), otherSma.getValue(index));
+        }
+    }
+
+    @Test
+    public void runningSumWithNaN() {
+        List<Num> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add(i == 7 ? NaN.NaN : numOf(i));
+        }
+        BarSeries series = new MockBarSeries(numFunction, new double[20]);
+        SMAIndicator sma = new SMAIndicator(new MockIndicator(series, values), 3);
+        assertNumEquals(0, sma.getValue(0));
+        assertNumEquals(0.5, sma.getValue(1));
+        for (int i = 2; i < 7; i++) {
+            assertNumEquals(i - 1, sma.getValue(i));
+        }
+        assertEquals(NaN.NaN, sma.getValue(7));
+        assertEquals(NaN.NaN, sma.getValue(8));
+        assertEquals(NaN.NaN, sma.getValue(9));
+        for (int i = 10; i < 20; i++) {
+            assertNumEquals(i - 1, sma.getValue(i));
+        }
+    }
+
+    @Test
+    public void runningSumOnMovingSeries() {
+        BarSeries series = new MockBarSeries(numFunction, 1, 2, 3);
+        series.setMaximumBarCount(10);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator sma = new SMAIndicator(closePrice, 4);
+        assertNumEquals(2, sma.getValue(2));
+        for (int i = 3; i < 100; i++) {
+            series.addBar(series.getLastBar().getEndTime().plusDays(1), i + 1, i + 1, i + 1, i + 1, 1);
+            assertNumEquals(i - 0.5, sma.getValue(i));
+            if (i > 3) {
+                assertNumEquals(i - 1.5, sma.getValue(i - 1));
+            }
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.cache;
+
+import org.junit.Test;
+import org.ta4j.core.num.DoubleNum;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.num.PrecisionNum;
+
+import static org.junit.Assert.*;
+import static org.ta4j.core.num.NaN.NaN;
+
+public class ResultCacheTest {
+
+    @Test
+    public void appendKeepsMaximumSize() {
+        ResultCache<Integer> cache = new ObjectResultCache<>();
+        cache.append(3, 5);
+        assertEquals(3, cache.size());
+        for (int i = 0; i < 3; i++) {
+            assertNull(cache.get(i));
+            cache.set(i, i);
+        }
+        cache.append(4, 5);
+        assertEquals(5, cache.size());
+        // The two oldest results have been dropped
+        assertEquals(Integer.valueOf(2), cache.get(0));
+        assertNull(cache.get(1));
+        assertNull(cache.get(4));
+    }
+
+    @Test
+    public void appendMoreThanMaximumSizeClearsCache() {
+        ResultCache<Integer> cache = new ObjectResultCache<>();
+        cache.append(2, 4);
+        cache.set(0, 1);
+        cache.set(1, 2);
+        cache.append(10, 4);
+        assertEquals(4, cache.size());
+        for (int i = 0; i < 4; i++) {
+            assertNull(cache.get(i));
+        }
+    }
+
+    @Test
+    public void wrapAroundKeepsOrder() {
+        ResultCache<Integer> cache = new ObjectResultCache<>();
+        for (int i = 0; i < 100; i++) {
+            cache.append(1, 7);
+            cache.set(cache.size() - 1, i);
+        }
+        assertEquals(7, cache.size());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(Integer.valueOf(93 + i), cache.get(i));
+        }
+    }
+
+    @Test
+    public void shrinkingMaximumSize() {
+        ResultCache<Integer> cache = new ObjectResultCache<>();
+        cache.append(10, 10);
+        for (int i = 0; i < 10; i++) {
+            cache.set(i, i);
+        }
+        cache.append(1, 4);
+        assertEquals(4, cache.size());
+        assertEquals(Integer.valueOf(7), cache.get(0));
+        assertEquals(Integer.valueOf(9), cache.get(2));
+        assertNull(cache.get(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getOutOfBounds() {
+        ResultCache<Integer> cache = new ObjectResultCache<>();
+        cache.append(2, 10);
+        cache.get(2);
+    }
+
+    @Test
+    public void doubleCacheEncodesValues() {
+        DoubleResultCache cache = new DoubleResultCache();
+        cache.append(4, 100);
+        cache.set(0, DoubleNum.valueOf(1.5));
+        cache.set(1, NaN);
+        cache.set(2, DoubleNum.valueOf(-0.0));
+        assertEquals(DoubleNum.valueOf(1.5), cache.get(0));
+        assertEquals(1.5, cache.getDouble(0), 0);
+        assertSame(NaN, cache.get(1));
+        assertEquals(DoubleNum.valueOf(0), cache.get(2));
+        assertNull(cache.get(3));
+        assertTrue(cache.isSet(2));
+        assertFalse(cache.isSet(3));
+
+        cache.append(99, 100);
+        assertEquals(100, cache.size());
+        assertNull(cache.get(99));
+    }
+
+    @Test
+    public void doubleCacheAcceptsOnlyDoubleNum() {
+        DoubleResultCache cache = new DoubleResultCache();
+        assertTrue(cache.accepts(DoubleNum.valueOf(3)));
+        assertTrue(cache.accepts(NaN));
+        assertTrue(cache.accepts(null));
+        assertFalse(cache.accepts(DoubleNum.valueOf(Double.NaN)));
+        assertFalse(cache.accepts(PrecisionNum.valueOf(3)));
+        assertFalse(cache.accepts(Boolean.TRUE));
+    }
+
+    @Test
+    public void copyIntoObjectCache() {
+        DoubleResultCache cache = new DoubleResultCache();
+        cache.append(3, 3);
+        cache.set(1, DoubleNum.valueOf(2));
+        ResultCache<Num> copy = new ObjectResultCache<>(cache);
+        assertEquals(3, copy.size());
+        assertNull(copy.get(0));
+        assertEquals(DoubleNum.valueOf(2), copy.get(1));
+    }
+
+    @Test
+    public void concurrentCacheLookup() {
+        ConcurrentResultCache<Integer> cache = new ConcurrentResultCache<>();
+        assertNull(cache.lookup(0));
+        cache.append(40, 40);
+        for (int index = 0; index < 40; index++) {
+            cache.set(index, index);
+            cache.publish(index, index);
+        }
+        for (int index = 0; index < 40; index++) {
+            assertEquals(Integer.valueOf(index), cache.lookup(index));
+        }
+        assertNull(cache.lookup(40));
+
+        // Dropping the oldest slots: the entries of the new indexes replace the old
+        // ones sharing their slot in the table
+        cache.append(30, 40);
+        for (int index = 40; index < 70; index++) {
+            cache.set(index - 30, index);
+            cache.publish(index, index);
+        }
+        for (int index = 30; index < 70; index++) {
+            assertEquals(Integer.valueOf(index), cache.lookup(index));
+        }
+        assertNull(cache.lookup(0));
+        assertNull(cache.lookup(5));
+    }
+}
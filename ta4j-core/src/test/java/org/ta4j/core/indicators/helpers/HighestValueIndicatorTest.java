@@ -30,9 +30,13 @@ import org.ta4j.core.BaseBarSeries;
 import org.ta4j.core.Indicator;
 import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.mocks.MockIndicator;
 import org.ta4j.core.num.Num;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Function;
 
 import static junit.framework.TestCase.assertEquals;
@@ -110,4 +114,63 @@ public class HighestValueIndicatorTest extends AbstractIndicatorTest<Indicator<N
                 assertEquals(series.getBar(i).getClosePrice().toString(), highestValue.getValue(i).toString());
         }
     }
+
+    @Test
+    public void slidingWindowMatchesScan() {
+        Random random = new Random(7);
+        List<Num> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Few distinct values for ties, and some NaN
+            values.add(random.nextInt(10) == 0 ? NaN : numOf(random.nextInt(20)));
+        }
+        BarSeries series = new MockBarSeries(numFunction, new double[values.size()]);
+        Indicator<Num> indicator = new MockIndicator(series, values);
+        for (int barCount : new int[] { 1, 2, 5, 30 }) {
+            HighestValueIndicator highest = new HighestValueIndicator(indicator, barCount);
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(scan(values, barCount, i).toString(), highest.getValue(i).toString());
+            }
+            // Random access
+            HighestValueIndicator other = new HighestValueIndicator(indicator, barCount);
+            for (int i = 0; i < 200; i++) {
+                int index = random.nextInt(values.size());
+                assertEquals(scan(values, barCount, index).toString(), other.getValue(index).toString());
+            }
+        }
+    }
+
+    @Test
+    public void slidingWindowOnMovingSeries() {
+        BarSeries series = new MockBarSeries(numFunction, 5);
+        series.setMaximumBarCount(8);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        HighestValueIndicator highest = new HighestValueIndicator(closePrice, 4);
+        List<Num> closes = new ArrayList<>();
+        closes.add(numOf(5));
+        Random random = new Random(3);
+        for (int i = 1; i < 200; i++) {
+            int close = random.nextInt(10);
+            closes.add(numOf(close));
+            series.addBar(series.getLastBar().getEndTime().plusDays(1), close, close, close, close, 1);
+            assertNumEquals(scan(closes, 4, i), highest.getValue(i));
+            assertNumEquals(scan(closes, 4, i - 1), highest.getValue(i - 1));
+        }
+    }
+
+    /**
+     * @param values   the values
+     * @param barCount the window size
+     * @param index    the index
+     * @return the highest value of the window ending at index (NaN values skipped)
+     */
+    private static Num scan(List<Num> values, int barCount, int index) {
+        Num result = NaN;
+        for (int i = Math.max(0, index - barCount + 1); i <= index; i++) {
+            Num value = values.get(i);
+            if (!value.isNaN() && (result.isNaN() || !result.isGreaterThan(value))) {
+                result = value;
+            }
+        }
+        return result;
+    }
 }
@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.kernels;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ScalarArrayKernelsTest {
+
+    private final ArrayKernels kernels = new ScalarArrayKernels();
+
+    private final double[] high = { 12, 11, 10, 15 };
+    private final double[] low = { 9, 10, 10, 12 };
+    private final double[] close = { 10, 11, 10, 13 };
+
+    @Test
+    public void defaultKernelsWithoutProvider() {
+        // No kernels registered in the core module
+        assertTrue(ArrayKernels.getDefault() instanceof ScalarArrayKernels);
+        assertEquals("scalar", ArrayKernels.getDefault().getName());
+    }
+
+    @Test
+    public void elementWise() {
+        double[] result = new double[4];
+        kernels.subtract(high, low, result, 4);
+        assertArrayEquals(new double[] { 3, 1, 0, 3 }, result, 0);
+        kernels.multiply(close, 0.5, result, 4);
+        assertArrayEquals(new double[] { 5, 5.5, 5, 6.5 }, result, 0);
+        kernels.typicalPrice(high, low, close, result, 4);
+        assertArrayEquals(new double[] { 31 / 3d, 32 / 3d, 10, 40 / 3d }, result, 1e-12);
+        kernels.medianPrice(high, low, result, 4);
+        assertArrayEquals(new double[] { 10.5, 10.5, 10, 13.5 }, result, 0);
+        kernels.trueRange(high, low, new double[] { 12, 10, 11, 10 }, result, 4);
+        assertArrayEquals(new double[] { 3, 1, 1, 5 }, result, 0);
+        kernels.closeLocationValue(high, low, close, result, 4);
+        assertArrayEquals(new double[] { -1 / 3d, 1, 0, -1 / 3d }, result, 1e-12);
+    }
+
+    @Test
+    public void reductions() {
+        assertEquals(44, kernels.sum(close, 0, 4), 0);
+        assertEquals(21, kernels.sum(close, 1, 3), 0);
+        assertEquals(0.5, kernels.sumOfSquaredDeviations(close, 1, 3, 10.5), 0);
+        assertEquals(1, kernels.sumOfAbsoluteDeviations(close, 1, 3, 10.5), 0);
+        assertEquals(0.5, kernels.sumOfCrossDeviations(close, high, 1, 3, 10.5, 10.5), 0);
+    }
+}
@@ -23,6 +23,7 @@
  */
 package org.ta4j.core.indicators.statistics;
 
+import org.apache.commons.math3.stat.correlation.PearsonsCorrelation;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
@@ -32,9 +33,12 @@ import org.ta4j.core.indicators.AbstractIndicatorTest;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.indicators.helpers.VolumeIndicator;
 import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.function.Function;
 
 import static org.ta4j.core.TestUtils.assertNumEquals;
@@ -101,4 +105,29 @@ public class PearsonCorrelationIndicatorTest extends AbstractIndicatorTest<Indic
         assertNumEquals(0.9841, coef.getValue(18));
         assertNumEquals(0.9799, coef.getValue(19));
     }
+
+    @Test
+    public void rollingCorrelationMatchesWindowCorrelation() {
+        double[] values1 = randomWalk(1000, 3);
+        double[] values2 = randomWalk(1000, 5);
+        ClosePriceIndicator close1 = new ClosePriceIndicator(new MockBarSeries(numFunction, values1));
+        ClosePriceIndicator close2 = new ClosePriceIndicator(new MockBarSeries(numFunction, values2));
+        PearsonCorrelationIndicator coef = new PearsonCorrelationIndicator(close1, close2, 20, 0);
+        for (int i = 19; i < values1.length; i++) {
+            double expected = new PearsonsCorrelation().correlation(Arrays.copyOfRange(values1, i - 19, i + 1),
+                    Arrays.copyOfRange(values2, i - 19, i + 1));
+            assertNumEquals(expected, coef.getValue(i));
+        }
+    }
+
+    private static double[] randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        double value = 1000;
+        for (int i = 0; i < count; i++) {
+            value += random.nextGaussian();
+            values[i] = value;
+        }
+        return values;
+    }
 }
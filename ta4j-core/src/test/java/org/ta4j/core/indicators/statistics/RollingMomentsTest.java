@@ -0,0 +1,147 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.indicators.statistics;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.indicators.helpers.VolumeIndicator;
+import org.ta4j.core.num.DoubleNum;
+
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class RollingMomentsTest {
+
+    private static BarSeries buildSeries(int barCount, double level) {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum::valueOf).build();
+        addBars(series, barCount, level);
+        return series;
+    }
+
+    private static void addBars(BarSeries series, int barCount, double level) {
+        Random random = new Random(7);
+        ZonedDateTime time = series.isEmpty() ? ZonedDateTime.now() : series.getLastBar().getEndTime().plusMinutes(1);
+        double close = level;
+        for (int i = 0; i < barCount; i++) {
+            close += random.nextGaussian();
+            series.addBar(time.plusMinutes(i), close, close + 1, close - 1, close, 1000 + random.nextInt(500));
+        }
+    }
+
+    /**
+     * Asserts the moments against a two-pass calculation of the window ending at
+     * index.
+     */
+    private static void assertMoments(BarSeries series, RollingMoments.Moments moments, int index, int barCount,
+            double delta) {
+        ClosePriceIndicator close = new ClosePriceIndicator(series);
+        VolumeIndicator volume = new VolumeIndicator(series);
+        int start = Math.max(0, index - barCount + 1);
+        int count = index - start + 1;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = start; i <= index; i++) {
+            meanX += close.getDoubleValue(i) / count;
+            meanY += volume.getDoubleValue(i) / count;
+        }
+        double m2X = 0;
+        double coMoment = 0;
+        for (int i = start; i <= index; i++) {
+            m2X += Math.pow(close.getDoubleValue(i) - meanX, 2);
+            coMoment += (close.getDoubleValue(i) - meanX) * (volume.getDoubleValue(i) - meanY);
+        }
+        assertEquals(count, moments.count);
+        assertEquals(meanX, moments.meanX, delta);
+        assertEquals(meanY, moments.meanY, delta);
+        assertEquals(m2X, moments.getM2X(), delta);
+        assertEquals(coMoment, moments.coMoment, delta * 1000);
+    }
+
+    @Test
+    public void slidingWindowWithoutResync() {
+        // High level and small variations: the naive sums of squares would lose
+        // most of their precision
+        BarSeries series = buildSeries(5000, 100000);
+        RollingMoments moments = new RollingMoments(new ClosePriceIndicator(series), new VolumeIndicator(series),
+                series, 20, 0);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            assertMoments(series, moments.at(i), i, 20, 1e-6);
+        }
+    }
+
+    @Test
+    public void indexesAsXValues() {
+        BarSeries series = buildSeries(100, 100);
+        RollingMoments moments = new RollingMoments(null, new ClosePriceIndicator(series), series, 10, 0);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            RollingMoments.Moments window = moments.at(i);
+            int count = Math.min(10, i + 1);
+            assertEquals(i - (count - 1) / 2d, window.meanX, 1e-9);
+            // Sum of the squared deviations of count consecutive integers
+            assertEquals(count * (count * count - 1) / 12d, window.getM2X(), 1e-9);
+        }
+    }
+
+    @Test
+    public void lastBarIsNotKept() {
+        BarSeries series = buildSeries(50, 100);
+        RollingMoments moments = new RollingMoments(new ClosePriceIndicator(series), new VolumeIndicator(series),
+                series, 10, 0);
+        for (int i = 0; i <= series.getEndIndex(); i++) {
+            moments.at(i);
+        }
+        series.addPrice(250);
+        assertMoments(series, moments.at(series.getEndIndex()), series.getEndIndex(), 10, 1e-9);
+        addBars(series, 1, 100);
+        assertMoments(series, moments.at(series.getEndIndex()), series.getEndIndex(), 10, 1e-9);
+    }
+
+    @Test
+    public void seriesWithRemovedBars() {
+        BarSeries series = new BaseBarSeriesBuilder().withNumTypeOf(DoubleNum::valueOf).build();
+        series.setMaximumBarCount(100);
+        addBars(series, 300, 100);
+        RollingMoments moments = new RollingMoments(new ClosePriceIndicator(series), new VolumeIndicator(series),
+                series, 10, 5);
+        for (int i = series.getRemovedBarsCount() + 10; i <= series.getEndIndex(); i++) {
+            assertMoments(series, moments.at(i), i, 10, 1e-9);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void barCountMustBePositive() {
+        BarSeries series = buildSeries(10, 100);
+        new RollingMoments(new ClosePriceIndicator(series), null, series, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resyncPeriodMustNotBeNegative() {
+        BarSeries series = buildSeries(10, 100);
+        new RollingMoments(new ClosePriceIndicator(series), null, series, 10, -1);
+    }
+}
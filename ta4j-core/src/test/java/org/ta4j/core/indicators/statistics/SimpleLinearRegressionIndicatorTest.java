@@ -32,6 +32,7 @@ import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 
+import java.util.Random;
 import java.util.function.Function;
 
 import static org.junit.Assert.assertTrue;
@@ -118,4 +119,27 @@ public class SimpleLinearRegressionIndicatorTest extends AbstractIndicatorTest<I
         }
         return simpleReg;
     }
+
+    @Test
+    public void rollingRegressionMatchesWindowRegression() {
+        double[] values = new double[1000];
+        Random random = new Random(3);
+        values[0] = 1000;
+        for (int i = 1; i < values.length; i++) {
+            values[i] = values[i - 1] + random.nextGaussian();
+        }
+        ClosePriceIndicator close = new ClosePriceIndicator(new MockBarSeries(numFunction, values));
+        SimpleLinearRegressionIndicator y = new SimpleLinearRegressionIndicator(close, 20,
+                SimpleLinearRegressionIndicator.SimpleLinearRegressionType.Y, 0);
+        SimpleLinearRegressionIndicator slope = new SimpleLinearRegressionIndicator(close, 20,
+                SimpleLinearRegressionIndicator.SimpleLinearRegressionType.SLOPE, 0);
+        for (int i = 19; i < values.length; i++) {
+            SimpleRegression expected = new SimpleRegression();
+            for (int j = i - 19; j <= i; j++) {
+                expected.addData(j, values[j]);
+            }
+            assertNumEquals(expected.predict(i), y.getValue(i));
+            assertNumEquals(expected.getSlope(), slope.getValue(i));
+        }
+    }
 }
@@ -23,6 +23,7 @@
  */
 package org.ta4j.core.indicators.statistics;
 
+import org.apache.commons.math3.stat.descriptive.moment.Variance;
 import org.junit.Before;
 import org.junit.Test;
 import org.ta4j.core.BarSeries;
@@ -32,6 +33,7 @@ import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.mocks.MockBarSeries;
 import org.ta4j.core.num.Num;
 
+import java.util.Random;
 import java.util.function.Function;
 
 import static org.ta4j.core.TestUtils.assertNumEquals;
@@ -89,4 +91,30 @@ public class VarianceIndicatorTest extends AbstractIndicatorTest<Indicator<Num>,
         assertNumEquals(2.25, var.getValue(9));
         assertNumEquals(20.25, var.getValue(10));
     }
+
+    @Test
+    public void rollingVarianceMatchesWindowVariance() {
+        double[] values = randomWalk(1000, 3);
+        ClosePriceIndicator close = new ClosePriceIndicator(new MockBarSeries(numFunction, values));
+        VarianceIndicator var = new VarianceIndicator(close, 20, 0);
+        StandardDeviationIndicator sd = new StandardDeviationIndicator(close, 20, 0);
+        Variance expected = new Variance(false);
+        for (int i = 0; i < values.length; i++) {
+            int start = Math.max(0, i - 19);
+            double variance = expected.evaluate(values, start, i - start + 1);
+            assertNumEquals(variance, var.getValue(i));
+            assertNumEquals(Math.sqrt(variance), sd.getValue(i));
+        }
+    }
+
+    private static double[] randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        double[] values = new double[count];
+        double value = 1000;
+        for (int i = 0; i < count; i++) {
+            value += random.nextGaussian();
+            values[i] = value;
+        }
+        return values;
+    }
 }
@@ -0,0 +1,220 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.live;
+
+import org.junit.Test;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeriesBuilder;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Order;
+import org.ta4j.core.Order.OrderType;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.mocks.MockBar;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.trading.rules.FixedRule;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class LiveTradingEngineTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private final ZonedDateTime start = ZonedDateTime.now();
+
+    public LiveTradingEngineTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    private BarSeries newSeries() {
+        return new BaseBarSeriesBuilder().withNumTypeOf(numFunction).build();
+    }
+
+    private MockBar bar(int i, double closePrice) {
+        return new MockBar(start.plusMinutes(i), closePrice, numFunction);
+    }
+
+    @Test
+    public void ordersOfEachSymbol() {
+        Map<String, List<Order>> orders = new ConcurrentHashMap<>();
+        LiveTradingEngine engine = new LiveTradingEngine(3, 100, (symbol, order) -> orders
+                .computeIfAbsent(symbol, s -> Collections.synchronizedList(new ArrayList<>())).add(order));
+        int symbolCount = 10;
+        for (int s = 0; s < symbolCount; s++) {
+            Strategy strategy = new BaseStrategy(new FixedRule(2 + s % 3), new FixedRule(6), null);
+            engine.register("S" + s, newSeries(), strategy, numOf(10));
+        }
+        assertEquals(symbolCount, engine.getSymbols().size());
+
+        engine.start();
+        for (int i = 0; i < 8; i++) {
+            for (int s = 0; s < symbolCount; s++) {
+                assertTrue(engine.addBar("S" + s, bar(i, 100 + i)));
+            }
+        }
+        engine.close();
+
+        assertEquals(symbolCount, orders.size());
+        for (int s = 0; s < symbolCount; s++) {
+            List<Order> symbolOrders = orders.get("S" + s);
+            assertEquals(2, symbolOrders.size());
+            Order entry = symbolOrders.get(0);
+            assertEquals(OrderType.BUY, entry.getType());
+            assertEquals(2 + s % 3, entry.getIndex());
+            assertNumEquals(100 + entry.getIndex(), entry.getPricePerAsset());
+            assertNumEquals(10, entry.getAmount());
+            assertEquals(OrderType.SELL, symbolOrders.get(1).getType());
+            assertEquals(6, symbolOrders.get(1).getIndex());
+        }
+
+        LiveTradingMetrics metrics = engine.getMetrics();
+        assertEquals(8 * symbolCount, metrics.getSubmittedEvents());
+        assertEquals(8 * symbolCount, metrics.getProcessedEvents());
+        assertEquals(0, metrics.getRejectedEvents());
+        assertEquals(0, metrics.getFailedEvents());
+        assertEquals(2 * symbolCount, metrics.getOrders());
+        assertTrue(metrics.getThroughput() > 0);
+        assertTrue(metrics.getMaximumQueueLatency(TimeUnit.NANOSECONDS) >= metrics
+                .getAverageQueueLatency(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void tradesUpdateTheLastBar() {
+        BarSeries series = newSeries();
+        LiveTradingEngine engine = new LiveTradingEngine(1, 10, (symbol, order) -> {
+        });
+        engine.register("A", series, new BaseStrategy(new FixedRule(), new FixedRule(), null));
+        engine.start();
+        engine.addBar("A", bar(0, 10));
+        engine.addTrade("A", numOf(2), numOf(12));
+        // Rejected by the series: the end time is before the last bar one
+        engine.addBar("A", bar(-1, 10));
+        engine.addTrade("A", numOf(1), numOf(11));
+        engine.close();
+
+        assertEquals(1, series.getBarCount());
+        assertNumEquals(11, series.getLastBar().getClosePrice());
+        assertNumEquals(12, series.getLastBar().getHighPrice());
+        assertEquals(4, engine.getMetrics().getProcessedEvents());
+        assertEquals(1, engine.getMetrics().getFailedEvents());
+    }
+
+    @Test
+    public void fullQueueRejectsEvents() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LiveTradingEngine engine = new LiveTradingEngine(1, 1, (symbol, order) -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        engine.register("A", newSeries(), new BaseStrategy(new FixedRule(0), new FixedRule(), null));
+        engine.start();
+        assertTrue(engine.addBar("A", bar(0, 10)));
+        assertTrue(blocked.await(1, TimeUnit.MINUTES));
+        assertTrue(engine.addBar("A", bar(1, 10)));
+        assertFalse(engine.addBar("A", bar(2, 10)));
+        release.countDown();
+        engine.close();
+
+        assertEquals(2, engine.getMetrics().getSubmittedEvents());
+        assertEquals(1, engine.getMetrics().getRejectedEvents());
+        assertEquals(2, engine.getMetrics().getProcessedEvents());
+    }
+
+    @Test
+    public void eventsSubmittedWhileClosingAreProcessed() throws InterruptedException {
+        LiveTradingEngine engine = new LiveTradingEngine(1, 1000, (symbol, order) -> {
+        });
+        engine.register("A", newSeries(), new BaseStrategy(new FixedRule(), new FixedRule(), null));
+        engine.start();
+        engine.addBar("A", bar(0, 10));
+        AtomicInteger accepted = new AtomicInteger(1);
+        CountDownLatch submitting = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                while (true) {
+                    if (engine.addTrade("A", numOf(1), numOf(10))) {
+                        accepted.incrementAndGet();
+                    }
+                    submitting.countDown();
+                }
+            } catch (IllegalStateException e) {
+                // Closing has started
+            }
+        });
+        producer.start();
+        assertTrue(submitting.await(1, TimeUnit.MINUTES));
+        engine.close();
+        producer.join();
+
+        LiveTradingMetrics metrics = engine.getMetrics();
+        assertEquals(accepted.get(), metrics.getSubmittedEvents());
+        assertEquals(metrics.getSubmittedEvents(), metrics.getProcessedEvents());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSymbol() {
+        LiveTradingEngine engine = new LiveTradingEngine(1, 10, (symbol, order) -> {
+        });
+        engine.start();
+        try {
+            engine.addBar("A", bar(0, 10));
+        } finally {
+            engine.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void symbolRegisteredTwice() {
+        LiveTradingEngine engine = new LiveTradingEngine(1, 10, (symbol, order) -> {
+        });
+        Strategy strategy = new BaseStrategy(new FixedRule(), new FixedRule(), null);
+        engine.register("A", newSeries(), strategy);
+        engine.register("A", newSeries(), strategy);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void engineNotStarted() {
+        LiveTradingEngine engine = new LiveTradingEngine(1, 10, (symbol, order) -> {
+        });
+        engine.register("A", newSeries(), new BaseStrategy(new FixedRule(), new FixedRule(), null));
+        engine.addBar("A", bar(0, 10));
+    }
+}
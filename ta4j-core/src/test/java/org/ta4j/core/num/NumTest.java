@@ -119,6 +119,16 @@ public class NumTest extends AbstractIndicatorTest<Object, Num> {
         assertNumEquals(2.54, numOf(new BigDecimal(2.54)));
     }
 
+    @Test
+    public void constants() {
+        assertNumEquals(0, numOf(1).zero());
+        assertNumEquals(1, numOf(1).one());
+        assertNumEquals(100, numOf(1).hundred());
+        assertEquals(numOf(0).getClass(), numOf(5).zero().getClass());
+        assertEquals(numOf(1), numOf(5).one());
+        assertEquals(NaN, NaN.hundred());
+    }
+
     @Test
     public void testMultiplicationSymmetrically() {
         Num decimalFromString = numOf(new BigDecimal("0.33"));
@@ -40,6 +40,8 @@ import static org.ta4j.core.TestUtils.assertNumEquals;
 import static org.ta4j.core.TestUtils.assertIndicatorEquals;
 import static org.ta4j.core.TestUtils.assertIndicatorNotEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class PrecisionNumTest {
 
@@ -287,6 +289,24 @@ public class PrecisionNumTest {
         PrecisionNum.valueOf(Double.NaN);
     }
 
+    @Test
+    public void constantsAreSharedByPrecision() {
+        assertSame(PrecisionNum.valueOf(100), PrecisionNum.valueOf(100));
+        assertSame(PrecisionNum.valueOf(2), PrecisionNum.valueOf(Integer.valueOf(2)));
+        assertSame(PrecisionNum.valueOf(1), PrecisionNum.valueOf("5").one());
+        assertNotSame(PrecisionNum.valueOf(101), PrecisionNum.valueOf(101));
+
+        Num highPrecision = PrecisionNum.valueOf("5", 64);
+        Num zero = highPrecision.zero();
+        assertSame(zero, highPrecision.numOf(0));
+        assertSame(zero, PrecisionNum.valueOf("7", 64).zero());
+        assertNotSame(zero, PrecisionNum.valueOf(0));
+        assertEquals(64, ((PrecisionNum) zero).getMathContext().getPrecision());
+        assertEquals(64, ((PrecisionNum) highPrecision.numOf(3)).getMathContext().getPrecision());
+        assertNumEquals(3, highPrecision.numOf(3));
+        assertNumEquals(0.5, highPrecision.numOf(0.5));
+    }
+
     @Test
     public void testEqualsPrecisionNumWithDoubleNum() {
         final DoubleNum doubleNum = DoubleNum.valueOf(3.0);
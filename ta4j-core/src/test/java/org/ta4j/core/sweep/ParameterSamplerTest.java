@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParameterSamplerTest {
+
+    private static List<double[]> toList(Iterator<double[]> iterator) {
+        List<double[]> points = new ArrayList<>();
+        iterator.forEachRemaining(points::add);
+        return points;
+    }
+
+    @Test
+    public void parameterValues() {
+        Parameter parameter = new Parameter("barCount", 3, 50, 5);
+        assertEquals(10, parameter.size());
+        assertEquals(3, parameter.getValue(0), 0);
+        assertEquals(48, parameter.getValue(9), 0);
+
+        Parameter decimal = new Parameter("k", 0.1, 0.3, 0.1);
+        assertEquals(3, decimal.size());
+        assertEquals(0.3, decimal.getValue(2), 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidParameter() {
+        new Parameter("barCount", 10, 5, 1);
+    }
+
+    @Test
+    public void grid() {
+        List<Parameter> parameters = Arrays.asList(new Parameter("a", 1, 2, 1), new Parameter("b", 10, 30, 10));
+        List<double[]> points = toList(new GridSampler().sample(parameters));
+        assertEquals(6, points.size());
+        assertArrayEquals(new double[] { 1, 10 }, points.get(0), 0);
+        assertArrayEquals(new double[] { 1, 20 }, points.get(1), 0);
+        assertArrayEquals(new double[] { 1, 30 }, points.get(2), 0);
+        assertArrayEquals(new double[] { 2, 10 }, points.get(3), 0);
+        assertArrayEquals(new double[] { 2, 30 }, points.get(5), 0);
+    }
+
+    @Test
+    public void random() {
+        List<Parameter> parameters = Arrays.asList(new Parameter("a", 2, 20, 2), new Parameter("b", 0, 1, 0.25));
+        List<double[]> points = toList(new RandomSampler(50, 42).sample(parameters));
+        assertEquals(50, points.size());
+        for (double[] point : points) {
+            assertTrue(point[0] >= 2 && point[0] <= 20 && point[0] % 2 == 0);
+            assertTrue(point[1] >= 0 && point[1] <= 1 && point[1] % 0.25 == 0);
+        }
+        // Same seed, same points
+        List<double[]> samePoints = toList(new RandomSampler(50, 42).sample(parameters));
+        for (int i = 0; i < points.size(); i++) {
+            assertArrayEquals(points.get(i), samePoints.get(i), 0);
+        }
+    }
+
+    @Test
+    public void latinHypercubeSamplesEachStratumOnce() {
+        List<Parameter> parameters = Arrays.asList(new Parameter("a", 0, 9, 1), new Parameter("b", 0, 19, 1));
+        List<double[]> points = toList(new LatinHypercubeSampler(10, 7).sample(parameters));
+        assertEquals(10, points.size());
+        Set<Double> aValues = new HashSet<>();
+        Set<Integer> bStrata = new HashSet<>();
+        for (double[] point : points) {
+            aValues.add(point[0]);
+            bStrata.add((int) point[1] / 2);
+        }
+        // One value per stratum of each parameter
+        assertEquals(10, aValues.size());
+        assertEquals(10, bStrata.size());
+    }
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.core.sweep;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ta4j.core.BacktestExecutor;
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseStrategy;
+import org.ta4j.core.Order;
+import org.ta4j.core.Strategy;
+import org.ta4j.core.indicators.AbstractIndicatorTest;
+import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.cache.CacheMode;
+import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
+import org.ta4j.core.mocks.MockBarSeries;
+import org.ta4j.core.num.Num;
+import org.ta4j.core.tradereport.TradingStatement;
+import org.ta4j.core.tradereport.TradingStatementGenerator;
+import org.ta4j.core.trading.rules.CrossedDownIndicatorRule;
+import org.ta4j.core.trading.rules.CrossedUpIndicatorRule;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.ta4j.core.TestUtils.assertNumEquals;
+
+public class ParameterSweepTest extends AbstractIndicatorTest<BarSeries, Num> {
+
+    private static final StrategyTemplate SMA_CROSSOVER = (registry, parameters) -> {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getBarSeries());
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, (int) parameters[0]);
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, (int) parameters[1]);
+        return new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma), null);
+    };
+
+    private BarSeries series;
+
+    private List<Parameter> parameters;
+
+    private ExecutorService executorService;
+
+    public ParameterSweepTest(Function<Number, Num> numFunction) {
+        super(numFunction);
+    }
+
+    @Before
+    public void setUp() {
+        double[] data = new double[500];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = 100 + 10 * Math.sin(i / 10d) + 5 * Math.cos(i / 3d);
+        }
+        MockBarSeries mockSeries = new MockBarSeries(numFunction, data);
+        // The indicators are shared by the strategies run in parallel
+        mockSeries.setCacheMode(CacheMode.CONCURRENT);
+        series = mockSeries;
+        parameters = Arrays.asList(new Parameter("short", 2, 5, 1), new Parameter("long", 10, 40, 10));
+        executorService = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    private static String key(double[] point) {
+        return Arrays.toString(point);
+    }
+
+    @Test
+    public void sweepSharesIndicators() {
+        ParameterSweep sweep = new ParameterSweep(series, SMA_CROSSOVER, parameters);
+        Map<String, TradingStatement> statements = new HashMap<>();
+        sweep.run(new GridSampler(), numOf(1), Order.OrderType.BUY,
+                (point, statement) -> statements.put(key(point), statement));
+
+        assertEquals(16, statements.size());
+        // Close price, 4 short and 4 long SMAs for 16 strategies
+        assertEquals(9, sweep.getIndicatorRegistry().size());
+
+        BacktestExecutor backtestExecutor = new BacktestExecutor(series);
+        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+        SMAIndicator shortSma = new SMAIndicator(closePrice, 3);
+        SMAIndicator longSma = new SMAIndicator(closePrice, 20);
+        Strategy strategy = new BaseStrategy(new CrossedUpIndicatorRule(shortSma, longSma),
+                new CrossedDownIndicatorRule(shortSma, longSma), null);
+        TradingStatement expected = backtestExecutor.execute(strategy, numOf(1), Order.OrderType.BUY);
+        TradingStatement statement = statements.get(key(new double[] { 3, 20 }));
+        assertNumEquals(expected.getPerformanceReport().getTotalProfitLoss(),
+                statement.getPerformanceReport().getTotalProfitLoss());
+        assertNumEquals(expected.getTradeStatsReport().getProfitTradeCount(),
+                statement.getTradeStatsReport().getProfitTradeCount());
+    }
+
+    @Test
+    public void registryClearedAboveMaxIndicators() {
+        Map<String, TradingStatement> expected = new HashMap<>();
+        new ParameterSweep(series, SMA_CROSSOVER, parameters).run(new GridSampler(), numOf(1), Order.OrderType.BUY,
+                (point, statement) -> expected.put(key(point), statement));
+
+        ParameterSweep sweep = new ParameterSweep(series, SMA_CROSSOVER, parameters, new TradingStatementGenerator(),
+                4);
+        Map<String, TradingStatement> statements = new HashMap<>();
+        sweep.run(new GridSampler(), numOf(1), Order.OrderType.BUY, (point, statement) -> {
+            // At most one strategy (3 indicators) registered above the limit
+            assertTrue(sweep.getIndicatorRegistry().size() <= 4 + 3);
+            statements.put(key(point), statement);
+        });
+
+        assertEquals(expected.keySet(), statements.keySet());
+        for (Map.Entry<String, TradingStatement> entry : statements.entrySet()) {
+            assertNumEquals(expected.get(entry.getKey()).getPerformanceReport().getTotalProfitLoss(),
+                    entry.getValue().getPerformanceReport().getTotalProfitLoss());
+        }
+    }
+
+    @Test
+    public void parallelSweepKeepsResults() {
+        Map<String, TradingStatement> expected = new HashMap<>();
+        new ParameterSweep(series, SMA_CROSSOVER, parameters).run(new LatinHypercubeSampler(8, 3), numOf(1),
+                Order.OrderType.BUY, (point, statement) -> expected.put(key(point), statement));
+
+        // Not thread-safe: the consumer is never called concurrently
+        Map<String, TradingStatement> statements = new HashMap<>();
+        new ParameterSweep(series, SMA_CROSSOVER, parameters).run(new LatinHypercubeSampler(8, 3), numOf(1),
+                Order.OrderType.BUY, executorService, (point, statement) -> statements.put(key(point), statement));
+
+        assertEquals(expected.keySet(), statements.keySet());
+        for (Map.Entry<String, TradingStatement> entry : statements.entrySet()) {
+            assertNumEquals(expected.get(entry.getKey()).getPerformanceReport().getTotalProfitLoss(),
+                    entry.getValue().getPerformanceReport().getTotalProfitLoss());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelSweepPropagatesFailure() {
+        StrategyTemplate failingTemplate = (registry, parameters) -> {
+            if (parameters[0] == 4) {
+                throw new IllegalArgumentException("failing template");
+            }
+            return SMA_CROSSOVER.buildStrategy(registry, parameters);
+        };
+        new ParameterSweep(series, failingTemplate, parameters).run(new GridSampler(), numOf(1), Order.OrderType.BUY,
+                executorService, (point, statement) -> {
+                });
+    }
+}
@@ -24,51 +24,62 @@
 package ta4jexamples.backtesting;
 
 import org.ta4j.core.BacktestExecutor;
+import org.ta4j.core.BarSeries;
 import org.ta4j.core.BaseStrategy;
-import org.ta4j.core.Indicator;
 import org.ta4j.core.Order;
 import org.ta4j.core.Rule;
-import org.ta4j.core.Strategy;
-import org.ta4j.core.BarSeries;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.SMAIndicator;
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
-import org.ta4j.core.num.Num;
 import org.ta4j.core.num.PrecisionNum;
+import org.ta4j.core.sweep.GridSampler;
+import org.ta4j.core.sweep.Parameter;
+import org.ta4j.core.sweep.ParameterSweep;
 import org.ta4j.core.trading.rules.OverIndicatorRule;
 import org.ta4j.core.trading.rules.UnderIndicatorRule;
 import ta4jexamples.loaders.CsvBarsLoader;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
 
 public class SimpleMovingAverageRangeBacktest {
 
     public static void main(String[] args) {
+        // The indicators are shared by the strategies run in parallel
+        CachedIndicator.setDefaultCacheMode(CacheMode.CONCURRENT);
         BarSeries series = CsvBarsLoader.loadSeries();
 
         int start = 3;
         int stop = 50;
         int step = 5;
 
-        final List<Strategy> strategies = new ArrayList<>();
-        for (int i = start; i <= stop; i += step) {
-            Strategy strategy = new BaseStrategy("Sma(" + i + ")", createEntryRule(series, i),
-                    createExitRule(series, i), null);
-            strategies.add(strategy);
+        ParameterSweep sweep = new ParameterSweep(series,
+                (registry, parameters) -> new BaseStrategy("Sma(" + (int) parameters[0] + ")",
+                        createEntryRule(registry, (int) parameters[0]), createExitRule(registry, (int) parameters[0]),
+                        null),
+                Collections.singletonList(new Parameter("barCount", start, stop, step)));
+
+        ExecutorService executorService = BacktestExecutor.newStrategyExecutorService();
+        try {
+            sweep.run(new GridSampler(), PrecisionNum.valueOf(50), Order.OrderType.BUY, executorService,
+                    (parameters, statement) -> System.out.println(statement.getStrategy().getName() + ": "
+                            + statement.getPerformanceReport().getTotalProfitLoss()));
+        } finally {
+            executorService.shutdownNow();
         }
-        BacktestExecutor backtestExecutor = new BacktestExecutor(series);
-        backtestExecutor.execute(strategies, PrecisionNum.valueOf(50), Order.OrderType.BUY);
     }
 
-    private static Rule createEntryRule(BarSeries series, int barCount) {
-        Indicator<Num> closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, barCount);
+    private static Rule createEntryRule(IndicatorRegistry registry, int barCount) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getBarSeries());
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, barCount);
         return new UnderIndicatorRule(sma, closePrice);
     }
 
-    private static Rule createExitRule(BarSeries series, int barCount) {
-        Indicator<Num> closePrice = new ClosePriceIndicator(series);
-        SMAIndicator sma = new SMAIndicator(closePrice, barCount);
+    private static Rule createExitRule(IndicatorRegistry registry, int barCount) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getBarSeries());
+        SMAIndicator sma = registry.get(SMAIndicator.class, closePrice, barCount);
         return new OverIndicatorRule(sma, closePrice);
     }
 }
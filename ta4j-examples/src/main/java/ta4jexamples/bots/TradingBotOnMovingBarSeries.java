@@ -31,6 +31,7 @@ import org.ta4j.core.BaseTradingRecord;
 import org.ta4j.core.Order;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.indicators.IndicatorEngine;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.num.Num;
@@ -133,6 +134,11 @@ public class TradingBotOnMovingBarSeries {
 
         // Initializing the trading history
         TradingRecord tradingRecord = new BaseTradingRecord();
+
+        // Pushing the SMA value of each new bar
+        IndicatorEngine engine = new IndicatorEngine(series);
+        engine.subscribe(new SMAIndicator(new ClosePriceIndicator(series), 12),
+                (index, sma) -> System.out.println("SMA(12) on " + index + " = " + sma.doubleValue()));
         System.out.println("************************************************************");
 
         /*
@@ -145,7 +151,7 @@ public class TradingBotOnMovingBarSeries {
             Bar newBar = generateRandomBar();
             System.out.println("------------------------------------------------------\n" + "Bar " + i
                     + " added, close price = " + newBar.getClosePrice().doubleValue());
-            series.addBar(newBar);
+            engine.addBar(newBar);
 
             int endIndex = series.getEndIndex();
             if (strategy.shouldEnter(endIndex)) {
@@ -0,0 +1,153 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the lines of a file from the last one to the first one.
+ *
+ * The file is read backwards by chunks of fixed size, so that only one chunk
+ * and the current line are kept in memory whatever the size of the file. The
+ * bytes are read as ISO-8859-1 characters, which suits the ASCII content of CSV
+ * files of prices.
+ */
+public class ReverseLineReader implements Closeable {
+
+    /**
+     * Default size of the chunks (64 KB)
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer chunk;
+    /**
+     * Position of the current chunk in the file
+     */
+    private long chunkStart;
+    /**
+     * Index of the next byte to read (backwards) in the current chunk
+     */
+    private int index;
+    /**
+     * True once the first line of the file has been read
+     */
+    private boolean exhausted;
+
+    /**
+     * Constructor.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public ReverseLineReader(Path path) throws IOException {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param path      the path of the file
+     * @param chunkSize the number of bytes read at once
+     * @throws IOException if the file cannot be opened
+     */
+    public ReverseLineReader(Path path, int chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be strictly positive");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.chunk = ByteBuffer.allocate(chunkSize);
+        this.chunkStart = channel.size();
+        this.index = -1;
+        this.exhausted = chunkStart == 0;
+        // The line break ending the file does not start an empty line
+        if (!exhausted && readPreviousChunk() && chunk.get(index) == '\n') {
+            index--;
+        }
+    }
+
+    /**
+     * Reads the previous line.
+     *
+     * @param line the builder receiving the line (without line break), cleared
+     *             first
+     * @return false if there is no line left (the builder is then empty)
+     * @throws IOException if the file cannot be read
+     */
+    public boolean readLine(StringBuilder line) throws IOException {
+        line.setLength(0);
+        if (exhausted) {
+            return false;
+        }
+        while (true) {
+            if (index < 0 && !readPreviousChunk()) {
+                exhausted = true;
+                break;
+            }
+            final byte b = chunk.get(index--);
+            if (b == '\n') {
+                break;
+            }
+            line.append((char) (b & 0xFF));
+        }
+        line.reverse();
+        final int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(length - 1);
+        }
+        return true;
+    }
+
+    /**
+     * Loads the chunk before the current one.
+     *
+     * @return false if the current chunk is the first one of the file
+     */
+    private boolean readPreviousChunk() throws IOException {
+        if (chunkStart == 0) {
+            return false;
+        }
+        final int length = (int) Math.min(chunk.capacity(), chunkStart);
+        chunkStart -= length;
+        chunk.clear();
+        chunk.limit(length);
+        while (chunk.hasRemaining()) {
+            if (channel.read(chunk, chunkStart + chunk.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        index = length - 1;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,299 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import org.ta4j.core.BarSeries;
+import org.ta4j.core.BaseBarSeries;
+import org.ta4j.core.aggregator.TradeBarAggregator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * This class builds a Ta4j bar series from a CSV file containing trades,
+ * without loading the whole file in memory.
+ *
+ * The lines are parsed one by one from a reusable buffer and the trades are
+ * aggregated into bars on the fly by a {@link TradeBarAggregator}, so the
+ * memory used does not depend on the size of the file. The lines hold the time
+ * of the trade (epoch seconds), its price and its volume, as in the Bitstamp
+ * trade files (see {@link CsvTradesLoader}). Files with the most recent trades
+ * at the top are read backwards by a {@link ReverseLineReader}. The lines which
+ * do not start with a digit (e.g. the header) are skipped.
+ */
+public class StreamingCsvTradesLoader {
+
+    /**
+     * The powers of ten represented exactly as doubles
+     */
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+            1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Builds a bar series from a CSV file of trades, with the bar times in the
+     * default time zone.
+     *
+     * @param path       the path of the CSV file
+     * @param timePeriod the time period of the bars
+     * @return the bar series
+     * @throws IOException if the file cannot be read
+     */
+    public static BarSeries load(Path path, Duration timePeriod) throws IOException {
+        return load(path, timePeriod, new BaseBarSeries(path.getFileName().toString()), ZoneId.systemDefault());
+    }
+
+    /**
+     * Builds a bar series from a CSV file of trades.
+     *
+     * @param path       the path of the CSV file
+     * @param timePeriod the time period of the bars
+     * @param series     the series receiving the bars
+     * @param zoneId     the time zone of the bar times
+     * @return the bar series
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if a line cannot be parsed or if the trades
+     *                                  are not sorted
+     */
+    public static BarSeries load(Path path, Duration timePeriod, BarSeries series, ZoneId zoneId) throws IOException {
+        final TradeBarAggregator aggregator = new TradeBarAggregator(series, timePeriod, zoneId);
+        final StringBuilder line = new StringBuilder();
+        try (LineSource lines = isReverseChronological(path, line) ? new ReverseLines(path) : new ForwardLines(path)) {
+            while (lines.readLine(line)) {
+                if (!isTrade(line)) {
+                    continue;
+                }
+                final int timeEnd = fieldEnd(line, 0);
+                final int priceEnd = fieldEnd(line, timeEnd + 1);
+                final int volumeEnd = fieldEnd(line, priceEnd + 1);
+                final long time = parseLong(line, 0, timeEnd) * 1000;
+                final double price = parseDouble(line, timeEnd + 1, priceEnd);
+                final double volume = parseDouble(line, priceEnd + 1, volumeEnd);
+                aggregator.addTrade(time, price, volume);
+            }
+        }
+        aggregator.flush();
+        return series;
+    }
+
+    /**
+     * @return true if the first trade of the file is more recent than the last one
+     */
+    private static boolean isReverseChronological(Path path, StringBuilder line) throws IOException {
+        long firstTime = -1;
+        try (LineSource lines = new ForwardLines(path)) {
+            while (lines.readLine(line)) {
+                if (isTrade(line)) {
+                    firstTime = parseLong(line, 0, fieldEnd(line, 0));
+                    break;
+                }
+            }
+        }
+        long lastTime = -1;
+        try (LineSource lines = new ReverseLines(path)) {
+            while (lines.readLine(line)) {
+                if (isTrade(line)) {
+                    lastTime = parseLong(line, 0, fieldEnd(line, 0));
+                    break;
+                }
+            }
+        }
+        return firstTime > lastTime;
+    }
+
+    private static boolean isTrade(CharSequence line) {
+        return line.length() > 0 && Character.isDigit(line.charAt(0));
+    }
+
+    /**
+     * @return the index of the comma ending the field starting at <tt>from</tt>, or
+     *         the length of the line for the last field
+     */
+    private static int fieldEnd(CharSequence line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            if (line.charAt(i) == ',') {
+                return i;
+            }
+        }
+        return Math.max(from, line.length());
+    }
+
+    /**
+     * Parses an integer without creating a string.
+     */
+    private static long parseLong(CharSequence s, int from, int to) {
+        if (from >= to) {
+            throw new NumberFormatException("Empty number");
+        }
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number: " + s.subSequence(from, to));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a decimal number without creating a string when the number has at most
+     * 15 significant digits (the result is then exact), with
+     * {@link Double#parseDouble(String)} otherwise.
+     */
+    private static double parseDouble(CharSequence s, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negative = s.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        boolean digit = false;
+        for (; i < to; i++) {
+            final char c = s.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+            } else if (c >= '0' && c <= '9' && digits < 15) {
+                mantissa = mantissa * 10 + (c - '0');
+                digit = true;
+                if (mantissa > 0) {
+                    digits++;
+                }
+                if (point) {
+                    scale++;
+                }
+            } else {
+                // Exponent, more digits, invalid characters...
+                return Double.parseDouble(s.subSequence(from, to).toString());
+            }
+        }
+        if (!digit) {
+            throw new NumberFormatException("Invalid number: " + s.subSequence(from, to));
+        }
+        // Both the mantissa and the power of ten are exact doubles, so is the quotient
+        final double value = scale < POWERS_OF_TEN.length ? mantissa / POWERS_OF_TEN[scale]
+                : Double.parseDouble(s.subSequence(from, to).toString());
+        return negative ? -value : value;
+    }
+
+    /**
+     * Source of lines filling a reusable builder.
+     */
+    private interface LineSource extends Closeable {
+
+        /**
+         * @param line the builder receiving the next line, cleared first
+         * @return false if there is no line left
+         */
+        boolean readLine(StringBuilder line) throws IOException;
+    }
+
+    /**
+     * Lines of a file from the first one to the last one.
+     */
+    private static class ForwardLines implements LineSource {
+
+        private final Reader reader;
+        private final char[] buffer = new char[64 * 1024];
+        private int position;
+        private int limit;
+
+        private ForwardLines(Path path) throws IOException {
+            this.reader = Files.newBufferedReader(path, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        public boolean readLine(StringBuilder line) throws IOException {
+            line.setLength(0);
+            while (true) {
+                if (position == limit) {
+                    limit = reader.read(buffer);
+                    position = 0;
+                    if (limit < 0) {
+                        limit = 0;
+                        return line.length() > 0;
+                    }
+                }
+                final char c = buffer[position++];
+                if (c == '\n') {
+                    final int length = line.length();
+                    if (length > 0 && line.charAt(length - 1) == '\r') {
+                        line.setLength(length - 1);
+                    }
+                    return true;
+                }
+                line.append(c);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Lines of a file from the last one to the first one.
+     */
+    private static class ReverseLines implements LineSource {
+
+        private final ReverseLineReader reader;
+
+        private ReverseLines(Path path) throws IOException {
+            this.reader = new ReverseLineReader(path);
+        }
+
+        @Override
+        public boolean readLine(StringBuilder line) throws IOException {
+            return reader.readLine(line);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args == null || args.length == 0) {
+            System.out.println("Usage: StreamingCsvTradesLoader <trades.csv> [bar duration in seconds]");
+            return;
+        }
+        final Duration timePeriod = Duration.ofSeconds(args.length > 1 ? Long.parseLong(args[1]) : 300);
+        final BarSeries series = load(Paths.get(args[0]), timePeriod);
+
+        System.out.println("Series: " + series.getName() + " (" + series.getSeriesPeriodDescription() + ")");
+        System.out.println("Number of bars: " + series.getBarCount());
+    }
+}
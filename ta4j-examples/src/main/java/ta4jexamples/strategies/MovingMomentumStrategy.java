@@ -25,6 +25,7 @@ package ta4jexamples.strategies;
 
 import org.ta4j.core.*;
 import org.ta4j.core.indicators.EMAIndicator;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.MACDIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
 import org.ta4j.core.trading.rules.*;
@@ -47,16 +48,25 @@ public class MovingMomentumStrategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
+    /**
+     * @param registry the registry of the indicators (shared by the strategies
+     *                 built on the same series)
+     * @return the moving momentum strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        BarSeries series = registry.getBarSeries();
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, series);
 
         // The bias is bullish when the shorter-moving average moves above the longer moving average.
         // The bias is bearish when the shorter-moving average moves below the longer moving average.
-        EMAIndicator shortEma = new EMAIndicator(closePrice, 5);
-        EMAIndicator longEma = new EMAIndicator(closePrice, 15);
+        EMAIndicator shortEma = registry.get(EMAIndicator.class, closePrice, 5);
+        EMAIndicator longEma = registry.get(EMAIndicator.class, closePrice, 15);
 
-        MACDIndicator macd = new MACDIndicator(closePrice, 5, 15);
-        EMAIndicator emaMacd = new EMAIndicator(macd, 9);
+        MACDIndicator macd = registry.get(MACDIndicator.class, closePrice, 5, 15);
+        EMAIndicator emaMacd = registry.get(EMAIndicator.class, macd, 9);
 
         Rule buyRule = new CrossedUpIndicatorRule(shortEma, longEma) // Trend
                 .and(new OverIndicatorRule(macd, emaMacd)); // Signal 1
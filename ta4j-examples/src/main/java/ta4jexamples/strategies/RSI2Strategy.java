@@ -30,6 +30,7 @@ import org.ta4j.core.Rule;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.IndicatorRegistry;
 import org.ta4j.core.indicators.RSIIndicator;
 import org.ta4j.core.indicators.SMAIndicator;
 import org.ta4j.core.indicators.helpers.ClosePriceIndicator;
@@ -56,14 +57,22 @@ public class RSI2Strategy {
         if (series == null) {
             throw new IllegalArgumentException("Series cannot be null");
         }
+        return buildStrategy(new IndicatorRegistry(series));
+    }
 
-        ClosePriceIndicator closePrice = new ClosePriceIndicator(series);
-        SMAIndicator shortSma = new SMAIndicator(closePrice, 5);
-        SMAIndicator longSma = new SMAIndicator(closePrice, 200);
+    /**
+     * @param registry the registry of the indicators (shared by the strategies
+     *                 built on the same series)
+     * @return a 2-period RSI strategy
+     */
+    public static Strategy buildStrategy(IndicatorRegistry registry) {
+        ClosePriceIndicator closePrice = registry.get(ClosePriceIndicator.class, registry.getBarSeries());
+        SMAIndicator shortSma = registry.get(SMAIndicator.class, closePrice, 5);
+        SMAIndicator longSma = registry.get(SMAIndicator.class, closePrice, 200);
 
         // We use a 2-period RSI indicator to identify buying
         // or selling opportunities within the bigger trend.
-        RSIIndicator rsi = new RSIIndicator(closePrice, 2);
+        RSIIndicator rsi = registry.get(RSIIndicator.class, closePrice, 2);
 
         // Entry rule
         // The long-term trend is up when a security is above its 200-period SMA.
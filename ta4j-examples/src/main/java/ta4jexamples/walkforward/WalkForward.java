@@ -24,11 +24,16 @@
 package ta4jexamples.walkforward;
 
 import org.ta4j.core.AnalysisCriterion;
+import org.ta4j.core.BacktestExecutor;
 import org.ta4j.core.BarSeries;
 import org.ta4j.core.BarSeriesManager;
 import org.ta4j.core.Strategy;
 import org.ta4j.core.TradingRecord;
+import org.ta4j.core.WalkForwardOptimizer;
+import org.ta4j.core.WalkForwardResult;
 import org.ta4j.core.analysis.criteria.TotalProfitCriterion;
+import org.ta4j.core.indicators.CachedIndicator;
+import org.ta4j.core.indicators.cache.CacheMode;
 import org.ta4j.core.num.Num;
 import ta4jexamples.loaders.CsvTradesLoader;
 import ta4jexamples.strategies.CCICorrectionStrategy;
@@ -42,6 +47,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Walk-forward optimization example.
@@ -128,7 +134,7 @@ public class WalkForward {
             subseriesNbBars++;
         }
 
-        return series.getSubSeries(beginIndex, beginIndex + subseriesNbBars);
+        return series.getSubSeriesView(beginIndex, beginIndex + subseriesNbBars);
     }
 
     /**
@@ -167,6 +173,8 @@ public class WalkForward {
     }
 
     public static void main(String[] args) {
+        // The indicators are shared by the strategies run in parallel
+        CachedIndicator.setDefaultCacheMode(CacheMode.CONCURRENT);
         // Splitting the series into slices
         BarSeries series = CsvTradesLoader.loadBitstampSeries();
         List<BarSeries> subseries = splitSeries(series, Duration.ofHours(6), Duration.ofDays(7));
@@ -193,6 +201,25 @@ public class WalkForward {
                     new ArrayList<Strategy>(strategies.keySet()));
             System.out.println("\t\t--> Best strategy: " + strategies.get(bestStrategy) + "\n");
         }
+
+        // Walk-forward: the best strategy on 500 bars is run on the 100 next bars,
+        // the windows being evaluated in parallel
+        WalkForwardOptimizer optimizer = new WalkForwardOptimizer(series, profitCriterion, 500, 100,
+                WalkForwardOptimizer.Mode.ROLLING);
+        ExecutorService executorService = BacktestExecutor.newStrategyExecutorService();
+        WalkForwardResult result;
+        try {
+            result = optimizer.run(new ArrayList<>(strategies.keySet()), executorService);
+        } finally {
+            executorService.shutdownNow();
+        }
+        for (WalkForwardResult.WindowResult windowResult : result.getWindowResults()) {
+            System.out.println("Window " + windowResult.getWindow() + ": " + strategies.get(windowResult.getStrategy())
+                    + ", out-of-sample profit: " + windowResult.getOutOfSampleValue());
+        }
+        if (result.getEndIndex() >= 0) {
+            System.out.println("Out-of-sample equity: " + result.getEquity(result.getEndIndex()));
+        }
     }
 
 }
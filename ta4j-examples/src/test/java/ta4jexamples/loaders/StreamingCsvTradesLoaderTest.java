@@ -0,0 +1,105 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package ta4jexamples.loaders;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ta4j.core.BarSeries;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class StreamingCsvTradesLoaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<String> trades() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            lines.add((1385337600L + i * 7) + "," + (800 + i % 17 * 0.25) + "," + (0.01 * (i % 5 + 1)));
+        }
+        return lines;
+    }
+
+    private Path write(String name, List<String> trades) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("timestamp,price,amount");
+        lines.addAll(trades);
+        Path path = folder.newFile(name).toPath();
+        Files.write(path, lines, StandardCharsets.ISO_8859_1);
+        return path;
+    }
+
+    @Test
+    public void loadChronologicalAndReverseFiles() throws IOException {
+        List<String> trades = trades();
+        BarSeries series = StreamingCsvTradesLoader.load(write("trades.csv", trades), Duration.ofMinutes(5));
+        Collections.reverse(trades);
+        BarSeries reversed = StreamingCsvTradesLoader.load(write("reversed.csv", trades), Duration.ofMinutes(5));
+
+        // 5000 trades every 7 seconds, 5 minutes bars
+        assertEquals(117, series.getBarCount());
+        assertEquals(series.getBarCount(), reversed.getBarCount());
+        int tradeCount = 0;
+        for (int i = 0; i < series.getBarCount(); i++) {
+            assertEquals(series.getBar(i).getEndTime(), reversed.getBar(i).getEndTime());
+            assertEquals(series.getBar(i).getClosePrice(), reversed.getBar(i).getClosePrice());
+            assertEquals(series.getBar(i).getVolume(), reversed.getBar(i).getVolume());
+            tradeCount += series.getBar(i).getTrades();
+        }
+        assertEquals(5000, tradeCount);
+        assertEquals(series.numOf(800), series.getFirstBar().getOpenPrice());
+    }
+
+    @Test
+    public void reverseLineReader() throws IOException {
+        Path path = folder.newFile("lines.txt").toPath();
+        Files.write(path, "first\r\nsecond\n\nfourth line\n".getBytes(StandardCharsets.ISO_8859_1));
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        // Chunks smaller than the lines
+        try (ReverseLineReader reader = new ReverseLineReader(path, 3)) {
+            while (reader.readLine(line)) {
+                lines.add(line.toString());
+            }
+            assertFalse(reader.readLine(line));
+        }
+        assertEquals(4, lines.size());
+        assertEquals("fourth line", lines.get(0));
+        assertEquals("", lines.get(1));
+        assertEquals("second", lines.get(2));
+        assertEquals("first", lines.get(3));
+    }
+}
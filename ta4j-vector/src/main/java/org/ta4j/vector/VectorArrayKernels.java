@@ -0,0 +1,104 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.vector;
+
+import org.ta4j.core.indicators.kernels.ArrayKernels;
+
+/**
+ * {@link ArrayKernels} based on the Java Vector API (incubator module
+ * <tt>jdk.incubator.vector</tt>).
+ *
+ * They are registered as a service, and thus used by
+ * {@link ArrayKernels#getDefault()}, when this module is on the classpath and
+ * the JVM runs with <tt>--add-modules jdk.incubator.vector</tt>.
+ */
+public class VectorArrayKernels implements ArrayKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    @Override
+    public String getName() {
+        return "vector";
+    }
+
+    @Override
+    public boolean isSupported() {
+        try {
+            return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent() && VectorKernels.isSupported();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void subtract(double[] first, double[] second, double[] result, int length) {
+        VectorKernels.subtract(first, second, result, length);
+    }
+
+    @Override
+    public void multiply(double[] values, double factor, double[] result, int length) {
+        VectorKernels.multiply(values, factor, result, length);
+    }
+
+    @Override
+    public void typicalPrice(double[] high, double[] low, double[] close, double[] result, int length) {
+        VectorKernels.typicalPrice(high, low, close, result, length);
+    }
+
+    @Override
+    public void medianPrice(double[] high, double[] low, double[] result, int length) {
+        VectorKernels.medianPrice(high, low, result, length);
+    }
+
+    @Override
+    public void trueRange(double[] high, double[] low, double[] previousClose, double[] result, int length) {
+        VectorKernels.trueRange(high, low, previousClose, result, length);
+    }
+
+    @Override
+    public void closeLocationValue(double[] high, double[] low, double[] close, double[] result, int length) {
+        VectorKernels.closeLocationValue(high, low, close, result, length);
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        return VectorKernels.sum(values, from, to);
+    }
+
+    @Override
+    public double sumOfSquaredDeviations(double[] values, int from, int to, double mean) {
+        return VectorKernels.sumOfSquaredDeviations(values, from, to, mean);
+    }
+
+    @Override
+    public double sumOfAbsoluteDeviations(double[] values, int from, int to, double mean) {
+        return VectorKernels.sumOfAbsoluteDeviations(values, from, to, mean);
+    }
+
+    @Override
+    public double sumOfCrossDeviations(double[] first, double[] second, int from, int to, double firstMean,
+            double secondMean) {
+        return VectorKernels.sumOfCrossDeviations(first, second, from, to, firstMean, secondMean);
+    }
+}
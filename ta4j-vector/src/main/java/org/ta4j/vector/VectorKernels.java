@@ -0,0 +1,194 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.vector;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector API loops of {@link VectorArrayKernels}.
+ *
+ * Kept apart so that the incubator classes are only loaded once the kernels are
+ * known to be supported. Each loop processes whole vectors of the preferred
+ * species, then the remaining elements one by one.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    /**
+     * @return true if the vectors hold more than one element (otherwise the scalar
+     *         kernels are faster)
+     */
+    static boolean isSupported() {
+        return SPECIES.length() > 1;
+    }
+
+    static void subtract(double[] first, double[] second, double[] result, int length) {
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, first, i).sub(DoubleVector.fromArray(SPECIES, second, i)).intoArray(result,
+                    i);
+        }
+        for (; i < length; i++) {
+            result[i] = first[i] - second[i];
+        }
+    }
+
+    static void multiply(double[] values, double factor, double[] result, int length) {
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, values, i).mul(factor).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = values[i] * factor;
+        }
+    }
+
+    static void typicalPrice(double[] high, double[] low, double[] close, double[] result, int length) {
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, high, i).add(DoubleVector.fromArray(SPECIES, low, i))
+                    .add(DoubleVector.fromArray(SPECIES, close, i)).div(3).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (high[i] + low[i] + close[i]) / 3;
+        }
+    }
+
+    static void medianPrice(double[] high, double[] low, double[] result, int length) {
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, high, i).add(DoubleVector.fromArray(SPECIES, low, i)).div(2)
+                    .intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = (high[i] + low[i]) / 2;
+        }
+    }
+
+    static void trueRange(double[] high, double[] low, double[] previousClose, double[] result, int length) {
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector highs = DoubleVector.fromArray(SPECIES, high, i);
+            final DoubleVector lows = DoubleVector.fromArray(SPECIES, low, i);
+            final DoubleVector previousCloses = DoubleVector.fromArray(SPECIES, previousClose, i);
+            highs.sub(lows).abs().max(highs.sub(previousCloses).abs().max(previousCloses.sub(lows).abs()))
+                    .intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = Math.max(Math.abs(high[i] - low[i]),
+                    Math.max(Math.abs(high[i] - previousClose[i]), Math.abs(previousClose[i] - low[i])));
+        }
+    }
+
+    static void closeLocationValue(double[] high, double[] low, double[] close, double[] result, int length) {
+        final DoubleVector zero = DoubleVector.zero(SPECIES);
+        final int bound = SPECIES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector highs = DoubleVector.fromArray(SPECIES, high, i);
+            final DoubleVector lows = DoubleVector.fromArray(SPECIES, low, i);
+            final DoubleVector closes = DoubleVector.fromArray(SPECIES, close, i);
+            final DoubleVector range = highs.sub(lows);
+            final VectorMask<Double> undefined = range.eq(0).or(range.test(VectorOperators.IS_NAN));
+            closes.sub(lows).sub(highs.sub(closes)).div(range).blend(zero, undefined).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            final double range = high[i] - low[i];
+            result[i] = range == 0 || Double.isNaN(range) ? 0 : ((close[i] - low[i]) - (high[i] - close[i])) / range;
+        }
+    }
+
+    static double sum(double[] values, int from, int to) {
+        final int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            sums = sums.add(DoubleVector.fromArray(SPECIES, values, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    static double sumOfSquaredDeviations(double[] values, int from, int to, double mean) {
+        final int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector deviations = DoubleVector.fromArray(SPECIES, values, i).sub(mean);
+            sums = deviations.fma(deviations, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            final double deviation = values[i] - mean;
+            sum += deviation * deviation;
+        }
+        return sum;
+    }
+
+    static double sumOfAbsoluteDeviations(double[] values, int from, int to, double mean) {
+        final int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            sums = sums.add(DoubleVector.fromArray(SPECIES, values, i).sub(mean).abs());
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += Math.abs(values[i] - mean);
+        }
+        return sum;
+    }
+
+    static double sumOfCrossDeviations(double[] first, double[] second, int from, int to, double firstMean,
+            double secondMean) {
+        final int bound = from + SPECIES.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        int i = from;
+        for (; i < bound; i += SPECIES.length()) {
+            final DoubleVector firstDeviations = DoubleVector.fromArray(SPECIES, first, i).sub(firstMean);
+            final DoubleVector secondDeviations = DoubleVector.fromArray(SPECIES, second, i).sub(secondMean);
+            sums = firstDeviations.fma(secondDeviations, sums);
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += (first[i] - firstMean) * (second[i] - secondMean);
+        }
+        return sum;
+    }
+}
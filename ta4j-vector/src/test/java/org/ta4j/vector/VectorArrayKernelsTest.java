@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014-2017 Marc de Verdelhan, 2017-2019 Ta4j Organization & respective
+ * authors (see AUTHORS)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of
+ * this software and associated documentation files (the "Software"), to deal in
+ * the Software without restriction, including without limitation the rights to
+ * use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of
+ * the Software, and to permit persons to whom the Software is furnished to do so,
+ * subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS
+ * FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR
+ * COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER
+ * IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN
+ * CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package org.ta4j.vector;
+
+import org.junit.Test;
+import org.ta4j.core.indicators.kernels.ArrayKernels;
+import org.ta4j.core.indicators.kernels.ScalarArrayKernels;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VectorArrayKernelsTest {
+
+    /** Not a multiple of the vector lengths, to go through the scalar tails */
+    private static final int LENGTH = 1027;
+
+    private final ArrayKernels scalarKernels = new ScalarArrayKernels();
+
+    private final ArrayKernels vectorKernels = new VectorArrayKernels();
+
+    private final double[] high = new double[LENGTH];
+    private final double[] low = new double[LENGTH];
+    private final double[] close = new double[LENGTH];
+    private final double[] previousClose = new double[LENGTH];
+
+    public VectorArrayKernelsTest() {
+        final Random random = new Random(42);
+        for (int i = 0; i < LENGTH; i++) {
+            low[i] = 100 + random.nextDouble() * 10;
+            high[i] = i % 7 == 0 ? low[i] : low[i] + random.nextDouble() * 5;
+            close[i] = low[i] + (high[i] - low[i]) * random.nextDouble();
+            previousClose[i] = 100 + random.nextDouble() * 10;
+        }
+        high[5] = Double.NaN;
+        close[11] = Double.NaN;
+    }
+
+    @Test
+    public void defaultKernels() {
+        assertTrue(vectorKernels.isSupported());
+        assertTrue(ArrayKernels.getDefault() instanceof VectorArrayKernels);
+        assertEquals("vector", ArrayKernels.getDefault().getName());
+    }
+
+    @Test
+    public void elementWiseMatchScalarKernels() {
+        for (int length : new int[] { 0, 1, 3, LENGTH }) {
+            double[] expected = new double[length];
+            double[] actual = new double[length];
+            scalarKernels.subtract(high, low, expected, length);
+            vectorKernels.subtract(high, low, actual, length);
+            assertArrayEquals(expected, actual, 0);
+            scalarKernels.multiply(close, 1.5, expected, length);
+            vectorKernels.multiply(close, 1.5, actual, length);
+            assertArrayEquals(expected, actual, 0);
+            scalarKernels.typicalPrice(high, low, close, expected, length);
+            vectorKernels.typicalPrice(high, low, close, actual, length);
+            assertArrayEquals(expected, actual, 0);
+            scalarKernels.medianPrice(high, low, expected, length);
+            vectorKernels.medianPrice(high, low, actual, length);
+            assertArrayEquals(expected, actual, 0);
+            scalarKernels.trueRange(high, low, previousClose, expected, length);
+            vectorKernels.trueRange(high, low, previousClose, actual, length);
+            assertArrayEquals(expected, actual, 0);
+            scalarKernels.closeLocationValue(high, low, close, expected, length);
+            vectorKernels.closeLocationValue(high, low, close, actual, length);
+            assertArrayEquals(expected, actual, 0);
+        }
+    }
+
+    @Test
+    public void closeLocationValueOfEmptyRange() {
+        double[] result = new double[LENGTH];
+        vectorKernels.closeLocationValue(high, low, close, result, LENGTH);
+        assertEquals(0, result[0], 0);
+        assertEquals(0, result[5], 0);
+        assertEquals(0, result[LENGTH - 1 - (LENGTH - 1) % 7], 0);
+    }
+
+    @Test
+    public void reductionsMatchScalarKernels() {
+        for (int from : new int[] { 12, 13, 500 }) {
+            for (int to : new int[] { from, from + 1, from + 20, LENGTH }) {
+                assertEquals(scalarKernels.sum(close, from, to), vectorKernels.sum(close, from, to), 1e-9);
+                assertEquals(scalarKernels.sumOfSquaredDeviations(close, from, to, 105),
+                        vectorKernels.sumOfSquaredDeviations(close, from, to, 105), 1e-9);
+                assertEquals(scalarKernels.sumOfAbsoluteDeviations(close, from, to, 105),
+                        vectorKernels.sumOfAbsoluteDeviations(close, from, to, 105), 1e-9);
+                assertEquals(scalarKernels.sumOfCrossDeviations(close, low, from, to, 105, 104),
+                        vectorKernels.sumOfCrossDeviations(close, low, from, to, 105, 104), 1e-9);
+            }
+        }
+    }
+}